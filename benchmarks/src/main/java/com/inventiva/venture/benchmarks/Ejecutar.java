@@ -0,0 +1,39 @@
+package com.inventiva.venture.benchmarks;
+
+import java.util.Set;
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Punto de entrada del jar de benchmarks: los mismos argumentos que JMH, con
+ * el profiler {@code gc} siempre activo para informar la tasa de asignación
+ * ({@code gc.alloc.rate.norm}) junto al throughput.
+ */
+public final class Ejecutar {
+
+    private static final Set<String> SOLO_CONSULTA = Set.of("-h", "-l", "-lp", "-lprof", "-lrf");
+
+    private Ejecutar() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        for (String arg : args) {
+            if (SOLO_CONSULTA.contains(arg)) {
+                Main.main(args);
+                return;
+            }
+        }
+        CommandLineOptions opciones = new CommandLineOptions(args);
+        boolean conGc = opciones.getProfilers().stream()
+                .anyMatch(p -> "gc".equals(p.getKlass()) || GCProfiler.class.getName().equals(p.getKlass()));
+        OptionsBuilder builder = new OptionsBuilder();
+        builder.parent(opciones);
+        if (!conGc) {
+            builder.addProfiler(GCProfiler.class);
+        }
+        new Runner(builder.build()).run();
+    }
+}
@@ -0,0 +1,41 @@
+package com.inventiva.venture.benchmarks;
+
+import com.inventiva.venture.modules.bs.domain.model.BswPaises;
+import com.inventiva.venture.modules.bs.domain.model.BswPersonas;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+
+/**
+ * SessionFactory de Hibernate sobre H2 en memoria (modo Oracle) con las
+ * entidades del proyecto, para obtener un {@code CriteriaBuilder} real.
+ */
+public final class EntornoH2 implements AutoCloseable {
+
+    private final SessionFactory sessionFactory;
+    private final Session session;
+
+    public EntornoH2() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(BswPaises.class)
+                .addAnnotatedClass(BswPersonas.class)
+                .addAnnotatedClass(PersonaBench.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL,
+                        "jdbc:h2:mem:bench;MODE=Oracle;DB_CLOSE_DELAY=-1;INIT=CREATE SCHEMA IF NOT EXISTS INV")
+                .setProperty(AvailableSettings.JAKARTA_JDBC_USER, "sa")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .buildSessionFactory();
+        session = sessionFactory.openSession();
+    }
+
+    public Session session() {
+        return session;
+    }
+
+    @Override
+    public void close() {
+        session.close();
+        sessionFactory.close();
+    }
+}
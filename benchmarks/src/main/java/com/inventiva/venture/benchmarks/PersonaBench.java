@@ -0,0 +1,37 @@
+package com.inventiva.venture.benchmarks;
+
+import com.inventiva.venture.modules.bs.domain.model.BswPaises;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import java.time.LocalDate;
+
+/**
+ * Entidad de apoyo con relación a {@link BswPaises} para medir rutas anidadas
+ * ({@code bswPaises.*}) que el modelo actual aún no tiene.
+ */
+@Entity
+@Table(name = "BENCH_PERSONAS", schema = "INV")
+public class PersonaBench {
+
+    @Id
+    @Column(name = "ID")
+    private Long id;
+
+    @Column(name = "COD_PERSONA")
+    private String codPersona;
+
+    @Column(name = "NOMBRE")
+    private String nombre;
+
+    @Column(name = "FEC_NACIMIENTO")
+    private LocalDate fecNacimiento;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "ID_PAIS")
+    private BswPaises bswPaises;
+}
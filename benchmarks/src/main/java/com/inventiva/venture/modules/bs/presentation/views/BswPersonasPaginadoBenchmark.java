@@ -0,0 +1,59 @@
+package com.inventiva.venture.modules.bs.presentation.views;
+
+import com.inventiva.venture.modules.bs.infrastructure.repository.BswPersonasResumen;
+import com.vaadin.flow.data.provider.Query;
+import com.vaadin.flow.data.provider.QuerySortOrder;
+import com.vaadin.flow.data.provider.SortDirection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Traducción de cada pedido del grid de personas ({@link Query} de Vaadin) a
+ * orden y página de Spring Data ({@code createSort} + {@code createPageable}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BswPersonasPaginadoBenchmark {
+
+    /** Orden pedido desde la UI: ninguno (id DESC), una columna o dos. */
+    @Param({ "ninguno", "nombre", "codPersona,nombre" })
+    public String orden;
+
+    @Param({ "0", "5000" })
+    public int offset;
+
+    private Query<BswPersonasResumen, Void> query;
+
+    @Setup
+    public void setUp() {
+        List<QuerySortOrder> ordenes = new ArrayList<>();
+        if (!"ninguno".equals(orden)) {
+            for (String columna : orden.split(",")) {
+                ordenes.add(new QuerySortOrder(columna, SortDirection.ASCENDING));
+            }
+        }
+        query = new Query<>(offset, 50, ordenes, null, null);
+    }
+
+    @Benchmark
+    public Pageable crearPaginado() {
+        return BswPersonasView.createPageable(query.getOffset(), query.getLimit(), BswPersonasView.createSort(query));
+    }
+}
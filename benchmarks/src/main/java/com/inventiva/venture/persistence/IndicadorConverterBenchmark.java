@@ -0,0 +1,50 @@
+package com.inventiva.venture.persistence;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Conversión de indicadores {@code CHAR(1)} que Hibernate hace por cada fila
+ * cargada (columna a booleano) y guardada (booleano a columna). Con el
+ * profiler {@code gc} la asignación por operación debe ser cero.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IndicadorConverterBenchmark {
+
+    @Param({ "S", "n", "A", "I" })
+    public String columna;
+
+    private final IndicadorSiNo siNo = new IndicadorSiNo();
+    private final IndicadorActivoInactivo activoInactivo = new IndicadorActivoInactivo();
+    private boolean marca;
+
+    @Benchmark
+    public Boolean alCargarSiNo() {
+        return siNo.convertToEntityAttribute(columna);
+    }
+
+    @Benchmark
+    public Boolean alCargarActivoInactivo() {
+        return activoInactivo.convertToEntityAttribute(columna);
+    }
+
+    @Benchmark
+    public String alGuardar() {
+        marca = !marca;
+        return siNo.convertToDatabaseColumn(marca);
+    }
+}
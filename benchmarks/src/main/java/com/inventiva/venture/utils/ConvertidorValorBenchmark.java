@@ -0,0 +1,75 @@
+package com.inventiva.venture.utils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Conversión de valores de filtro (texto de la UI o de una API) al tipo del
+ * atributo: {@code convertirValor}, que busca el conversor en cada llamada,
+ * contra el conversor precalculado que usan los planes compilados.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConvertidorValorBenchmark {
+
+    private static final Map<String, Class<?>> TIPOS = Map.of(
+            "Long", Long.class,
+            "Integer", Integer.class,
+            "BigDecimal", BigDecimal.class,
+            "LocalDate", LocalDate.class,
+            "LocalDateTime", LocalDateTime.class,
+            "Boolean", Boolean.class,
+            "String", String.class);
+
+    private static final Map<String, String> VALORES = Map.of(
+            "Long", " 1234567 ",
+            "Integer", "42",
+            "BigDecimal", "1500000.75",
+            "LocalDate", "1990-01-01",
+            "LocalDateTime", "2024-05-01T10:15:30",
+            "Boolean", "true",
+            "String", "Peña");
+
+    @Param({ "Long", "Integer", "BigDecimal", "LocalDate", "LocalDateTime", "Boolean", "String" })
+    public String tipo;
+
+    private Class<?> tipoDestino;
+    private String valor;
+    private Function<Object, Object> convertidor;
+
+    @Setup
+    public void setUp() {
+        tipoDestino = TIPOS.get(tipo);
+        valor = VALORES.get(tipo);
+        convertidor = ConvertidorValor.para(tipoDestino);
+    }
+
+    @Benchmark
+    public Object convertirValor() {
+        return MapSpecificationBuilder.convertirValor(valor, tipoDestino);
+    }
+
+    @Benchmark
+    public Object convertidorPrecalculado() {
+        return convertidor.apply(valor);
+    }
+}
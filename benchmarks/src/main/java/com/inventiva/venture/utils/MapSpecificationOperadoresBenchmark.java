@@ -0,0 +1,82 @@
+package com.inventiva.venture.utils;
+
+import com.inventiva.venture.benchmarks.EntornoH2;
+import com.inventiva.venture.benchmarks.PersonaBench;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link MapSpecificationBuilder#build} seguido de {@code toPredicate} sobre
+ * el {@code CriteriaBuilder} de Hibernate, un filtro por operador (incluidas
+ * las rutas anidadas {@code bswPaises.*}). Es lo que paga cada consulta de un
+ * grid filtrado con el plan ya en caché.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapSpecificationOperadoresBenchmark {
+
+    @Param({ "eq:codPersona", "ne:codPersona", "like:nombre", "likeic:nombre", "startsic:nombre",
+            "isnull:fecNacimiento", "notnull:fecNacimiento", "ge:fecNacimiento", "le:fecNacimiento",
+            "gt:id", "lt:id", "between:id", "in:id",
+            "orlikeic:codPersona,nombre", "orstartsic:codPersona,nombre", "concatlikeic:codPersona,nombre",
+            "eq:bswPaises.codPais", "likeic:bswPaises.descripcion", "eq:bswPaises.id" })
+    public String clave;
+
+    private EntornoH2 entorno;
+    private CriteriaBuilder cb;
+    private MapSpecificationBuilder<PersonaBench> builder;
+    private Map<String, Object> filtros;
+
+    @Setup
+    public void setUp() {
+        entorno = new EntornoH2();
+        cb = entorno.session().getCriteriaBuilder();
+        builder = new MapSpecificationBuilder<>();
+        filtros = Map.of(clave, valorPara(clave));
+    }
+
+    @TearDown
+    public void tearDown() {
+        entorno.close();
+    }
+
+    @Benchmark
+    public Predicate construirYAplicar() {
+        CriteriaQuery<PersonaBench> query = cb.createQuery(PersonaBench.class);
+        Root<PersonaBench> root = query.from(PersonaBench.class);
+        return builder.build(filtros).toPredicate(root, query, cb);
+    }
+
+    private static Object valorPara(String clave) {
+        String operador = clave.substring(0, clave.indexOf(':'));
+        return switch (operador) {
+            case "isnull", "notnull" -> Boolean.TRUE;
+            case "ge", "le" -> "1990-01-01";
+            case "gt", "lt" -> "100";
+            case "between" -> List.of("1", "1000");
+            case "in" -> List.of("1", "2", "3", "4", "5", "6", "7", "8");
+            default -> clave.endsWith(".id") ? "1" : "ana";
+        };
+    }
+}
@@ -0,0 +1,80 @@
+package com.inventiva.venture.utils;
+
+import com.inventiva.venture.benchmarks.EntornoH2;
+import com.inventiva.venture.benchmarks.PersonaBench;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Compara el enlace de valores sobre un plan cacheado contra compilar el plan
+ * (parseo de claves, rutas y conversores) en cada consulta, que es lo que hacía
+ * {@link MapSpecificationBuilder} antes de los planes. Ejecutar con
+ * {@code -prof gc} para ver la asignación por operación.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapSpecificationPlanBenchmark {
+
+    private EntornoH2 entorno;
+    private CriteriaBuilder cb;
+    private Map<String, Object> filtros;
+    private Specification<PersonaBench> especificacion;
+
+    @Setup
+    public void setUp() {
+        entorno = new EntornoH2();
+        cb = entorno.session().getCriteriaBuilder();
+        filtros = new HashMap<>();
+        filtros.put("eq:codPersona", "001");
+        filtros.put("likeic:nombre", "ana");
+        filtros.put("orlikeic:codPersona,nombre", "gom");
+        filtros.put("ge:fecNacimiento", "1990-01-01");
+        filtros.put("between:id", List.of("1", "1000"));
+        filtros.put("in:id", List.of("1", "2", "3", "4"));
+        filtros.put("eq:bswPaises.codPais", "PY");
+        filtros.put("likeic:bswPaises.descripcion", "para");
+        filtros.put("eq:bswPaises.id", "1");
+        especificacion = new MapSpecificationBuilder<PersonaBench>().build(filtros);
+    }
+
+    @TearDown
+    public void tearDown() {
+        entorno.close();
+    }
+
+    @Benchmark
+    public Predicate planEnCache() {
+        CriteriaQuery<PersonaBench> query = cb.createQuery(PersonaBench.class);
+        Root<PersonaBench> root = query.from(PersonaBench.class);
+        return especificacion.toPredicate(root, query, cb);
+    }
+
+    @Benchmark
+    public Predicate compilarEnCadaConsulta() {
+        CriteriaQuery<PersonaBench> query = cb.createQuery(PersonaBench.class);
+        Root<PersonaBench> root = query.from(PersonaBench.class);
+        return PlanEspecificacion.compilar(root.getModel(), filtros.keySet()).aplicar(root, query, cb, filtros);
+    }
+}
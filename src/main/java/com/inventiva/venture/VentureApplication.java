@@ -2,11 +2,18 @@ package com.inventiva.venture;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisReactiveAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisRepositoriesAutoConfiguration;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 import io.github.cdimascio.dotenv.Dotenv;
 
 @SuppressWarnings("PMD.UseUtilityClass")
-@SpringBootApplication
+// Redis solo con el bus de invalidación en modo redis (InvalidacionConfig.Redis)
+@SpringBootApplication(exclude = { RedisAutoConfiguration.class, RedisReactiveAutoConfiguration.class,
+        RedisRepositoriesAutoConfiguration.class })
+@ConfigurationPropertiesScan
 public class VentureApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,22 @@
+package com.inventiva.venture.cache;
+
+/**
+ * Avisos de cambio de datos entre los nodos de Venture, para que cada uno
+ * descarte sus cachés en memoria.
+ *
+ * Una región identifica lo que cambió (por ejemplo {@code "bsw-personas"}); no
+ * puede contener {@code |} ni {@code ,}. Los avisos se agrupan antes de
+ * enviarse y el nodo que publica no recibe los propios: debe invalidar su
+ * caché por su cuenta.
+ */
+public interface BusInvalidacion {
+
+    /** Avisa a los demás nodos que cambiaron datos de la región. */
+    void publicar(String region);
+
+    /**
+     * Registra una acción a ejecutar cuando otro nodo publica la región. Se
+     * ejecuta en el hilo del bus: las acciones costosas deben delegarse.
+     */
+    void suscribir(String region, Runnable accion);
+}
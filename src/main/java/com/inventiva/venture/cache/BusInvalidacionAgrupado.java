@@ -0,0 +1,117 @@
+package com.inventiva.venture.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Base de los buses de invalidación: agrupa las regiones publicadas durante
+ * {@code demora} en un solo mensaje (una ráfaga de escrituras produce un
+ * aviso por ventana y no uno por fila), descarta los mensajes del propio nodo
+ * y ejecuta las suscripciones de las regiones recibidas.
+ */
+@Slf4j
+public abstract class BusInvalidacionAgrupado implements BusInvalidacion, AutoCloseable {
+
+    private final String nodo = UUID.randomUUID().toString();
+    private final long demoraMs;
+    private final ScheduledExecutorService ejecutor;
+    private final Set<String> pendientes = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean programado = new AtomicBoolean();
+    private final Map<String, List<Runnable>> suscripciones = new ConcurrentHashMap<>();
+    private final Counter enviados;
+    private final Counter recibidos;
+
+    protected BusInvalidacionAgrupado(Duration demora, MeterRegistry registry) {
+        this.demoraMs = demora.toMillis();
+        this.ejecutor = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "venture-invalidacion");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        this.enviados = Counter.builder("venture.cache.invalidacion.mensajes")
+                .tag("sentido", "enviado")
+                .description("Mensajes de invalidación de cachés enviados a otros nodos")
+                .register(registry);
+        this.recibidos = Counter.builder("venture.cache.invalidacion.mensajes")
+                .tag("sentido", "recibido")
+                .description("Mensajes de invalidación de cachés recibidos de otros nodos")
+                .register(registry);
+    }
+
+    /** Envía el mensaje a todos los nodos (incluido este, que lo descarta). */
+    protected abstract void enviar(MensajeInvalidacion mensaje);
+
+    @Override
+    public void publicar(String region) {
+        pendientes.add(region);
+        if (programado.compareAndSet(false, true)) {
+            ejecutor.schedule(this::enviarPendientes, demoraMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void suscribir(String region, Runnable accion) {
+        suscripciones.computeIfAbsent(region, r -> new CopyOnWriteArrayList<>()).add(accion);
+    }
+
+    /** Entrada de los mensajes del canal. */
+    protected void recibir(MensajeInvalidacion mensaje) {
+        if (nodo.equals(mensaje.nodo())) {
+            return;
+        }
+        recibidos.increment();
+        for (String region : mensaje.regiones()) {
+            for (Runnable accion : suscripciones.getOrDefault(region, List.of())) {
+                try {
+                    accion.run();
+                } catch (RuntimeException e) {
+                    log.error("Falló la invalidación de la región {}", region, e);
+                }
+            }
+        }
+    }
+
+    protected String nodo() {
+        return nodo;
+    }
+
+    /** Envía lo pendiente y detiene el hilo del bus. */
+    @Override
+    public void close() {
+        ejecutor.shutdownNow();
+        enviarPendientes();
+    }
+
+    private void enviarPendientes() {
+        programado.set(false);
+        Set<String> regiones = new HashSet<>();
+        for (Iterator<String> it = pendientes.iterator(); it.hasNext();) {
+            regiones.add(it.next());
+            it.remove();
+        }
+        if (regiones.isEmpty()) {
+            return;
+        }
+        try {
+            enviar(new MensajeInvalidacion(nodo, regiones));
+            enviados.increment();
+        } catch (RuntimeException e) {
+            // Los demás nodos verán el cambio al vencer el TTL de sus cachés
+            log.warn("No se pudo enviar la invalidación de {}", regiones, e);
+        }
+    }
+}
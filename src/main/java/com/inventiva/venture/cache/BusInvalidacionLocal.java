@@ -0,0 +1,40 @@
+package com.inventiva.venture.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Bus dentro de la JVM: entrega los mensajes a los buses conectados al mismo
+ * {@link Canal}. Con un solo nodo no tiene efecto; en pruebas permite simular
+ * varios nodos.
+ */
+public class BusInvalidacionLocal extends BusInvalidacionAgrupado {
+
+    /** Buses que se ven entre sí. */
+    public static final class Canal {
+        private final List<BusInvalidacionLocal> nodos = new CopyOnWriteArrayList<>();
+    }
+
+    private final Canal canal;
+
+    public BusInvalidacionLocal(Canal canal, Duration demora, MeterRegistry registry) {
+        super(demora, registry);
+        this.canal = canal;
+        canal.nodos.add(this);
+    }
+
+    @Override
+    protected void enviar(MensajeInvalidacion mensaje) {
+        for (BusInvalidacionLocal nodo : canal.nodos) {
+            nodo.recibir(mensaje);
+        }
+    }
+
+    @Override
+    public void close() {
+        super.close();
+        canal.nodos.remove(this);
+    }
+}
@@ -0,0 +1,48 @@
+package com.inventiva.venture.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Bus sobre Redis pub/sub. La entrega no es garantizada (un nodo desconectado
+ * pierde los avisos de ese momento), por eso las cachés conservan su TTL.
+ */
+@Slf4j
+public class BusInvalidacionRedis extends BusInvalidacionAgrupado implements MessageListener {
+
+    private final StringRedisTemplate redis;
+    private final String canal;
+
+    public BusInvalidacionRedis(StringRedisTemplate redis,
+            RedisMessageListenerContainer contenedor,
+            String canal,
+            Duration demora,
+            MeterRegistry registry) {
+        super(demora, registry);
+        this.redis = redis;
+        this.canal = canal;
+        contenedor.addMessageListener(this, ChannelTopic.of(canal));
+    }
+
+    @Override
+    protected void enviar(MensajeInvalidacion mensaje) {
+        redis.convertAndSend(canal, mensaje.texto());
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String texto = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            recibir(MensajeInvalidacion.leer(texto));
+        } catch (IllegalArgumentException e) {
+            log.warn("Mensaje ignorado en {}: {}", canal, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.inventiva.venture.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Elige la implementación de {@link BusInvalidacion} según
+ * {@code venture.cache.invalidacion.tipo}.
+ *
+ * La autoconfiguración de Redis está excluida en {@code VentureApplication}:
+ * solo se importa con el bus en modo {@code redis} ({@link Redis}), de modo
+ * que un nodo único no crea conexiones ni templates de Redis.
+ */
+@Configuration
+public class InvalidacionConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "venture.cache.invalidacion", name = "tipo", havingValue = "local",
+            matchIfMissing = true)
+    public BusInvalidacion busInvalidacionLocal(InvalidacionProperties properties, MeterRegistry registry) {
+        return new BusInvalidacionLocal(new BusInvalidacionLocal.Canal(), properties.getDemora(), registry);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = "venture.cache.invalidacion", name = "tipo", havingValue = "redis")
+    @ImportAutoConfiguration(RedisAutoConfiguration.class)
+    static class Redis {
+
+        @Bean
+        public RedisMessageListenerContainer contenedorInvalidacion(RedisConnectionFactory connectionFactory) {
+            RedisMessageListenerContainer contenedor = new RedisMessageListenerContainer();
+            contenedor.setConnectionFactory(connectionFactory);
+            return contenedor;
+        }
+
+        @Bean
+        public BusInvalidacion busInvalidacionRedis(StringRedisTemplate redis,
+                RedisMessageListenerContainer contenedorInvalidacion,
+                InvalidacionProperties properties,
+                MeterRegistry registry) {
+            return new BusInvalidacionRedis(redis, contenedorInvalidacion, properties.getCanal(),
+                    properties.getDemora(), registry);
+        }
+    }
+}
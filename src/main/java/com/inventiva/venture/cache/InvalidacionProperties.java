@@ -0,0 +1,22 @@
+package com.inventiva.venture.cache;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Bus de invalidación de cachés entre nodos ({@code venture.cache.invalidacion.*}).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "venture.cache.invalidacion")
+public class InvalidacionProperties {
+
+    /** {@code local} (un nodo, o pruebas) o {@code redis} (varios nodos). */
+    private String tipo = "local";
+    /** Canal de Redis pub/sub. */
+    private String canal = "venture:cache:invalidacion";
+    /** Ventana en la que se agrupan los avisos antes de enviarlos. */
+    private Duration demora = Duration.ofMillis(200);
+}
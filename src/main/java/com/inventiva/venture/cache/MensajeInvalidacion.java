@@ -0,0 +1,34 @@
+package com.inventiva.venture.cache;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Regiones invalidadas por un nodo, con el formato de texto
+ * {@code nodo|region1,region2} que viaja por el canal.
+ */
+public record MensajeInvalidacion(String nodo, Set<String> regiones) {
+
+    private static final char SEPARADOR_NODO = '|';
+    private static final String SEPARADOR_REGIONES = ",";
+
+    public MensajeInvalidacion {
+        regiones = Set.copyOf(regiones);
+    }
+
+    public String texto() {
+        return nodo + SEPARADOR_NODO + String.join(SEPARADOR_REGIONES, regiones);
+    }
+
+    public static MensajeInvalidacion leer(String texto) {
+        int separador = texto.indexOf(SEPARADOR_NODO);
+        if (separador <= 0) {
+            throw new IllegalArgumentException("Mensaje de invalidación inválido: " + texto);
+        }
+        Set<String> regiones = Arrays.stream(texto.substring(separador + 1).split(SEPARADOR_REGIONES))
+                .filter(region -> !region.isBlank())
+                .collect(Collectors.toSet());
+        return new MensajeInvalidacion(texto.substring(0, separador), regiones);
+    }
+}
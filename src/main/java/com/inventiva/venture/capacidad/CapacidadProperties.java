@@ -0,0 +1,59 @@
+package com.inventiva.venture.capacidad;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Reparto de la capacidad de la base de datos entre módulos
+ * ({@code venture.capacidad.*}).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "venture.capacidad")
+public class CapacidadProperties {
+
+    private Compartimentos compartimentos = new Compartimentos();
+
+    private Recomendador recomendador = new Recomendador();
+
+    @Getter
+    @Setter
+    public static class Compartimentos {
+        /**
+         * Cupo de llamadas concurrentes a los servicios de cada módulo. Apagado
+         * por defecto: el cupo se aplica a todo método público del servicio,
+         * también a los que responden desde memoria sin pedir conexión.
+         */
+        private boolean habilitado = false;
+        /** Cupo de los módulos que no figuran en {@code modulos}. */
+        private int permisos = 6;
+        /** Cupo por módulo ({@code bs}, {@code vt}, ...). */
+        private Map<String, Integer> modulos = new HashMap<>();
+        /** Objetivo de espera en cola; se publica como SLO del timer de espera. */
+        private Duration objetivoEspera = Duration.ofMillis(100);
+        /** Espera máxima por un cupo antes de rechazar la llamada. */
+        private Duration espera = Duration.ofSeconds(2);
+        /** Con esta cantidad de hilos esperando, las llamadas nuevas se rechazan sin esperar. */
+        private int maxEnCola = 20;
+
+        public int permisos(String modulo) {
+            return modulos.getOrDefault(modulo, permisos);
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Recomendador {
+        /** Recomendación periódica del tamaño de cada pool según su uso. */
+        private boolean habilitado = true;
+        private Duration intervalo = Duration.ofMinutes(1);
+        /** Fracción del pool que se espera ocupada en promedio; el resto absorbe picos. */
+        private double utilizacionObjetivo = 0.7;
+        private int minimo = 2;
+        private int maximo = 50;
+    }
+}
@@ -0,0 +1,127 @@
+package com.inventiva.venture.capacidad;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Un semáforo justo (FIFO) por módulo que limita cuántas llamadas a sus
+ * servicios corren a la vez, de modo que un módulo lento no se quede con todas
+ * las conexiones del pool compartido.
+ *
+ * Una llamada sin cupo espera en orden hasta {@code espera}; si ya hay
+ * {@code maxEnCola} hilos esperando, o se cumple la espera, se rechaza con
+ * {@link SistemaOcupadoException}. Las llamadas anidadas del mismo módulo en
+ * el mismo hilo no toman otro cupo.
+ *
+ * Métricas por {@code modulo}: {@code venture.compartimentos.espera} (con el
+ * SLO {@code objetivoEspera}), {@code venture.compartimentos.rechazos}
+ * ({@code motivo}: cola o espera), {@code venture.compartimentos.en.uso} y
+ * {@code venture.compartimentos.en.espera}.
+ */
+public class Compartimentos {
+
+    private final CapacidadProperties.Compartimentos config;
+    private final MeterRegistry registry;
+    private final Map<String, Compartimento> porModulo = new ConcurrentHashMap<>();
+    private final ThreadLocal<Set<String>> tomados = ThreadLocal.withInitial(HashSet::new);
+
+    public Compartimentos(CapacidadProperties.Compartimentos config, MeterRegistry registry) {
+        this.config = config;
+        this.registry = registry;
+    }
+
+    /**
+     * Toma un cupo del módulo, esperando si hace falta.
+     *
+     * @return {@code false} si el hilo ya tenía un cupo del módulo; en ese caso
+     *         no hay que llamar a {@link #salir}
+     * @throws SistemaOcupadoException si no hay cupo a tiempo
+     */
+    public boolean entrar(String modulo) {
+        Set<String> delHilo = tomados.get();
+        if (delHilo.contains(modulo)) {
+            return false;
+        }
+        porModulo.computeIfAbsent(modulo, Compartimento::new).adquirir();
+        delHilo.add(modulo);
+        return true;
+    }
+
+    /** Devuelve el cupo tomado con {@link #entrar}. */
+    public void salir(String modulo) {
+        tomados.get().remove(modulo);
+        porModulo.get(modulo).permisos.release();
+    }
+
+    private final class Compartimento {
+
+        private final String modulo;
+        private final Semaphore permisos;
+        private final Timer espera;
+        private final Counter rechazosCola;
+        private final Counter rechazosEspera;
+
+        Compartimento(String modulo) {
+            int total = config.permisos(modulo);
+            this.modulo = modulo;
+            this.permisos = new Semaphore(total, true);
+            this.espera = Timer.builder("venture.compartimentos.espera")
+                    .description("Espera en cola por un cupo del módulo")
+                    .tag("modulo", modulo)
+                    .serviceLevelObjectives(config.getObjetivoEspera(), config.getEspera())
+                    .register(registry);
+            this.rechazosCola = rechazos("cola");
+            this.rechazosEspera = rechazos("espera");
+            Gauge.builder("venture.compartimentos.en.uso", permisos, p -> total - p.availablePermits())
+                    .description("Llamadas del módulo en curso")
+                    .tag("modulo", modulo)
+                    .register(registry);
+            Gauge.builder("venture.compartimentos.en.espera", permisos, Semaphore::getQueueLength)
+                    .description("Llamadas del módulo esperando cupo")
+                    .tag("modulo", modulo)
+                    .register(registry);
+        }
+
+        void adquirir() {
+            if (permisos.tryAcquire()) {
+                espera.record(0, TimeUnit.NANOSECONDS);
+                return;
+            }
+            if (permisos.getQueueLength() >= config.getMaxEnCola()) {
+                rechazosCola.increment();
+                throw new SistemaOcupadoException(modulo, permisos.getQueueLength() + " llamadas en cola");
+            }
+            long inicio = System.nanoTime();
+            boolean obtenido;
+            try {
+                obtenido = permisos.tryAcquire(config.getEspera().toNanos(), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SistemaOcupadoException(modulo, "interrumpido esperando cupo");
+            } finally {
+                espera.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            }
+            if (!obtenido) {
+                rechazosEspera.increment();
+                throw new SistemaOcupadoException(modulo,
+                        "sin cupo después de " + config.getEspera().toMillis() + " ms");
+            }
+        }
+
+        private Counter rechazos(String motivo) {
+            return Counter.builder("venture.compartimentos.rechazos")
+                    .description("Llamadas rechazadas por falta de cupo")
+                    .tag("modulo", modulo)
+                    .tag("motivo", motivo)
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.inventiva.venture.capacidad;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Future;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Aplica los {@link Compartimentos} a los métodos públicos de los beans de
+ * {@code modules.<modulo>.application.service}; el módulo sale del paquete.
+ *
+ * Corre dentro de {@code MedicionServiciosAspect} (los rechazos se miden como
+ * excepción) y por fuera de {@code @Transactional}, así el cupo se toma antes
+ * de pedir la conexión. Los métodos que devuelven un {@link Future} no se
+ * limitan aquí: el trabajo sigue después de devolver. Tampoco los marcados
+ * con {@link SinCompartimento} (operaciones largas).
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@ConditionalOnProperty(prefix = "venture.capacidad.compartimentos", name = "habilitado", havingValue = "true")
+public class CompartimentosAspect {
+
+    private static final String PAQUETE_MODULOS = "com.inventiva.venture.modules.";
+
+    private static final ClassValue<String> MODULO = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> tipo) {
+            String paquete = tipo.getPackageName();
+            int fin = paquete.indexOf('.', PAQUETE_MODULOS.length());
+            return paquete.substring(PAQUETE_MODULOS.length(), fin < 0 ? paquete.length() : fin);
+        }
+    };
+
+    private final Compartimentos compartimentos;
+
+    public CompartimentosAspect(CapacidadProperties properties, MeterRegistry registry) {
+        this.compartimentos = new Compartimentos(properties.getCompartimentos(), registry);
+    }
+
+    @Around("within(com.inventiva.venture.modules..application.service..*) && execution(public * *(..))"
+            + " && !@annotation(com.inventiva.venture.capacidad.SinCompartimento)"
+            + " && !@within(com.inventiva.venture.capacidad.SinCompartimento)")
+    public Object limitar(ProceedingJoinPoint punto) throws Throwable {
+        Class<?> retorno = ((MethodSignature) punto.getSignature()).getReturnType();
+        if (Future.class.isAssignableFrom(retorno) || CompletionStage.class.isAssignableFrom(retorno)) {
+            return punto.proceed();
+        }
+        String modulo = MODULO.get(punto.getSignature().getDeclaringType());
+        if (!compartimentos.entrar(modulo)) {
+            return punto.proceed();
+        }
+        try {
+            return punto.proceed();
+        } finally {
+            compartimentos.salir(modulo);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.inventiva.venture.capacidad;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recomienda el tamaño de cada pool de Hikari a partir de sus métricas
+ * ({@code hikaricp.connections.usage} y {@code .acquire}) en cada intervalo.
+ *
+ * Por la ley de Little, las conexiones ocupadas en promedio son los préstamos
+ * por segundo por el tiempo medio de uso; la recomendación es esa cantidad
+ * dividida por la utilización objetivo, entre {@code minimo} y {@code maximo}.
+ * Se publica en {@code venture.pool.recomendado{pool}} y se registra en el log
+ * cuando cambia. No modifica el pool: si la espera es alta y la recomendación
+ * no supera el tamaño actual, el cuello de botella está en la base de datos.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "venture.capacidad.recomendador", name = "habilitado", havingValue = "true",
+        matchIfMissing = true)
+public class RecomendadorPool implements DisposableBean {
+
+    private final MeterRegistry registry;
+    private final CapacidadProperties.Recomendador config;
+    private final ScheduledExecutorService ejecutor = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("venture-recomendador-pool").daemon().factory());
+
+    // Solo se usa desde el hilo del ejecutor
+    private final Map<String, Muestra> anteriores = new HashMap<>();
+    private final Map<String, AtomicInteger> recomendados = new ConcurrentHashMap<>();
+
+    public RecomendadorPool(CapacidadProperties properties, MeterRegistry registry) {
+        this.registry = registry;
+        this.config = properties.getRecomendador();
+        long intervalo = config.getIntervalo().toMillis();
+        ejecutor.scheduleAtFixedRate(this::evaluar, intervalo, intervalo, TimeUnit.MILLISECONDS);
+    }
+
+    void evaluar() {
+        try {
+            for (Timer uso : registry.find("hikaricp.connections.usage").timers()) {
+                String pool = uso.getId().getTag("pool");
+                Timer adquisicion = registry.find("hikaricp.connections.acquire").tag("pool", pool).timer();
+                Gauge maximo = registry.find("hikaricp.connections.max").tag("pool", pool).gauge();
+                if (pool == null || adquisicion == null || maximo == null) {
+                    continue;
+                }
+                Muestra actual = new Muestra(System.nanoTime(), uso.count(), uso.totalTime(TimeUnit.SECONDS),
+                        adquisicion.count(), adquisicion.totalTime(TimeUnit.SECONDS));
+                Muestra anterior = anteriores.put(pool, actual);
+                if (anterior != null) {
+                    evaluar(pool, anterior, actual, (int) maximo.value());
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("No se pudo evaluar el tamaño de los pools de conexiones", e);
+        }
+    }
+
+    private void evaluar(String pool, Muestra anterior, Muestra actual, int configurado) {
+        double segundos = (actual.instante() - anterior.instante()) / 1_000_000_000.0;
+        long prestamos = actual.prestamos() - anterior.prestamos();
+        if (segundos <= 0 || prestamos <= 0) {
+            return;
+        }
+        double tasa = prestamos / segundos;
+        double usoMedio = (actual.segundosUso() - anterior.segundosUso()) / prestamos;
+        long pedidos = actual.pedidos() - anterior.pedidos();
+        double esperaMedia = pedidos > 0 ? (actual.segundosEspera() - anterior.segundosEspera()) / pedidos : 0;
+        int recomendado = recomendar(tasa, usoMedio, config.getUtilizacionObjetivo(),
+                config.getMinimo(), config.getMaximo());
+
+        AtomicInteger valor = recomendados.computeIfAbsent(pool, p -> {
+            AtomicInteger nuevo = new AtomicInteger(configurado);
+            Gauge.builder("venture.pool.recomendado", nuevo, AtomicInteger::get)
+                    .description("Tamaño de pool recomendado según préstamos y tiempo de uso")
+                    .tag("pool", p)
+                    .register(registry);
+            return nuevo;
+        });
+        if (valor.getAndSet(recomendado) != recomendado && recomendado != configurado) {
+            log.info("Pool {}: {} préstamos/s de {} ms en promedio, espera media {} ms; "
+                    + "tamaño recomendado {} (configurado {})",
+                    pool, Math.round(tasa * 10) / 10.0, Math.round(usoMedio * 1000),
+                    Math.round(esperaMedia * 1000), recomendado, configurado);
+        }
+    }
+
+    /**
+     * Conexiones para atender {@code tasa} préstamos por segundo de
+     * {@code usoMedio} segundos con la utilización objetivo.
+     */
+    static int recomendar(double tasa, double usoMedio, double utilizacionObjetivo, int minimo, int maximo) {
+        double ocupadas = tasa * usoMedio;
+        int necesarias = (int) Math.ceil(ocupadas / utilizacionObjetivo);
+        return Math.max(minimo, Math.min(maximo, necesarias));
+    }
+
+    @Override
+    public void destroy() {
+        ejecutor.shutdownNow();
+    }
+
+    private record Muestra(long instante, long prestamos, double segundosUso, long pedidos, double segundosEspera) {
+    }
+}
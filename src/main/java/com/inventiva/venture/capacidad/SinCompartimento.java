@@ -0,0 +1,19 @@
+package com.inventiva.venture.capacidad;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Excluye el método (o todos los del bean) de los {@link Compartimentos}:
+ * operaciones largas como exportaciones en streaming, escrituras masivas o
+ * reconstrucciones en segundo plano, que ocuparían un cupo durante toda su
+ * duración y harían rechazar las llamadas interactivas del módulo.
+ */
+@Documented
+@Target({ ElementType.TYPE, ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SinCompartimento {
+}
@@ -0,0 +1,35 @@
+package com.inventiva.venture.capacidad;
+
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * Llamada rechazada porque el módulo no tiene cupo ({@link Compartimentos}).
+ * La UI la muestra como "sistema ocupado" en lugar de esperar al
+ * connection-timeout del pool.
+ */
+public class SistemaOcupadoException extends RuntimeException {
+
+    private final String modulo;
+
+    public SistemaOcupadoException(String modulo, String detalle) {
+        super("Sistema ocupado (módulo " + modulo + "): " + detalle);
+        this.modulo = modulo;
+    }
+
+    public String getModulo() {
+        return modulo;
+    }
+
+    /**
+     * Si el error se debe a falta de capacidad: cupo del módulo agotado o
+     * ninguna conexión disponible a tiempo (pool o límite de conexiones).
+     */
+    public static boolean esCausa(Throwable error) {
+        for (Throwable causa = error; causa != null; causa = causa.getCause()) {
+            if (causa instanceof SistemaOcupadoException || causa instanceof SQLTransientConnectionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
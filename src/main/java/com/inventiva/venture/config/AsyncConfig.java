@@ -0,0 +1,13 @@
+package com.inventiva.venture.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Habilita {@code @Async} sobre el {@code applicationTaskExecutor} que
+ * configura Spring Boot (propiedades {@code spring.task.execution.*}).
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
@@ -0,0 +1,99 @@
+package com.inventiva.venture.modules.bs.application.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuración del módulo BS para personas ({@code venture.bs.personas.*}).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "venture.bs.personas")
+public class BswPersonasProperties {
+
+    private Grid grid = new Grid();
+
+    private Indice indice = new Indice();
+
+    private Importacion importacion = new Importacion();
+
+    private Cache cache = new Cache();
+
+    @Getter
+    @Setter
+    public static class Grid {
+        /** Forma en que el grid obtiene el total de filas. */
+        private ModoConteo conteo = ModoConteo.NINGUNO;
+        /**
+         * Las páginas se consultan fuera del lock de la sesión y llegan por push;
+         * el conteo EXACTO se trata como ESTIMADO.
+         */
+        private boolean asincrono = false;
+        /** Hilos que consultan páginas del grid en modo asíncrono (todas las sesiones). */
+        private int hilosCarga = 4;
+        /** Páginas que pueden esperar un hilo; con la cola llena se consulta en el pedido. */
+        private int paginasEnCola = 100;
+    }
+
+    @Getter
+    @Setter
+    public static class Indice {
+        /**
+         * Índice de trigramas en memoria para el filtro del grid. Solo atiende
+         * las búsquedas {@code *texto} (código y nombre, no RUC); los demás
+         * modos ya resuelven con índices de la base.
+         */
+        private boolean habilitado = false;
+        /**
+         * Con más coincidencias que esto la búsqueda vuelve a la base de datos
+         * (ordenarlas en memoria en cada página dejaría de ser barato).
+         */
+        private int maxResultados = 20_000;
+        /**
+         * Tras un aviso de otro nodo se reconstruye cuando pasa este tiempo sin
+         * avisos nuevos (una importación avisa por cada lote).
+         */
+        private Duration esperaReconstruccion = Duration.ofSeconds(5);
+        /** Con avisos continuos, se reconstruye igual a lo sumo con esta demora. */
+        private Duration esperaMaximaReconstruccion = Duration.ofMinutes(1);
+    }
+
+    @Getter
+    @Setter
+    public static class Importacion {
+        /** Filas por lote entre etapas y por batch JDBC de MERGE. */
+        private int tamanoLote = 500;
+        /** Lotes que pueden esperar entre una etapa y la siguiente. */
+        private int lotesEnCola = 8;
+        /** Hilos que validan en paralelo. */
+        private int hilosValidacion = 4;
+        /** Separador de columnas de los archivos CSV. */
+        private char separadorCsv = ',';
+    }
+
+    @Getter
+    @Setter
+    public static class Cache {
+        /** Caché de páginas y conteos repetidos (misma búsqueda, página y orden). */
+        private boolean habilitado = true;
+        /** Tiempo de vida de cada resultado; acota cambios hechos por otras instancias. */
+        private Duration ttl = Duration.ofSeconds(30);
+        /** Resultados guardados como máximo (se descartan los menos usados). */
+        private long maxEntradas = 2_000;
+    }
+
+    public enum ModoConteo {
+        /** COUNT(*) exacto en cada cambio de filtro (tamaño definido). */
+        EXACTO,
+        /** Scroll infinito sin ningún conteo (tamaño indefinido). */
+        NINGUNO,
+        /**
+         * Scroll infinito; tras mostrar la primera página se completa el total
+         * en segundo plano si hay una estimación barata (estadísticas de Oracle
+         * sin filtro, índice en memoria con filtro). Nunca ejecuta un COUNT.
+         */
+        ESTIMADO
+    }
+}
@@ -0,0 +1,46 @@
+package com.inventiva.venture.modules.bs.application.exportacion;
+
+import com.inventiva.venture.modules.bs.application.service.BswPersonasService;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+/**
+ * Exportación del resultado de un filtro de personas a CSV o XLSX. Las filas
+ * se leen con un cursor ({@link BswPersonasService#recorrer}) y se escriben
+ * directamente en la salida, por lo que la memoria se mantiene constante sin
+ * importar la cantidad de filas.
+ */
+@Service
+@RequiredArgsConstructor
+public class BswPersonasExportador {
+
+    private final BswPersonasService service;
+
+    /**
+     * @return cantidad de filas exportadas
+     */
+    public long exportar(String filtro, Sort sort, FormatoExportacion formato, OutputStream salida)
+            throws IOException {
+        try (EscritorFilas escritor = switch (formato) {
+            case CSV -> new EscritorCsv(salida);
+            case XLSX -> new EscritorXlsx(salida);
+        }) {
+            long filas = service.recorrer(filtro, sort, fila -> {
+                try {
+                    escritor.escribir(fila);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            escritor.terminar();
+            return filas;
+        } catch (UncheckedIOException e) {
+            // El navegador cortó la descarga o falló la escritura
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.inventiva.venture.modules.bs.application.exportacion;
+
+import com.inventiva.venture.modules.bs.infrastructure.repository.BswPersonasFilaExportacion;
+import com.inventiva.venture.persistence.IndicadorSiNo;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/** CSV en UTF-8 con BOM (para que Excel respete los acentos). */
+final class EscritorCsv implements EscritorFilas {
+
+    private static final int BUFFER = 64 * 1024;
+
+    private final Writer writer;
+
+    EscritorCsv(OutputStream salida) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8), BUFFER);
+        writer.write('\uFEFF');
+        writer.write(String.join(",", COLUMNAS));
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void escribir(BswPersonasFilaExportacion fila) throws IOException {
+        campo(fila.codPersona());
+        writer.write(',');
+        campo(fila.nombre());
+        writer.write(',');
+        campo(fila.ruc());
+        writer.write(',');
+        campo(fila.direccion());
+        writer.write(',');
+        campo(fila.telefono());
+        writer.write(',');
+        campo(fila.fecNacimiento() != null ? fila.fecNacimiento().toString() : null);
+        writer.write(',');
+        campo(IndicadorSiNo.columna(fila.esFisica()));
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void terminar() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() {
+        // La salida es del llamador
+    }
+
+    private void campo(String valor) throws IOException {
+        if (valor == null || valor.isEmpty()) {
+            return;
+        }
+        boolean comillas = false;
+        for (int i = 0; i < valor.length() && !comillas; i++) {
+            char c = valor.charAt(i);
+            comillas = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!comillas) {
+            writer.write(valor);
+            return;
+        }
+        writer.write('"');
+        writer.write(valor.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,25 @@
+package com.inventiva.venture.modules.bs.application.exportacion;
+
+import com.inventiva.venture.modules.bs.infrastructure.repository.BswPersonasFilaExportacion;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Escribe filas de exportación en un formato de archivo. {@link #close()}
+ * libera los recursos propios, no la salida.
+ */
+interface EscritorFilas extends Closeable {
+
+    /**
+     * Columnas del archivo; coinciden con las que acepta la importación
+     * ({@code BswPersonasImportador}) para poder reimportar una exportación.
+     */
+    List<String> COLUMNAS = List.of("cod_persona", "nombre", "ruc", "direccion", "telefono",
+            "fec_nacimiento", "es_fisica");
+
+    void escribir(BswPersonasFilaExportacion fila) throws IOException;
+
+    /** Completa el archivo (sin cerrar la salida). */
+    void terminar() throws IOException;
+}
@@ -0,0 +1,91 @@
+package com.inventiva.venture.modules.bs.application.exportacion;
+
+import com.inventiva.venture.modules.bs.infrastructure.repository.BswPersonasFilaExportacion;
+import com.inventiva.venture.persistence.IndicadorSiNo;
+import java.io.IOException;
+import java.io.OutputStream;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+/**
+ * XLSX con el modelo streaming de POI (SXSSF): solo {@link #VENTANA_FILAS}
+ * filas quedan en memoria, el resto se baja a un archivo temporal comprimido.
+ * Al llegar al máximo de filas de Excel se continúa en una hoja nueva.
+ */
+final class EscritorXlsx implements EscritorFilas {
+
+    static final int VENTANA_FILAS = 100;
+    private static final int MAX_FILAS_HOJA = SpreadsheetVersion.EXCEL2007.getMaxRows();
+
+    private final OutputStream salida;
+    private final SXSSFWorkbook libro;
+    private final CellStyle estiloEncabezado;
+    private final CellStyle estiloFecha;
+    private Sheet hoja;
+    private int filaActual;
+    private int hojas;
+
+    EscritorXlsx(OutputStream salida) {
+        this.salida = salida;
+        this.libro = new SXSSFWorkbook(VENTANA_FILAS);
+        this.libro.setCompressTempFiles(true);
+
+        Font negrita = libro.createFont();
+        negrita.setBold(true);
+        this.estiloEncabezado = libro.createCellStyle();
+        this.estiloEncabezado.setFont(negrita);
+        this.estiloFecha = libro.createCellStyle();
+        this.estiloFecha.setDataFormat(libro.getCreationHelper().createDataFormat().getFormat("dd/mm/yyyy"));
+        nuevaHoja();
+    }
+
+    @Override
+    public void escribir(BswPersonasFilaExportacion fila) {
+        if (filaActual == MAX_FILAS_HOJA) {
+            nuevaHoja();
+        }
+        Row row = hoja.createRow(filaActual++);
+        texto(row, 0, fila.codPersona());
+        texto(row, 1, fila.nombre());
+        texto(row, 2, fila.ruc());
+        texto(row, 3, fila.direccion());
+        texto(row, 4, fila.telefono());
+        if (fila.fecNacimiento() != null) {
+            row.createCell(5).setCellValue(fila.fecNacimiento());
+            row.getCell(5).setCellStyle(estiloFecha);
+        }
+        texto(row, 6, IndicadorSiNo.columna(fila.esFisica()));
+    }
+
+    @Override
+    public void terminar() throws IOException {
+        libro.write(salida);
+        salida.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        libro.close(); // también borra los archivos temporales
+    }
+
+    private void nuevaHoja() {
+        hojas++;
+        hoja = libro.createSheet(hojas == 1 ? "Personas" : "Personas " + hojas);
+        Row encabezado = hoja.createRow(0);
+        for (int i = 0; i < COLUMNAS.size(); i++) {
+            encabezado.createCell(i).setCellValue(COLUMNAS.get(i));
+            encabezado.getCell(i).setCellStyle(estiloEncabezado);
+        }
+        filaActual = 1;
+    }
+
+    private static void texto(Row row, int columna, String valor) {
+        if (valor != null) {
+            row.createCell(columna).setCellValue(valor);
+        }
+    }
+}
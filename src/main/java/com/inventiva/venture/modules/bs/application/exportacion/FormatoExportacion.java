@@ -0,0 +1,23 @@
+package com.inventiva.venture.modules.bs.application.exportacion;
+
+public enum FormatoExportacion {
+
+    CSV("text/csv;charset=UTF-8", "csv"),
+    XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx");
+
+    private final String tipoMime;
+    private final String extension;
+
+    FormatoExportacion(String tipoMime, String extension) {
+        this.tipoMime = tipoMime;
+        this.extension = extension;
+    }
+
+    public String getTipoMime() {
+        return tipoMime;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,438 @@
+package com.inventiva.venture.modules.bs.application.importacion;
+
+import com.inventiva.venture.modules.bs.application.config.BswPersonasProperties;
+import com.inventiva.venture.modules.bs.application.service.BswPersonasCache;
+import com.inventiva.venture.modules.bs.application.service.BswPersonasIndice;
+import com.inventiva.venture.modules.bs.domain.model.BswPersonas;
+import com.inventiva.venture.modules.bs.domain.model.BswPersonasReglas;
+import com.inventiva.venture.modules.bs.infrastructure.repository.BswPersonasMergeJdbc;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Importación masiva de personas desde CSV o JSON a BSW_PERSONAS.
+ *
+ * Tres etapas unidas por colas acotadas (si una etapa se atrasa, la anterior
+ * espera):
+ * <ol>
+ * <li>lectura en streaming en el hilo que llama, en lotes de
+ * {@code tamano-lote} filas;</li>
+ * <li>validación en {@code hilos-validacion} hilos con
+ * {@link BswPersonasReglas} (las mismas reglas del formulario); las filas
+ * inválidas van al archivo de rechazos;</li>
+ * <li>escritura en un único hilo: MERGE por COD_PERSONA en batch JDBC, una
+ * transacción por lote.</li>
+ * </ol>
+ * Al terminar, las palabras de búsqueda de las altas se generan con una sola
+ * sentencia ({@link BswPersonasMergeJdbc#generarTokensFaltantes}); hasta
+ * entonces las personas nuevas solo se encuentran por código o prefijo.
+ * Si una etapa falla se detienen las demás; los lotes ya confirmados quedan
+ * guardados (el MERGE permite reintentar el archivo completo).
+ *
+ * Los hilos de validación y escritura son del bean (se cierran con el
+ * contexto) y se reutilizan entre importaciones; las importaciones se
+ * ejecutan de a una.
+ */
+@Slf4j
+@Service
+public class BswPersonasImportador implements DisposableBean {
+
+    static final String NOMBRE = "importacion-personas";
+
+    private static final List<FilaImportacion> FIN_FILAS = Collections.unmodifiableList(new ArrayList<>());
+    private static final List<BswPersonas> FIN_PERSONAS = Collections.unmodifiableList(new ArrayList<>());
+    private static final long ESPERA_COLA_MS = 200;
+    private static final DateTimeFormatter FECHA_LOCAL = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private final BswPersonasMergeJdbc mergeJdbc;
+    private final TransactionTemplate transaccion;
+    private final BswPersonasProperties properties;
+    private final ObjectProvider<BswPersonasIndice> indice;
+    private final BswPersonasCache cache;
+    private final ThreadPoolExecutor hilos;
+    private final ReentrantLock enCurso = new ReentrantLock();
+
+    private final Counter filasGuardadas;
+    private final Counter filasRechazadas;
+    private final Timer etapaLectura;
+    private final Timer etapaValidacion;
+    private final Timer etapaEscritura;
+    private volatile double filasPorSegundo;
+
+    public BswPersonasImportador(BswPersonasMergeJdbc mergeJdbc,
+            PlatformTransactionManager transactionManager,
+            BswPersonasProperties properties,
+            ObjectProvider<BswPersonasIndice> indice,
+            BswPersonasCache cache,
+            MeterRegistry registry) {
+        this.mergeJdbc = mergeJdbc;
+        this.transaccion = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.indice = indice;
+        this.cache = cache;
+
+        // Una etapa por hilo: validadores más el escritor
+        int cantidadHilos = properties.getImportacion().getHilosValidacion() + 1;
+        this.hilos = new ThreadPoolExecutor(cantidadHilos, cantidadHilos, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new FabricaHilos());
+        this.hilos.allowCoreThreadTimeOut(true);
+        ExecutorServiceMetrics.monitor(registry, hilos, NOMBRE);
+
+        this.filasGuardadas = Counter.builder("venture.bs.personas.importacion.filas")
+                .tag("resultado", "guardada")
+                .register(registry);
+        this.filasRechazadas = Counter.builder("venture.bs.personas.importacion.filas")
+                .tag("resultado", "rechazada")
+                .register(registry);
+        this.etapaLectura = etapa(registry, "lectura");
+        this.etapaValidacion = etapa(registry, "validacion");
+        this.etapaEscritura = etapa(registry, "escritura");
+        Gauge.builder("venture.bs.personas.importacion.filas.por.segundo", this, i -> i.filasPorSegundo)
+                .description("Rendimiento de la última importación de personas")
+                .register(registry);
+    }
+
+    /**
+     * Importa el archivo y escribe las filas rechazadas en {@code rechazos}
+     * (CSV: fila, codPersona, errores). No cierra la entrada ni el writer.
+     * Si hay otra importación en curso, espera a que termine.
+     */
+    public ResultadoImportacion importar(InputStream entrada, FormatoImportacion formato, Writer rechazos)
+            throws IOException {
+        enCurso.lock();
+        try {
+            return ejecutar(entrada, formato, rechazos);
+        } finally {
+            enCurso.unlock();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        hilos.shutdownNow();
+    }
+
+    private ResultadoImportacion ejecutar(InputStream entrada, FormatoImportacion formato, Writer rechazos)
+            throws IOException {
+        BswPersonasProperties.Importacion config = properties.getImportacion();
+        long inicio = System.nanoTime();
+
+        Pipeline pipeline = new Pipeline(config, new ArchivoRechazos(rechazos));
+        List<Future<?>> etapas = new ArrayList<>(config.getHilosValidacion() + 1);
+        long leidas;
+        try {
+            for (int i = 0; i < config.getHilosValidacion(); i++) {
+                etapas.add(hilos.submit(() -> pipeline.ejecutar(pipeline::validar)));
+            }
+            etapas.add(hilos.submit(() -> pipeline.ejecutar(pipeline::escribir)));
+            try (LectorFilas lector = LectorFilas.abrir(entrada, formato, config.getSeparadorCsv())) {
+                leidas = pipeline.leer(lector);
+            }
+            for (Future<?> etapa : etapas) {
+                esperar(etapa, pipeline);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Importación de personas interrumpida", e);
+        } finally {
+            // Si algo falló, libera los hilos para la próxima importación
+            etapas.forEach(etapa -> etapa.cancel(true));
+        }
+        pipeline.verificar();
+
+        ResultadoImportacion resultado = new ResultadoImportacion(leidas,
+                pipeline.guardadas.get(), pipeline.rechazadas.get(),
+                Duration.ofNanos(System.nanoTime() - inicio));
+        filasPorSegundo = resultado.filasPorSegundo();
+        if (resultado.guardadas() > 0) {
+            // Palabras de búsqueda de las altas en una sola sentencia (el trigger no corre en los INSERT)
+            transaccion.executeWithoutResult(estado -> mergeJdbc.generarTokensFaltantes());
+            cache.invalidar();
+            // El MERGE no pasa por JPA: el índice en memoria se reconstruye
+            indice.ifAvailable(BswPersonasIndice::reconstruirEnSegundoPlano);
+        }
+        log.info("Importación de personas: {} leídas, {} guardadas, {} rechazadas en {} ms",
+                resultado.leidas(), resultado.guardadas(), resultado.rechazadas(),
+                resultado.duracion().toMillis());
+        return resultado;
+    }
+
+    private static void esperar(Future<?> etapa, Pipeline pipeline) throws IOException, InterruptedException {
+        while (true) {
+            try {
+                etapa.get(ESPERA_COLA_MS, TimeUnit.MILLISECONDS);
+                return;
+            } catch (TimeoutException e) {
+                pipeline.verificar();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Falló la importación de personas: " + e.getCause().getMessage(),
+                        e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Convierte y valida una fila; {@code errores} vacío si es válida.
+     */
+    static FilaValidada validar(FilaImportacion fila) {
+        List<String> errores = new ArrayList<>(1);
+        BswPersonas persona = new BswPersonas();
+        persona.setCodPersona(fila.valor("codpersona"));
+        persona.setNombre(fila.valor("nombre"));
+        persona.setRuc(fila.valor("ruc"));
+        persona.setDireccion(fila.valor("direccion"));
+        persona.setTelefono(fila.valor("telefono"));
+        persona.setFecNacimiento(fecha(fila.valor("fecnacimiento"), errores));
+        persona.setEsFisica(indicador(fila.valor("esfisica"), errores));
+        errores.addAll(BswPersonasReglas.validar(persona));
+        return new FilaValidada(fila, persona, errores);
+    }
+
+    record FilaValidada(FilaImportacion fila, BswPersonas persona, List<String> errores) {
+    }
+
+    private static LocalDate fecha(String valor, List<String> errores) {
+        if (valor == null) {
+            return null;
+        }
+        try {
+            return valor.indexOf('/') >= 0 ? LocalDate.parse(valor, FECHA_LOCAL) : LocalDate.parse(valor);
+        } catch (DateTimeParseException e) {
+            errores.add("fecNacimiento: fecha inválida '" + valor + "' (AAAA-MM-DD o DD/MM/AAAA)");
+            return null;
+        }
+    }
+
+    private static boolean indicador(String valor, List<String> errores) {
+        if (valor == null) {
+            // Sin la columna no se adivina el tipo de persona: la fila se rechaza
+            errores.add("esFisica: El indicador es obligatorio (S/N)");
+            return false;
+        }
+        return switch (valor.toUpperCase(Locale.ROOT)) {
+            case "S", "SI", "TRUE", "1" -> true;
+            case "N", "NO", "FALSE", "0" -> false;
+            default -> {
+                errores.add("esFisica: valor inválido '" + valor + "' (S/N)");
+                yield false;
+            }
+        };
+    }
+
+    private static Timer etapa(MeterRegistry registry, String nombre) {
+        return Timer.builder("venture.bs.personas.importacion.etapa")
+                .description("Tiempo por lote de cada etapa de la importación de personas")
+                .tag("etapa", nombre)
+                .register(registry);
+    }
+
+    /** Estado de una importación en curso. */
+    private final class Pipeline {
+
+        private final BswPersonasProperties.Importacion config;
+        private final ArchivoRechazos rechazos;
+        private final BlockingQueue<List<FilaImportacion>> porValidar;
+        private final BlockingQueue<List<BswPersonas>> porEscribir;
+        private final AtomicInteger validadoresActivos;
+        private final AtomicLong guardadas = new AtomicLong();
+        private final AtomicLong rechazadas = new AtomicLong();
+        private final AtomicReference<Throwable> falla = new AtomicReference<>();
+
+        Pipeline(BswPersonasProperties.Importacion config, ArchivoRechazos rechazos) {
+            this.config = config;
+            this.rechazos = rechazos;
+            this.porValidar = new ArrayBlockingQueue<>(config.getLotesEnCola());
+            this.porEscribir = new ArrayBlockingQueue<>(config.getLotesEnCola());
+            this.validadoresActivos = new AtomicInteger(config.getHilosValidacion());
+        }
+
+        long leer(LectorFilas lector) throws IOException, InterruptedException {
+            long leidas = 0;
+            List<FilaImportacion> lote = new ArrayList<>(config.getTamanoLote());
+            long inicioLote = System.nanoTime();
+            FilaImportacion fila;
+            while ((fila = lector.siguiente()) != null) {
+                lote.add(fila);
+                leidas++;
+                if (lote.size() == config.getTamanoLote()) {
+                    etapaLectura.record(System.nanoTime() - inicioLote, TimeUnit.NANOSECONDS);
+                    poner(porValidar, lote);
+                    lote = new ArrayList<>(config.getTamanoLote());
+                    inicioLote = System.nanoTime();
+                }
+            }
+            if (!lote.isEmpty()) {
+                etapaLectura.record(System.nanoTime() - inicioLote, TimeUnit.NANOSECONDS);
+                poner(porValidar, lote);
+            }
+            for (int i = 0; i < config.getHilosValidacion(); i++) {
+                poner(porValidar, FIN_FILAS);
+            }
+            return leidas;
+        }
+
+        void validar() throws IOException, InterruptedException {
+            try {
+                List<FilaImportacion> lote;
+                while ((lote = tomar(porValidar)) != FIN_FILAS) {
+                    long inicio = System.nanoTime();
+                    List<BswPersonas> validas = new ArrayList<>(lote.size());
+                    for (FilaImportacion fila : lote) {
+                        FilaValidada validada = BswPersonasImportador.validar(fila);
+                        if (validada.errores().isEmpty()) {
+                            validas.add(validada.persona());
+                        } else {
+                            rechazos.escribir(validada);
+                            rechazadas.incrementAndGet();
+                            filasRechazadas.increment();
+                        }
+                    }
+                    etapaValidacion.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+                    if (!validas.isEmpty()) {
+                        poner(porEscribir, validas);
+                    }
+                }
+            } finally {
+                // El último validador avisa al escritor que no hay más lotes
+                if (validadoresActivos.decrementAndGet() == 0 && falla.get() == null) {
+                    poner(porEscribir, FIN_PERSONAS);
+                }
+            }
+        }
+
+        void escribir() throws InterruptedException {
+            BswPersonasMergeJdbc.GeneradorIds ids = mergeJdbc.generadorIds();
+            List<BswPersonas> lote;
+            while ((lote = tomar(porEscribir)) != FIN_PERSONAS) {
+                List<BswPersonas> personas = lote;
+                etapaEscritura.record(() -> transaccion.executeWithoutResult(
+                        estado -> mergeJdbc.merge(personas, ids)));
+                // Cada lote confirmado ya es visible en Oracle
+                cache.invalidar();
+                guardadas.addAndGet(personas.size());
+                filasGuardadas.increment(personas.size());
+            }
+        }
+
+        /** Ejecuta una etapa registrando la primera falla para detener al resto. */
+        void ejecutar(Etapa etapa) {
+            try {
+                etapa.ejecutar();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                falla.compareAndSet(null, e);
+            } catch (Throwable e) {
+                falla.compareAndSet(null, e);
+            }
+        }
+
+        void verificar() throws IOException {
+            Throwable causa = falla.get();
+            if (causa instanceof IOException io) {
+                throw io;
+            }
+            if (causa instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            if (causa != null) {
+                throw new IllegalStateException("Falló la importación de personas: " + causa.getMessage(), causa);
+            }
+        }
+
+        private <T> void poner(BlockingQueue<T> cola, T lote) throws IOException, InterruptedException {
+            while (!cola.offer(lote, ESPERA_COLA_MS, TimeUnit.MILLISECONDS)) {
+                verificar();
+            }
+        }
+
+        private <T> T tomar(BlockingQueue<T> cola) throws IOException, InterruptedException {
+            T lote;
+            while ((lote = cola.poll(ESPERA_COLA_MS, TimeUnit.MILLISECONDS)) == null) {
+                verificar();
+            }
+            return lote;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Etapa {
+        void ejecutar() throws Exception;
+    }
+
+    /** Archivo CSV de filas rechazadas, compartido por los validadores. */
+    private static final class ArchivoRechazos {
+
+        private final Writer writer;
+        private boolean encabezado;
+
+        ArchivoRechazos(Writer writer) {
+            this.writer = writer;
+        }
+
+        synchronized void escribir(FilaValidada rechazada) throws IOException {
+            if (!encabezado) {
+                writer.write("fila,codPersona,errores\n");
+                encabezado = true;
+            }
+            writer.write(Long.toString(rechazada.fila().numero()));
+            writer.write(',');
+            writer.write(csv(rechazada.persona().getCodPersona()));
+            writer.write(',');
+            writer.write(csv(String.join("; ", rechazada.errores())));
+            writer.write('\n');
+        }
+
+        private static String csv(String valor) {
+            if (valor == null) {
+                return "";
+            }
+            return '"' + valor.replace("\"", "\"\"") + '"';
+        }
+    }
+
+    private static final class FabricaHilos implements ThreadFactory {
+
+        private final AtomicInteger contador = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable tarea) {
+            Thread hilo = new Thread(tarea, NOMBRE + "-" + contador.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.inventiva.venture.modules.bs.application.importacion;
+
+import java.util.Map;
+
+/**
+ * Fila leída del archivo: número (desde 1) y valores por columna. Las claves
+ * van en minúsculas y sin guiones bajos ni espacios ({@code COD_PERSONA} y
+ * {@code codPersona} son ambas {@code "codpersona"}).
+ */
+record FilaImportacion(long numero, Map<String, String> campos) {
+
+    String valor(String columna) {
+        String valor = campos.get(columna);
+        if (valor == null) {
+            return null;
+        }
+        String recortado = valor.trim();
+        return recortado.isEmpty() ? null : recortado;
+    }
+}
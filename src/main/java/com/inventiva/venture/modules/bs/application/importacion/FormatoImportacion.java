@@ -0,0 +1,8 @@
+package com.inventiva.venture.modules.bs.application.importacion;
+
+public enum FormatoImportacion {
+    /** CSV con encabezado; separador en {@code venture.bs.personas.importacion.separador-csv}. */
+    CSV,
+    /** Arreglo JSON de objetos, u objetos uno detrás de otro (JSON Lines). */
+    JSON
+}
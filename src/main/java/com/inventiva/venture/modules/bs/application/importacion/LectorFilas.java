@@ -0,0 +1,70 @@
+package com.inventiva.venture.modules.bs.application.importacion;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Lectura en streaming de un archivo de importación: se mantiene en memoria
+ * una sola fila a la vez, sin importar el tamaño del archivo.
+ */
+final class LectorFilas implements Closeable {
+
+    private static final CsvMapper CSV = new CsvMapper();
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final MappingIterator<Map<String, Object>> filas;
+    private long numero;
+
+    private LectorFilas(MappingIterator<Map<String, Object>> filas) {
+        this.filas = filas;
+    }
+
+    static LectorFilas abrir(InputStream entrada, FormatoImportacion formato, char separadorCsv)
+            throws IOException {
+        MappingIterator<Map<String, Object>> filas = switch (formato) {
+            case CSV -> CSV.readerFor(Map.class)
+                    .with(CsvSchema.emptySchema().withHeader().withColumnSeparator(separadorCsv))
+                    .readValues(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+            case JSON -> JSON.readerFor(Map.class).readValues(entrada);
+        };
+        return new LectorFilas(filas);
+    }
+
+    /** Siguiente fila o {@code null} al terminar el archivo. */
+    FilaImportacion siguiente() throws IOException {
+        if (!filas.hasNextValue()) {
+            return null;
+        }
+        Map<String, Object> valores = filas.nextValue();
+        Map<String, String> campos = new HashMap<>(valores.size() * 2);
+        valores.forEach((columna, valor) -> campos.put(normalizarColumna(columna),
+                valor == null ? null : valor.toString()));
+        return new FilaImportacion(++numero, campos);
+    }
+
+    static String normalizarColumna(String columna) {
+        StringBuilder normalizada = new StringBuilder(columna.length());
+        for (int i = 0; i < columna.length(); i++) {
+            char c = columna.charAt(i);
+            if (c != '_' && c != '\uFEFF' && !Character.isWhitespace(c)) { // BOM de Excel incluido
+                normalizada.append(c);
+            }
+        }
+        return normalizada.toString().toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public void close() throws IOException {
+        filas.close();
+    }
+}
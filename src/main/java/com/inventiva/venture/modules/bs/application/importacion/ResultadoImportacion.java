@@ -0,0 +1,11 @@
+package com.inventiva.venture.modules.bs.application.importacion;
+
+import java.time.Duration;
+
+public record ResultadoImportacion(long leidas, long guardadas, long rechazadas, Duration duracion) {
+
+    public double filasPorSegundo() {
+        long milis = Math.max(1, duracion.toMillis());
+        return leidas * 1000.0 / milis;
+    }
+}
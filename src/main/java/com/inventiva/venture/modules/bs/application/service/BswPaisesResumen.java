@@ -0,0 +1,22 @@
+package com.inventiva.venture.modules.bs.application.service;
+
+import com.inventiva.venture.modules.bs.domain.model.BswPaises;
+
+/**
+ * País del catálogo en memoria de {@link BswPaisesService}: copia inmutable
+ * de la entidad, compartida entre usuarios sin riesgo de que se modifique ni
+ * de arrastrar una instancia administrada fuera de su sesión.
+ */
+public record BswPaisesResumen(Long id,
+        String codPais,
+        String descripcion,
+        String nacionalidad,
+        String codigoArea,
+        String abreviatura,
+        String siglas) {
+
+    static BswPaisesResumen desde(BswPaises pais) {
+        return new BswPaisesResumen(pais.getId(), pais.getCodPais(), pais.getDescripcion(),
+                pais.getNacionalidad(), pais.getCodigoArea(), pais.getAbreviatura(), pais.getSiglas());
+    }
+}
@@ -0,0 +1,205 @@
+package com.inventiva.venture.modules.bs.application.service;
+
+import com.inventiva.venture.cache.BusInvalidacion;
+import com.inventiva.venture.modules.bs.domain.model.BswPaises;
+import com.inventiva.venture.modules.bs.infrastructure.repository.BswPaisesRepository;
+import com.inventiva.venture.observability.Medido;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Catálogo de países para las búsquedas por código.
+ *
+ * Las consultas se responden desde un mapa inmutable en memoria que se carga
+ * la primera vez (desde la caché de consultas de Hibernate o Oracle), se
+ * recarga al pasar {@link #VIGENCIA} (como la región {@code bsw-paises} de
+ * caffeine.conf, para ver cambios hechos fuera de la aplicación) y se
+ * descarta con {@link #invalidar()}; los cambios hechos con {@link #guardar}
+ * y {@link #eliminar} lo invalidan tras el commit, también en los demás nodos
+ * (que además limpian su caché de segundo nivel). Se devuelven copias
+ * inmutables ({@link BswPaisesResumen}), no entidades: para editar un país
+ * se lee con {@link #buscarParaEditar}.
+ *
+ * Aciertos y fallos se publican como {@code cache.gets{cache="bsw-paises"}}.
+ */
+@Service
+@Medido(modulo = "bs", entidad = "paises")
+public class BswPaisesService {
+
+    private static final String NOMBRE_CACHE = "bsw-paises";
+
+    /** Vida del catálogo en memoria; la misma que la región bsw-paises en caffeine.conf. */
+    static final Duration VIGENCIA = Duration.ofHours(1);
+
+    private record Catalogo(List<BswPaisesResumen> paises, Map<String, BswPaisesResumen> porCodigo, long cargado) {
+    }
+
+    private final BswPaisesRepository repository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final BusInvalidacion bus;
+    private final Counter aciertos;
+    private final Counter fallos;
+    private final LongSupplier reloj;
+
+    private volatile Catalogo catalogo;
+    // Se incrementa en cada invalidación; una carga en curso que la cruza se descarta
+    private final AtomicLong generacion = new AtomicLong();
+    private final ReentrantLock carga = new ReentrantLock();
+
+    public BswPaisesService(BswPaisesRepository repository,
+            EntityManagerFactory entityManagerFactory,
+            BusInvalidacion bus,
+            MeterRegistry registry) {
+        this(repository, entityManagerFactory, bus, registry, System::nanoTime);
+    }
+
+    BswPaisesService(BswPaisesRepository repository,
+            EntityManagerFactory entityManagerFactory,
+            BusInvalidacion bus,
+            MeterRegistry registry,
+            LongSupplier reloj) {
+        this.reloj = reloj;
+        this.repository = repository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.bus = bus;
+        bus.suscribir(BswPaises.REGION_CACHE, this::invalidar);
+        this.aciertos = Counter.builder("cache.gets")
+                .tag("cache", NOMBRE_CACHE).tag("result", "hit")
+                .description("Consultas al catálogo de países respondidas desde memoria")
+                .register(registry);
+        this.fallos = Counter.builder("cache.gets")
+                .tag("cache", NOMBRE_CACHE).tag("result", "miss")
+                .description("Consultas al catálogo de países que debieron cargarlo")
+                .register(registry);
+        Gauge.builder("cache.size", this, BswPaisesService::tamano)
+                .tag("cache", NOMBRE_CACHE)
+                .description("Países en el catálogo en memoria")
+                .register(registry);
+    }
+
+    public Optional<BswPaisesResumen> buscarPorCodigo(String codPais) {
+        if (codPais == null || codPais.isBlank()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(catalogo().porCodigo().get(codPais.trim()));
+    }
+
+    /** Todos los países, ordenados por descripción. */
+    public List<BswPaisesResumen> listar() {
+        return catalogo().paises();
+    }
+
+    /** Lectura fuera del catálogo compartido (instancia propia, editable). */
+    public Optional<BswPaises> buscarParaEditar(Long id) {
+        return repository.findById(id);
+    }
+
+    @Transactional
+    public BswPaises guardar(BswPaises pais) {
+        BswPaises guardado = repository.save(pais);
+        invalidarTrasCommit();
+        return guardado;
+    }
+
+    @Transactional
+    public void eliminar(Long id) {
+        repository.deleteById(id);
+        invalidarTrasCommit();
+    }
+
+    /**
+     * Descarta el catálogo en memoria y las entradas de países de la caché de
+     * segundo nivel de este nodo, para cambios hechos por otro nodo o fuera de
+     * la aplicación.
+     */
+    public void invalidar() {
+        descartarCatalogo();
+        entityManagerFactory.getCache().evict(BswPaises.class);
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegion(BswPaises.REGION_CONSULTAS);
+    }
+
+    private Catalogo catalogo() {
+        Catalogo actual = catalogo;
+        if (actual != null && vigente(actual)) {
+            aciertos.increment();
+            return actual;
+        }
+        fallos.increment();
+        return cargar();
+    }
+
+    private boolean vigente(Catalogo actual) {
+        return reloj.getAsLong() - actual.cargado() < VIGENCIA.toNanos();
+    }
+
+    // Lock y no synchronized: la consulta no fija el hilo virtual a su portador
+    private Catalogo cargar() {
+        carga.lock();
+        try {
+            Catalogo actual = catalogo;
+            if (actual != null && vigente(actual)) {
+                return actual;
+            }
+            long inicio = generacion.get();
+            long cargado = reloj.getAsLong();
+            List<BswPaisesResumen> paises = repository.findAllByOrderByDescripcionAsc().stream()
+                    .map(BswPaisesResumen::desde)
+                    .toList();
+            Map<String, BswPaisesResumen> porCodigo = new LinkedHashMap<>();
+            for (BswPaisesResumen pais : paises) {
+                porCodigo.putIfAbsent(pais.codPais().trim(), pais);
+            }
+            actual = new Catalogo(paises, Map.copyOf(porCodigo), cargado);
+            if (generacion.get() == inicio) {
+                catalogo = actual;
+            }
+            return actual;
+        } finally {
+            carga.unlock();
+        }
+    }
+
+    private void descartarCatalogo() {
+        generacion.incrementAndGet();
+        catalogo = null;
+    }
+
+    /**
+     * Hibernate ya mantiene la caché de segundo nivel de este nodo; falta el
+     * catálogo y avisar a los demás.
+     */
+    private void invalidarTrasCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    descartarCatalogo();
+                    bus.publicar(BswPaises.REGION_CACHE);
+                }
+            });
+        } else {
+            descartarCatalogo();
+            bus.publicar(BswPaises.REGION_CACHE);
+        }
+    }
+
+    private double tamano() {
+        Catalogo actual = catalogo;
+        return actual == null ? 0 : actual.porCodigo().size();
+    }
+}
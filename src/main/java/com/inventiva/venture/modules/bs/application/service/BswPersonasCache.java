@@ -0,0 +1,156 @@
+package com.inventiva.venture.modules.bs.application.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.inventiva.venture.cache.BusInvalidacion;
+import com.inventiva.venture.modules.bs.application.config.BswPersonasProperties;
+import com.inventiva.venture.persistence.Cancelacion;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Caché de resultados de la búsqueda de personas (páginas de resúmenes y
+ * conteos) por filtro normalizado, posición, tamaño y orden
+ * ({@code venture.bs.personas.cache}).
+ *
+ * Cada clave lleva la generación vigente: {@link #invalidar()} la incrementa y
+ * desde ese momento ninguna consulta ve resultados anteriores, que quedan sin
+ * uso hasta que Caffeine los descarta (W-TinyLFU, con tamaño máximo y TTL).
+ * Los demás nodos reciben la invalidación por el {@link BusInvalidacion}; si
+ * un aviso se pierde, el cambio se ve al vencer el TTL.
+ *
+ * Si varios usuarios piden a la vez un resultado que no está, la consulta se
+ * ejecuta una sola vez y los demás esperan ese resultado. Las consultas que
+ * corren dentro de una {@link Cancelacion} (carga asíncrona del grid) no se
+ * comparten mientras están en curso: si su sesión las cancela, el error no
+ * debe llegar a otra sesión. Al terminar, su resultado sí queda en la caché.
+ */
+@Component
+public class BswPersonasCache {
+
+    /** Nombre de la caché en las métricas {@code cache.*}. */
+    static final String NOMBRE = "bsw-personas-resultados";
+
+    /** Región del bus de invalidación para cambios en BSW_PERSONAS. */
+    public static final String REGION = "bsw-personas";
+
+    private record Clave(long generacion, String consulta, String filtro, Object posicion, int limite, Sort sort) {
+    }
+
+    private final AsyncCache<Clave, Object> resultados;
+    private final AtomicLong generacion = new AtomicLong();
+    private final BusInvalidacion bus;
+
+    public BswPersonasCache(BswPersonasProperties properties, BusInvalidacion bus, MeterRegistry registry) {
+        this.bus = bus;
+        bus.suscribir(REGION, generacion::incrementAndGet);
+        BswPersonasProperties.Cache config = properties.getCache();
+        if (!config.isHabilitado()) {
+            this.resultados = null;
+            return;
+        }
+        this.resultados = Caffeine.newBuilder()
+                .maximumSize(config.getMaxEntradas())
+                .expireAfterWrite(config.getTtl())
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(registry, resultados, NOMBRE);
+    }
+
+    /**
+     * Resultado cacheado de la consulta o, si no está, el de {@code cargar}
+     * (que no debe devolver {@code null}).
+     *
+     * @param consulta nombre de la operación (distingue páginas de conteos)
+     * @param posicion offset o posición keyset; {@code null} si no aplica
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T obtener(String consulta, String filtro, Object posicion, int limite, Sort sort,
+            Supplier<T> cargar) {
+        if (resultados == null) {
+            return cargar.get();
+        }
+        Clave clave = new Clave(generacion.get(), consulta, normalizar(filtro), posicion, limite, sort);
+        CompletableFuture<Object> existente = resultados.getIfPresent(clave);
+        if (Cancelacion.enCurso()) {
+            return (T) cargarCancelable(clave, existente, cargar);
+        }
+        if (existente == null) {
+            CompletableFuture<Object> nuevo = new CompletableFuture<>();
+            existente = resultados.asMap().putIfAbsent(clave, nuevo);
+            if (existente == null) {
+                return (T) cargarEn(clave, nuevo, cargar);
+            }
+        }
+        try {
+            return (T) existente.join();
+        } catch (CompletionException e) {
+            // La carga del otro hilo falló (y ya descartó la entrada)
+            throw e.getCause() instanceof RuntimeException causa ? causa : e;
+        }
+    }
+
+    /** Descarta todos los resultados, aquí y en los demás nodos. */
+    public void invalidar() {
+        generacion.incrementAndGet();
+        bus.publicar(REGION);
+    }
+
+    /**
+     * Descarta todos los resultados cuando la transacción actual confirma (o
+     * ya mismo, fuera de una transacción). Las consultas que se ejecutan
+     * mientras tanto usan la generación vieja y no quedan visibles después.
+     */
+    public void invalidarTrasCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidar();
+                }
+            });
+        } else {
+            invalidar();
+        }
+    }
+
+    /**
+     * Usa un resultado ya calculado o consulta por su cuenta, sin esperar la
+     * carga de otro hilo (esa espera no se podría cancelar) ni publicar la
+     * propia hasta que termine bien.
+     */
+    private Object cargarCancelable(Clave clave, CompletableFuture<Object> existente, Supplier<?> cargar) {
+        if (existente != null && existente.isDone() && !existente.isCompletedExceptionally()) {
+            return existente.join();
+        }
+        Object valor = cargar.get();
+        resultados.asMap().putIfAbsent(clave, CompletableFuture.completedFuture(valor));
+        return valor;
+    }
+
+    private Object cargarEn(Clave clave, CompletableFuture<Object> futuro, Supplier<?> cargar) {
+        try {
+            Object valor = cargar.get();
+            futuro.complete(valor);
+            return valor;
+        } catch (RuntimeException | Error e) {
+            resultados.asMap().remove(clave, futuro);
+            futuro.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /** La búsqueda no distingue mayúsculas ni espacios en los extremos. */
+    private static String normalizar(String filtro) {
+        return filtro == null ? "" : filtro.trim().toUpperCase(Locale.ROOT);
+    }
+}
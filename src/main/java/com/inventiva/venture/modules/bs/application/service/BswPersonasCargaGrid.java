@@ -0,0 +1,76 @@
+package com.inventiva.venture.modules.bs.application.service;
+
+import com.inventiva.venture.modules.bs.application.config.BswPersonasProperties;
+import com.inventiva.venture.persistence.Cancelacion;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hilos acotados para las páginas del grid de personas en modo asíncrono
+ * ({@code venture.bs.personas.grid.asincrono}). Son compartidos por todas las
+ * sesiones: limitan cuántas consultas del grid corren a la vez en el nodo,
+ * sin tener tomado el lock de ninguna sesión.
+ *
+ * No se expone como bean {@code Executor} para no reemplazar al
+ * {@code applicationTaskExecutor} de Spring Boot.
+ */
+@Component
+public class BswPersonasCargaGrid implements DisposableBean {
+
+    static final String NOMBRE = "grid-personas";
+
+    private final ThreadPoolExecutor hilos;
+    private final Counter rechazos;
+
+    public BswPersonasCargaGrid(BswPersonasProperties properties, MeterRegistry registry) {
+        BswPersonasProperties.Grid config = properties.getGrid();
+        this.hilos = new ThreadPoolExecutor(config.getHilosCarga(), config.getHilosCarga(),
+                60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(config.getPaginasEnCola()), new FabricaHilos());
+        this.hilos.allowCoreThreadTimeOut(true);
+        this.rechazos = Counter.builder("venture.bs.personas.grid.rechazos")
+                .description("Páginas del grid consultadas en el pedido por tener la cola llena")
+                .register(registry);
+        ExecutorServiceMetrics.monitor(registry, hilos, NOMBRE);
+    }
+
+    /**
+     * Ejecuta la consulta en otro hilo, cancelable con {@code cancelacion}.
+     * Con la cola llena lanza {@link RejectedExecutionException} sin encolarla.
+     */
+    public <T> CompletableFuture<T> consultar(Cancelacion cancelacion, Supplier<T> consulta) {
+        try {
+            return CompletableFuture.supplyAsync(() -> cancelacion.ejecutar(consulta), hilos);
+        } catch (RejectedExecutionException e) {
+            rechazos.increment();
+            throw e;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        hilos.shutdownNow();
+    }
+
+    private static final class FabricaHilos implements ThreadFactory {
+
+        private final AtomicInteger contador = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable tarea) {
+            Thread hilo = new Thread(tarea, NOMBRE + "-" + contador.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        }
+    }
+}
@@ -0,0 +1,499 @@
+package com.inventiva.venture.modules.bs.application.service;
+
+import com.inventiva.venture.cache.BusInvalidacion;
+import com.inventiva.venture.capacidad.SinCompartimento;
+import com.inventiva.venture.modules.bs.application.config.BswPersonasProperties;
+import com.inventiva.venture.modules.bs.domain.model.BswPersonas;
+import com.inventiva.venture.modules.bs.infrastructure.repository.BswPersonasBusqueda;
+import com.inventiva.venture.modules.bs.infrastructure.repository.BswPersonasRepository;
+import com.inventiva.venture.modules.bs.infrastructure.repository.BswPersonasTexto;
+import com.inventiva.venture.persistence.PersistenciaProperties;
+import com.inventiva.venture.utils.IndiceTrigramas;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Índice de trigramas en memoria sobre código y nombre de las personas
+ * ({@code venture.bs.personas.indice.habilitado}) para la búsqueda "contiene"
+ * ({@code *texto}, {@link BswPersonasBusqueda.Modo#CONTIENE}). Aplica la misma
+ * semántica que la consulta: mismos campos y solo mayúsculas, sin quitar
+ * acentos, como {@code UPPER(col) LIKE '%X%'}; así el resultado no depende de
+ * si el índice responde o no. Las búsquedas por prefijo y por palabras van
+ * siempre a la base de datos.
+ *
+ * Se construye en segundo plano al iniciar la aplicación recorriendo
+ * BSW_PERSONAS y se mantiene con {@link BswPersonasService#guardar} y
+ * {@link BswPersonasService#eliminar} (los cambios se aplican tras el commit).
+ * Los cambios de otros nodos llegan por el {@link BusInvalidacion} y provocan
+ * una reconstrucción cuando dejan de llegar avisos por
+ * {@code espera-reconstruccion} (o a lo sumo tras
+ * {@code espera-maxima-reconstruccion}): una importación en otro nodo avisa
+ * por cada lote y no debe recorrer la tabla por cada uno.
+ * Mientras no está listo, o si el texto es corto o muy poco selectivo,
+ * {@link #buscar} devuelve {@code null} y la búsqueda va a la base de datos.
+ *
+ * Además del texto normalizado guarda código y nombre tal cual, para ordenar
+ * y paginar las coincidencias en memoria ({@link Coincidencias}): el servicio
+ * pide a la base solo los ids de la página y el total sale del índice.
+ *
+ * Los ids de persona deben caber en un {@code int}; si aparece uno mayor el
+ * índice se descarta y las búsquedas van a la base de datos.
+ */
+@Slf4j
+@Component
+@SinCompartimento
+@ConditionalOnProperty(prefix = "venture.bs.personas.indice", name = "habilitado", havingValue = "true")
+public class BswPersonasIndice implements DisposableBean {
+
+    private final BswPersonasRepository repository;
+    private final TransactionTemplate transaccionLectura;
+    private final BswPersonasProperties properties;
+    private final int fetchSize;
+
+    private final ScheduledExecutorService planificador = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("venture-indice-personas").daemon().factory());
+
+    private volatile Contenido indice;
+    private volatile double segundosReconstruccion;
+
+    // Reconstrucción pedida por otro nodo, a la espera de que dejen de llegar avisos
+    private ScheduledFuture<?> programada;
+    private long primerAviso;
+
+    // Cambios recibidos durante una reconstrucción, para aplicarlos al índice nuevo
+    private final List<Consumer<Contenido>> pendientes = new ArrayList<>();
+    private boolean reconstruyendo;
+    // Se pidió otra reconstrucción mientras corría una: los datos leídos pueden ser viejos
+    private boolean repetir;
+
+    public BswPersonasIndice(BswPersonasRepository repository,
+            PlatformTransactionManager transactionManager,
+            BswPersonasProperties properties,
+            PersistenciaProperties persistencia,
+            BusInvalidacion bus,
+            MeterRegistry registry) {
+        this.repository = repository;
+        this.properties = properties;
+        this.fetchSize = persistencia.getFetch().getRecorridos();
+        this.transaccionLectura = new TransactionTemplate(transactionManager);
+        this.transaccionLectura.setReadOnly(true);
+        bus.suscribir(BswPersonasCache.REGION, this::programarReconstruccion);
+
+        Gauge.builder("venture.bs.personas.indice.memoria", this, BswPersonasIndice::memoriaEstimada)
+                .description("Memoria estimada del índice de búsqueda de personas")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("venture.bs.personas.indice.documentos", this, BswPersonasIndice::cantidadDocumentos)
+                .description("Personas en el índice de búsqueda")
+                .register(registry);
+        Gauge.builder("venture.bs.personas.indice.reconstruccion", this, i -> i.segundosReconstruccion)
+                .description("Duración de la última reconstrucción del índice de búsqueda")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    /**
+     * Reconstrucción asíncrona: al iniciar la aplicación y después de cambios
+     * que no pasan por JPA (importaciones con MERGE).
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruirEnSegundoPlano() {
+        reconstruir();
+    }
+
+    /**
+     * Posterga la reconstrucción hasta {@code espera-reconstruccion} después
+     * del último aviso, sin pasar de {@code espera-maxima-reconstruccion}
+     * desde el primero.
+     */
+    synchronized void programarReconstruccion() {
+        long ahora = System.nanoTime();
+        if (programada == null) {
+            primerAviso = ahora;
+        } else {
+            programada.cancel(false);
+        }
+        BswPersonasProperties.Indice config = properties.getIndice();
+        long restante = config.getEsperaMaximaReconstruccion().toNanos() - (ahora - primerAviso);
+        long demora = Math.max(0, Math.min(config.getEsperaReconstruccion().toNanos(), restante));
+        programada = planificador.schedule(() -> {
+            synchronized (this) {
+                programada = null;
+            }
+            reconstruir();
+        }, demora, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Construye un índice nuevo desde la base de datos y lo reemplaza al
+     * terminar; mientras tanto se sigue usando el anterior (si lo hay). Si se
+     * pide otra reconstrucción mientras corre una, se repite al terminar.
+     */
+    public void reconstruir() {
+        synchronized (this) {
+            if (reconstruyendo) {
+                repetir = true;
+                return;
+            }
+            reconstruyendo = true;
+        }
+        boolean terminado = false;
+        try {
+            while (!terminado) {
+                construir();
+                synchronized (this) {
+                    terminado = !repetir;
+                    repetir = false;
+                    if (terminado) {
+                        liberar();
+                    }
+                }
+            }
+        } finally {
+            if (!terminado) {
+                synchronized (this) {
+                    liberar();
+                }
+            }
+        }
+    }
+
+    private void liberar() {
+        pendientes.clear();
+        reconstruyendo = false;
+    }
+
+    private void construir() {
+        long inicio = System.nanoTime();
+        try {
+            Contenido nuevo = new Contenido();
+            transaccionLectura.executeWithoutResult(estado -> {
+                try (Stream<BswPersonasTexto> filas = repository.leerTextos(fetchSize)) {
+                    filas.forEach(fila -> nuevo.indexar(new Documento(Math.toIntExact(fila.id()),
+                            fila.codPersona(), fila.nombre())));
+                }
+            });
+            synchronized (this) {
+                pendientes.forEach(cambio -> cambio.accept(nuevo));
+                pendientes.clear();
+                indice = nuevo;
+            }
+            segundosReconstruccion = (System.nanoTime() - inicio) / 1_000_000_000.0;
+            log.info("Índice de búsqueda de personas: {} documentos en {} s",
+                    nuevo.trigramas.cantidadDocumentos(), segundosReconstruccion);
+        } catch (ArithmeticException e) {
+            descartar();
+        } catch (RuntimeException e) {
+            log.error("No se pudo construir el índice de búsqueda de personas", e);
+        }
+    }
+
+    /**
+     * Personas cuyo código o nombre contiene el texto de una búsqueda
+     * {@code *texto}, en el orden pedido, o {@code null} si el índice no puede
+     * responder (otro modo de búsqueda, índice no listo, texto corto,
+     * demasiados resultados u orden por otra propiedad que {@code id},
+     * {@code codPersona} o {@code nombre}).
+     */
+    public Coincidencias buscar(String filtro, Sort sort) {
+        Contenido actual = indice;
+        if (actual == null) {
+            return null;
+        }
+        BswPersonasBusqueda.Plan plan = BswPersonasBusqueda.planificar(filtro);
+        if (plan.modo() != BswPersonasBusqueda.Modo.CONTIENE) {
+            return null;
+        }
+        Comparator<Documento> orden = comparador(sort);
+        if (orden == null) {
+            return null;
+        }
+        int[] ids = actual.trigramas.buscar(plan.texto());
+        if (ids == null || ids.length > properties.getIndice().getMaxResultados()) {
+            return null;
+        }
+        Documento[] documentos = new Documento[ids.length];
+        int cantidad = 0;
+        for (int id : ids) {
+            Documento documento = actual.documentos.get(id);
+            if (documento != null) { // eliminado entre la búsqueda y la lectura
+                documentos[cantidad++] = documento;
+            }
+        }
+        documentos = Arrays.copyOf(documentos, cantidad);
+        Arrays.sort(documentos, orden);
+        return new Coincidencias(documentos, orden);
+    }
+
+    public void registrarGuardado(BswPersonas persona) {
+        if (!cabe(persona.getId())) {
+            descartarPorCambio();
+            return;
+        }
+        Documento documento = new Documento(Math.toIntExact(persona.getId()),
+                persona.getCodPersona(), persona.getNombre());
+        aplicarTrasCommit(i -> i.indexar(documento));
+    }
+
+    public void registrarEliminacion(Long id) {
+        if (!cabe(id)) {
+            descartarPorCambio();
+            return;
+        }
+        int clave = Math.toIntExact(id);
+        aplicarTrasCommit(i -> i.eliminar(clave));
+    }
+
+    /**
+     * Deja de responder (las búsquedas van a la base de datos): hay ids que no
+     * caben en un {@code int}.
+     */
+    private synchronized void descartar() {
+        if (indice != null || reconstruyendo) {
+            log.warn("Índice de búsqueda de personas descartado: hay ids mayores que {}", Integer.MAX_VALUE);
+        }
+        indice = null;
+        pendientes.clear();
+    }
+
+    /** Una reconstrucción en curso pudo leer antes del cambio: se repite y lo verá. */
+    private synchronized void descartarPorCambio() {
+        descartar();
+        if (reconstruyendo) {
+            repetir = true;
+        }
+    }
+
+    /**
+     * Reconstrucción en segundo plano cuando la transacción actual confirma (o
+     * ya mismo, fuera de una transacción), para escrituras masivas: no retiene
+     * un cambio por entidad hasta el commit.
+     */
+    public void reconstruirTrasCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    planificador.execute(BswPersonasIndice.this::reconstruir);
+                }
+            });
+        } else {
+            planificador.execute(this::reconstruir);
+        }
+    }
+
+    private void aplicarTrasCommit(Consumer<Contenido> cambio) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    aplicar(cambio);
+                }
+            });
+        } else {
+            aplicar(cambio);
+        }
+    }
+
+    private synchronized void aplicar(Consumer<Contenido> cambio) {
+        if (reconstruyendo) {
+            pendientes.add(cambio);
+        }
+        Contenido actual = indice;
+        if (actual != null) {
+            cambio.accept(actual);
+        }
+    }
+
+    private double memoriaEstimada() {
+        Contenido actual = indice;
+        return actual == null ? 0 : actual.memoriaEstimada();
+    }
+
+    private double cantidadDocumentos() {
+        Contenido actual = indice;
+        return actual == null ? 0 : actual.trigramas.cantidadDocumentos();
+    }
+
+    /**
+     * Orden de la consulta sobre los documentos, o {@code null} si incluye
+     * otra propiedad. Como Oracle por defecto: nulos al final en ascendente y
+     * al principio en descendente; las cadenas se comparan por código de
+     * carácter, como el orden BINARY.
+     */
+    static Comparator<Documento> comparador(Sort sort) {
+        Comparator<Documento> orden = null;
+        for (Sort.Order order : sort) {
+            if (order.isIgnoreCase()) {
+                return null;
+            }
+            Comparator<Documento> siguiente = switch (order.getProperty()) {
+                case "id" -> Comparator.comparingInt(Documento::id);
+                case "codPersona" -> Comparator.comparing(Documento::codPersona, nulos(order));
+                case "nombre" -> Comparator.comparing(Documento::nombre, nulos(order));
+                default -> null;
+            };
+            if (siguiente == null) {
+                return null;
+            }
+            siguiente = order.isDescending() ? siguiente.reversed() : siguiente;
+            orden = orden == null ? siguiente : orden.thenComparing(siguiente);
+        }
+        // Sin orden (conteos) o con empates: por id, orden total
+        Comparator<Documento> porId = Comparator.comparingInt(Documento::id);
+        return orden == null ? porId : orden.thenComparing(porId);
+    }
+
+    /** Ubicación de los nulos antes de invertir el orden en los descendentes. */
+    private static Comparator<String> nulos(Sort.Order order) {
+        boolean alFinal = switch (order.getNullHandling()) {
+            case NULLS_FIRST -> order.isDescending();
+            case NULLS_LAST -> order.isAscending();
+            case NATIVE -> true;
+        };
+        return alFinal
+                ? Comparator.nullsLast(Comparator.<String>naturalOrder())
+                : Comparator.nullsFirst(Comparator.<String>naturalOrder());
+    }
+
+    /** Como {@code UPPER(col)} en la consulta "contiene". */
+    private static String mayusculas(String texto) {
+        return texto.toUpperCase(Locale.ROOT);
+    }
+
+    private static boolean cabe(Long id) {
+        return id != null && id >= 0 && id <= Integer.MAX_VALUE;
+    }
+
+    @Override
+    public void destroy() {
+        planificador.shutdownNow();
+    }
+
+    /** Campos de una persona que el índice busca y por los que ordena. */
+    record Documento(int id, String codPersona, String nombre) {
+    }
+
+    /**
+     * Trigramas y documentos de una construcción del índice. Se reemplaza
+     * entero al reconstruir.
+     */
+    private static final class Contenido {
+
+        private final IndiceTrigramas trigramas = new IndiceTrigramas(BswPersonasIndice::mayusculas);
+        private final Map<Integer, Documento> documentos = new ConcurrentHashMap<>();
+
+        void indexar(Documento documento) {
+            trigramas.indexar(documento.id(), documento.codPersona(), documento.nombre());
+            documentos.put(documento.id(), documento);
+        }
+
+        void eliminar(int id) {
+            trigramas.eliminar(id);
+            documentos.remove(id);
+        }
+
+        long memoriaEstimada() {
+            long bytes = trigramas.memoriaEstimada();
+            for (Documento documento : documentos.values()) {
+                bytes += 64 + 32 + 80 + largo(documento.codPersona()) + largo(documento.nombre());
+            }
+            return bytes;
+        }
+
+        private static int largo(String texto) {
+            return texto == null ? 0 : texto.length();
+        }
+    }
+
+    /**
+     * Resultado de {@link #buscar(String, Sort)}: todas las coincidencias ya
+     * ordenadas. Se pagina por offset o a continuación de una clave (keyset).
+     */
+    public static final class Coincidencias {
+
+        private final Documento[] documentos;
+        private final Comparator<Documento> orden;
+
+        private Coincidencias(Documento[] documentos, Comparator<Documento> orden) {
+            this.documentos = documentos;
+            this.orden = orden;
+        }
+
+        public int total() {
+            return documentos.length;
+        }
+
+        /** Ids de las filas {@code [desde, desde + cantidad)} en el orden pedido. */
+        public List<Long> pagina(long desde, int cantidad) {
+            int inicio = (int) Math.min(desde, documentos.length);
+            return ids(inicio, Math.min(documentos.length, inicio + cantidad));
+        }
+
+        public List<Long> todas() {
+            return ids(0, documentos.length);
+        }
+
+        /**
+         * Hasta {@code cantidad} ids a continuación de la posición (keyset hacia
+         * adelante), cuyas claves son las propiedades del orden.
+         */
+        public List<Long> desde(KeysetScrollPosition posicion, int cantidad) {
+            if (posicion.isInitial()) {
+                return pagina(0, cantidad);
+            }
+            Map<String, ?> claves = posicion.getKeys();
+            Documento clave = new Documento(
+                    claves.get("id") instanceof Number id ? id.intValue() : 0,
+                    (String) claves.get("codPersona"),
+                    (String) claves.get("nombre"));
+            // Primera posición estrictamente posterior a la clave
+            int bajo = 0;
+            int alto = documentos.length;
+            while (bajo < alto) {
+                int medio = (bajo + alto) >>> 1;
+                if (orden.compare(documentos[medio], clave) <= 0) {
+                    bajo = medio + 1;
+                } else {
+                    alto = medio;
+                }
+            }
+            return pagina(bajo, cantidad);
+        }
+
+        private List<Long> ids(int desde, int hasta) {
+            List<Long> ids = new ArrayList<>(hasta - desde);
+            for (int i = desde; i < hasta; i++) {
+                ids.add((long) documentos[i].id());
+            }
+            return ids;
+        }
+    }
+}
@@ -1,41 +1,287 @@
 package com.inventiva.venture.modules.bs.application.service;
 
+import com.inventiva.venture.capacidad.SinCompartimento;
 import com.inventiva.venture.modules.bs.domain.model.BswPersonas;
+import com.inventiva.venture.modules.bs.infrastructure.repository.BswPersonasBusqueda;
+import com.inventiva.venture.modules.bs.infrastructure.repository.BswPersonasFilaExportacion;
 import com.inventiva.venture.modules.bs.infrastructure.repository.BswPersonasRepository;
+import com.inventiva.venture.modules.bs.infrastructure.repository.BswPersonasResumen;
+import com.inventiva.venture.observability.Medido;
+import com.inventiva.venture.persistence.PersistenciaProperties;
+import com.inventiva.venture.utils.MapSpecificationBuilder;
+import com.inventiva.venture.utils.ListasIn;
+import com.inventiva.venture.utils.MetricasFiltros;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
+@Medido(modulo = "bs", entidad = "personas")
 public class BswPersonasService {
 
+    /**
+     * Entidades por flush en {@link #guardarTodos(Iterable)}; múltiplo de
+     * {@code hibernate.jdbc.batch_size}.
+     */
+    public static final int TAMANO_LOTE_ESCRITURA = 500;
+
     private final BswPersonasRepository repository;
+    private final EntityManager entityManager;
+    private final ObjectProvider<BswPersonasIndice> indice;
+    private final BswPersonasCache cache;
+    private final PersistenciaProperties persistencia;
+    private final MetricasFiltros metricas;
+    private final ListasIn listasIn;
 
+    /**
+     * Búsqueda por código o nombre. El texto lo reescribe
+     * {@link BswPersonasBusqueda} a prefijos y palabras que resuelven índices;
+     * con {@code *} al inicio se busca en cualquier parte. Si el índice en
+     * memoria está habilitado y puede responder, se busca "contiene" en él:
+     * el índice ordena, pagina y da el total, y la base de datos solo trae
+     * por id las filas de la página.
+     */
     public Page<BswPersonas> listar(String filtro, Pageable pageable) {
-        String criterio = filtro == null ? "" : filtro.trim();
-        return repository.findByCodPersonaContainingIgnoreCaseOrNombreContainingIgnoreCase(
-                criterio,
-                criterio,
-                pageable);
+        BswPersonasIndice.Coincidencias coincidencias = coincidencias(filtro, pageable.getSort());
+        if (coincidencias == null) {
+            return repository.findAll(especificacion(filtro), pageable);
+        }
+        List<Long> ids = pageable.isPaged()
+                ? coincidencias.pagina(pageable.getOffset(), pageable.getPageSize())
+                : coincidencias.todas();
+        return new PageImpl<>(repository.findAll(porIds(ids), pageable.getSort()), pageable, coincidencias.total());
+    }
+
+    /**
+     * Página del grid sin COUNT (solo indica si hay más filas), con las
+     * columnas del grid en lugar de entidades: no se hidratan ni se registran
+     * en el contexto de persistencia. Los resultados se comparten entre
+     * usuarios ({@link BswPersonasCache}).
+     */
+    public Slice<BswPersonasResumen> listarResumenes(String filtro, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return buscarResumenes(filtro, pageable);
+        }
+        return cache.obtener("resumenes", filtro, pageable.getOffset(), pageable.getPageSize(), pageable.getSort(),
+                () -> buscarResumenes(filtro, pageable));
+    }
+
+    private Slice<BswPersonasResumen> buscarResumenes(String filtro, Pageable pageable) {
+        BswPersonasIndice.Coincidencias coincidencias = coincidencias(filtro, pageable.getSort());
+        if (coincidencias == null) {
+            return repository.buscarResumenes(especificacion(filtro), pageable);
+        }
+        if (pageable.isUnpaged()) {
+            return repository.buscarResumenes(porIds(coincidencias.todas()), pageable);
+        }
+        List<Long> ids = coincidencias.pagina(pageable.getOffset(), pageable.getPageSize());
+        List<BswPersonasResumen> filas = repository
+                .buscarResumenes(porIds(ids), Pageable.unpaged(pageable.getSort())).getContent();
+        return new SliceImpl<>(filas, pageable, pageable.getOffset() + ids.size() < coincidencias.total());
+    }
+
+    /**
+     * Variante keyset (seek) de {@link #listarResumenes}: busca a partir de la
+     * última clave vista en lugar de saltar filas, por lo que el costo no
+     * depende de la profundidad. Las propiedades del orden deben ser no nulas
+     * y terminar en {@code id}.
+     */
+    public List<BswPersonasResumen> listarResumenesKeyset(String filtro,
+            KeysetScrollPosition posicion,
+            int limite,
+            Sort sort) {
+        return cache.obtener("resumenesKeyset", filtro, posicion, limite, sort, () -> {
+            BswPersonasIndice.Coincidencias coincidencias = coincidencias(filtro, sort);
+            if (coincidencias == null) {
+                return List.copyOf(repository.buscarResumenesDesde(especificacion(filtro), posicion, limite, sort));
+            }
+            return repository.buscarResumenes(porIds(coincidencias.desde(posicion, limite)), Pageable.unpaged(sort))
+                    .getContent();
+        });
+    }
+
+    /**
+     * Entidad completa para editar una fila elegida en el grid. Los atributos
+     * lazy (dirección) se cargan aquí: la entidad se devuelve desasociada.
+     */
+    @Transactional(readOnly = true)
+    public Optional<BswPersonas> buscarPorId(Long id) {
+        Optional<BswPersonas> persona = repository.findById(id);
+        persona.ifPresent(BswPersonas::getDireccion);
+        return persona;
     }
 
     public long contar(String filtro) {
+        return cache.obtener("contar", filtro, null, 0, Sort.unsorted(), () -> {
+            BswPersonasIndice.Coincidencias coincidencias = coincidencias(filtro, Sort.unsorted());
+            return coincidencias != null
+                    ? (long) coincidencias.total()
+                    : repository.count(especificacion(filtro));
+        });
+    }
+
+    /**
+     * Recorre todas las personas del filtro en el orden dado con un cursor
+     * forward-only de solo lectura, entregando cada fila al consumidor sin
+     * crear entidades. La memoria no depende de la cantidad de filas.
+     *
+     * @return cantidad de filas recorridas
+     */
+    @Transactional(readOnly = true)
+    @SinCompartimento
+    public long recorrer(String filtro, Sort sort, Consumer<BswPersonasFilaExportacion> consumidor) {
+        long filas = 0;
+        BswPersonasIndice.Coincidencias coincidencias = coincidencias(filtro, Sort.unsorted());
+        Specification<BswPersonas> especificacion = coincidencias != null
+                ? porIds(coincidencias.todas())
+                : especificacion(filtro);
+        try (Stream<BswPersonasFilaExportacion> stream = repository.leerParaExportar(
+                especificacion, sort, persistencia.getFetch().getExportacion())) {
+            Iterator<BswPersonasFilaExportacion> iterador = stream.iterator();
+            while (iterador.hasNext()) {
+                consumidor.accept(iterador.next());
+                filas++;
+            }
+        }
+        return filas;
+    }
+
+    /**
+     * Total aproximado calculado fuera del hilo de la UI, sin ejecutar nunca
+     * un COUNT: sin filtro, las estadísticas de la tabla; con filtro, el
+     * total del índice en memoria si puede responder. Si no hay estimación
+     * barata devuelve {@code null} y el grid sigue con tamaño indefinido.
+     */
+    @Async
+    public CompletableFuture<Long> estimarTotal(String filtro) {
         String criterio = filtro == null ? "" : filtro.trim();
-        return repository.countByCodPersonaContainingIgnoreCaseOrNombreContainingIgnoreCase(
-                criterio,
-                criterio);
+        if (criterio.isEmpty()) {
+            return CompletableFuture.completedFuture(repository.estimarTotal());
+        }
+        BswPersonasIndice.Coincidencias coincidencias = coincidencias(criterio, Sort.unsorted());
+        return CompletableFuture.completedFuture(coincidencias != null ? (long) coincidencias.total() : null);
     }
 
     @Transactional
     public BswPersonas guardar(BswPersonas persona) {
-        return repository.save(persona);
+        boolean alta = persona.getId() == null;
+        BswPersonas guardada = repository.save(persona);
+        if (alta) {
+            repository.generarTokens(List.of(guardada.getId()));
+        }
+        indice.ifAvailable(i -> i.registrarGuardado(guardada));
+        cache.invalidarTrasCommit();
+        return guardada;
+    }
+
+    /**
+     * Alta o modificación masiva (sincronizaciones, importaciones). Cada
+     * {@link #TAMANO_LOTE_ESCRITURA} entidades se envía el lote a la base
+     * (INSERT/UPDATE por lotes JDBC) y se vacía el contexto de persistencia
+     * para que la memoria no crezca con el volumen. Las palabras de búsqueda
+     * de las altas se generan con una sentencia por lote; el índice en
+     * memoria no se actualiza por entidad sino que se reconstruye una vez tras
+     * el commit. Las entidades recibidas quedan desasociadas al terminar.
+     *
+     * @return cantidad de personas guardadas
+     */
+    @Transactional
+    @SinCompartimento
+    public int guardarTodos(Iterable<BswPersonas> personas) {
+        return guardarTodos(personas, TAMANO_LOTE_ESCRITURA);
+    }
+
+    @Transactional
+    @SinCompartimento
+    public int guardarTodos(Iterable<BswPersonas> personas, int tamanoLote) {
+        if (tamanoLote <= 0) {
+            throw new IllegalArgumentException("El tamaño de lote debe ser mayor a cero");
+        }
+        int cantidad = 0;
+        List<Long> altas = new ArrayList<>();
+        for (BswPersonas persona : personas) {
+            boolean alta = persona.getId() == null;
+            repository.save(persona);
+            if (alta) {
+                altas.add(persona.getId());
+            }
+            if (++cantidad % tamanoLote == 0) {
+                escribirLote(altas);
+            }
+        }
+        escribirLote(altas);
+        if (cantidad > 0) {
+            indice.ifAvailable(BswPersonasIndice::reconstruirTrasCommit);
+        }
+        cache.invalidarTrasCommit();
+        return cantidad;
+    }
+
+    /**
+     * Envía el lote y genera las palabras de búsqueda de sus altas con una
+     * sentencia por cada {@link ListasIn#MAX_EXPRESIONES} ids (el trigger no
+     * corre en los INSERT).
+     */
+    private void escribirLote(List<Long> altas) {
+        entityManager.flush();
+        for (int desde = 0; desde < altas.size(); desde += ListasIn.MAX_EXPRESIONES) {
+            repository.generarTokens(List.copyOf(
+                    altas.subList(desde, Math.min(desde + ListasIn.MAX_EXPRESIONES, altas.size()))));
+        }
+        altas.clear();
+        entityManager.clear();
     }
 
     @Transactional
     public void eliminar(Long id) {
         repository.deleteById(id);
+        indice.ifAvailable(i -> i.registrarEliminacion(id));
+        cache.invalidarTrasCommit();
+    }
+
+    /**
+     * Coincidencias del índice en memoria en el orden dado, o {@code null} si
+     * no está habilitado o no puede responder. Cuenta la búsqueda como
+     * {@code indice} ({@code venture.filtros.busquedas}).
+     */
+    private BswPersonasIndice.Coincidencias coincidencias(String filtro, Sort sort) {
+        BswPersonasIndice disponible = indice.getIfAvailable();
+        BswPersonasIndice.Coincidencias coincidencias = disponible != null ? disponible.buscar(filtro, sort) : null;
+        if (coincidencias != null) {
+            metricas.registrarBusqueda("personas", "indice");
+        }
+        return coincidencias;
+    }
+
+    /** Búsqueda en la base de datos; la cuenta por modo ({@code venture.filtros.busquedas}). */
+    private Specification<BswPersonas> especificacion(String filtro) {
+        BswPersonasBusqueda.Plan plan = BswPersonasBusqueda.planificar(filtro);
+        metricas.registrarBusqueda("personas", plan.modo().name());
+        return BswPersonasBusqueda.especificacion(plan);
+    }
+
+    /** Filas por id (las de una página del índice); las listas grandes van como arreglo. */
+    private Specification<BswPersonas> porIds(List<Long> ids) {
+        return new MapSpecificationBuilder<BswPersonas>(null, listasIn).build(Map.of("in:id", ids));
     }
 }
@@ -1,5 +1,6 @@
 package com.inventiva.venture.modules.bs.domain.model;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -12,6 +13,8 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Getter
 @Setter
@@ -20,8 +23,16 @@ import lombok.Setter;
 @Builder
 @Entity
 @Table(name = "BSW_PAISES", schema = "INV")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = BswPaises.REGION_CACHE)
 public class BswPaises {
-    @SequenceGenerator(name = "BSW_PAISES_SEQ", sequenceName = "BSW_PAISES_ID_SEQ", allocationSize = 1)
+    /** Región de la caché de segundo nivel (ver caffeine.conf). */
+    public static final String REGION_CACHE = "bsw-paises";
+
+    /** Región de la caché de consultas para el catálogo completo. */
+    public static final String REGION_CONSULTAS = "bsw-paises-consultas";
+
+    @SequenceGenerator(name = "BSW_PAISES_SEQ", sequenceName = "BSW_PAISES_ID_SEQ", allocationSize = 50)
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "BSW_PAISES_SEQ")
     @Id
     @Column(name = "ID")
@@ -1,23 +1,23 @@
 package com.inventiva.venture.modules.bs.domain.model;
 
+import com.inventiva.venture.persistence.IndicadorSiNo;
+import jakarta.persistence.Basic;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
-import jakarta.persistence.PostLoad;
-import jakarta.persistence.PrePersist;
-import jakarta.persistence.PreUpdate;
 import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
-import jakarta.persistence.Transient;
 import java.time.LocalDate;
-import java.util.Set;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.LazyGroup;
 
 @Getter
 @Setter
@@ -28,13 +28,11 @@ import lombok.Setter;
 @Table(name = "BSW_PERSONAS", schema = "INV")
 public class BswPersonas {
 
-    private static final Set<String> TRUE_VALUES = Set.of("S", "A");
-
     @Id
     @SequenceGenerator(
             name = "BSW_PERSONAS_SEQ",
             sequenceName = "bsw_personas_id_seq",
-            allocationSize = 1
+            allocationSize = 50 // = INCREMENT BY de la secuencia (V5), optimizador pooled-lo
     )
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "BSW_PERSONAS_SEQ")
     @Column(name = "ID")
@@ -49,6 +47,10 @@ public class BswPersonas {
     @Column(name = "RUC", length = 20)
     private String ruc;
 
+    // Lazy (requiere la mejora de bytecode del build): los listados usan
+    // proyecciones y la entidad solo la lee el formulario (ver buscarPorId)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("detalle")
     @Column(name = "DIRECCION", length = 250)
     private String direccion;
 
@@ -58,32 +60,7 @@ public class BswPersonas {
     @Column(name = "FEC_NACIMIENTO")
     private LocalDate fecNacimiento;
 
-    @Column(name = "ES_FISICA", length = 1)
-    private String esFisica;
-
-    @Transient
-    private boolean esFisicaAux;
-
-
-    @PostLoad
-    public void onPostLoad() {
-        esFisicaAux = toBoolean(esFisica);
-    }
-
-    @PrePersist
-    @PreUpdate
-    public void beforeSave() {
-        esFisica = fromBoolean(esFisicaAux, esFisica);
-    }
-
-    private boolean toBoolean(String value) {
-        return value != null && TRUE_VALUES.contains(value.toUpperCase());
-    }
-
-    private String fromBoolean(boolean flag, String currentValue) {
-        if (currentValue != null && (currentValue.equalsIgnoreCase("A") || currentValue.equalsIgnoreCase("I"))) {
-            return flag ? "A" : "I";
-        }
-        return flag ? "S" : "N";
-    }
+    @Convert(converter = IndicadorSiNo.class)
+    @Column(name = "ES_FISICA", length = 1, nullable = false)
+    private boolean esFisica;
 }
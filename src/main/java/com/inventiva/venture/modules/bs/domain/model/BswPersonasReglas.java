@@ -0,0 +1,57 @@
+package com.inventiva.venture.modules.bs.domain.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reglas de validación de personas, compartidas por el formulario
+ * ({@code FormBswPersonas}) y la importación masiva. Los largos coinciden con
+ * las columnas de BSW_PERSONAS.
+ */
+public final class BswPersonasReglas {
+
+    public static final int MAX_COD_PERSONA = 30;
+    public static final int MAX_NOMBRE = 150;
+    public static final int MAX_RUC = 20;
+    public static final int MAX_DIRECCION = 250;
+    public static final int MAX_TELEFONO = 50;
+
+    public static final String COD_OBLIGATORIO = "El código es obligatorio";
+    public static final String NOMBRE_OBLIGATORIO = "El nombre es obligatorio";
+
+    private BswPersonasReglas() {
+    }
+
+    public static boolean largoValido(String valor, int maximo) {
+        return valor == null || valor.length() <= maximo;
+    }
+
+    public static String mensajeMaximo(int maximo) {
+        return "Máximo " + maximo + " caracteres";
+    }
+
+    /**
+     * Errores de la persona ({@code "campo: mensaje"}); vacío si es válida.
+     */
+    public static List<String> validar(BswPersonas persona) {
+        List<String> errores = new ArrayList<>(2);
+        if (persona.getCodPersona() == null || persona.getCodPersona().isBlank()) {
+            errores.add("codPersona: " + COD_OBLIGATORIO);
+        }
+        if (persona.getNombre() == null || persona.getNombre().isBlank()) {
+            errores.add("nombre: " + NOMBRE_OBLIGATORIO);
+        }
+        largo(errores, "codPersona", persona.getCodPersona(), MAX_COD_PERSONA);
+        largo(errores, "nombre", persona.getNombre(), MAX_NOMBRE);
+        largo(errores, "ruc", persona.getRuc(), MAX_RUC);
+        largo(errores, "direccion", persona.getDireccion(), MAX_DIRECCION);
+        largo(errores, "telefono", persona.getTelefono(), MAX_TELEFONO);
+        return errores;
+    }
+
+    private static void largo(List<String> errores, String campo, String valor, int maximo) {
+        if (!largoValido(valor, maximo)) {
+            errores.add(campo + ": " + mensajeMaximo(maximo));
+        }
+    }
+}
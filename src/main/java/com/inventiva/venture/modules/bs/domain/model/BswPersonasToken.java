@@ -0,0 +1,51 @@
+package com.inventiva.venture.modules.bs.domain.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Palabra normalizada (mayúsculas, sin acentos) de NOMBRE o COD_PERSONA.
+ * Las altas las generan con una sentencia por lote
+ * {@code BswPersonasRepository.generarTokens} y
+ * {@code BswPersonasMergeJdbc.generarTokensFaltantes}; las modificaciones, el
+ * trigger TRG_BSW_PERSONAS_TOKENS, y las bajas, la FK con ON DELETE CASCADE.
+ * Desde JPA solo se consulta en subconsultas de búsqueda.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Immutable
+@Entity
+@Table(name = "BSW_PERSONAS_TOKENS", schema = "INV")
+@IdClass(BswPersonasToken.Clave.class)
+public class BswPersonasToken {
+
+    @Id
+    @Column(name = "TOKEN")
+    private String token;
+
+    @Id
+    @Column(name = "ID_PERSONA")
+    private Long idPersona;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Clave implements Serializable {
+        private String token;
+        private Long idPersona;
+    }
+}
@@ -0,0 +1,22 @@
+package com.inventiva.venture.modules.bs.infrastructure.repository;
+
+import com.inventiva.venture.modules.bs.domain.model.BswPaises;
+import jakarta.persistence.QueryHint;
+import java.util.List;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+
+public interface BswPaisesRepository extends JpaRepository<BswPaises, Long> {
+
+        /**
+         * Catálogo completo. Es la única consulta cacheable: el resultado queda
+         * en la región {@link BswPaises#REGION_CONSULTAS} de la caché de
+         * consultas de Hibernate y las filas en {@link BswPaises#REGION_CACHE}.
+         */
+        @QueryHints({
+                        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = BswPaises.REGION_CONSULTAS)
+        })
+        List<BswPaises> findAllByOrderByDescripcionAsc();
+}
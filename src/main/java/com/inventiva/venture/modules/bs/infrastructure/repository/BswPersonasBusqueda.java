@@ -0,0 +1,130 @@
+package com.inventiva.venture.modules.bs.infrastructure.repository;
+
+import com.inventiva.venture.modules.bs.domain.model.BswPersonas;
+import com.inventiva.venture.modules.bs.domain.model.BswPersonasToken;
+import com.inventiva.venture.utils.TextoBusqueda;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import java.util.List;
+import java.util.Locale;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Planificador de la búsqueda por código o nombre de personas.
+ *
+ * En lugar de {@code UPPER(col) LIKE '%X%'} (que siempre recorre la tabla),
+ * el texto se reescribe a predicados que resuelven índices:
+ * <ul>
+ * <li>{@link Modo#PREFIJO}: texto sin espacios con dígitos (un código). Usa
+ * {@code UPPER(COD_PERSONA) LIKE 'X%'} o {@code UPPER(NOMBRE) LIKE 'X%'}
+ * (índices IX_BSW_PERSONAS_UCOD / IX_BSW_PERSONAS_UNOMBRE).</li>
+ * <li>{@link Modo#TOKENS}: cada palabra debe ser el comienzo de alguna palabra
+ * del nombre o del código, sin distinguir acentos ("pena" encuentra "Peña").
+ * Se resuelve contra BSW_PERSONAS_TOKENS, que mantiene un trigger.</li>
+ * <li>{@link Modo#CONTIENE}: el texto empieza con {@code *}; búsqueda en
+ * cualquier parte como antes, sin índice.</li>
+ * </ul>
+ */
+public final class BswPersonasBusqueda {
+
+    /** Marca para pedir explícitamente la búsqueda "contiene". */
+    public static final String MARCA_CONTIENE = "*";
+
+    /** Palabras que se consideran; el resto no aporta selectividad. */
+    static final int MAX_TOKENS = 5;
+
+    private static final char ESCAPE = '\\';
+
+    public enum Modo {
+        TODOS, PREFIJO, TOKENS, CONTIENE
+    }
+
+    /**
+     * @param texto  texto en mayúsculas (para PREFIJO y CONTIENE)
+     * @param tokens palabras normalizadas (para TOKENS)
+     */
+    public record Plan(Modo modo, String texto, List<String> tokens) {
+    }
+
+    private BswPersonasBusqueda() {
+    }
+
+    public static Plan planificar(String filtro) {
+        String criterio = filtro == null ? "" : filtro.trim();
+        if (criterio.startsWith(MARCA_CONTIENE)) {
+            String resto = criterio.substring(MARCA_CONTIENE.length()).trim();
+            return resto.isEmpty()
+                    ? new Plan(Modo.TODOS, "", List.of())
+                    : new Plan(Modo.CONTIENE, resto.toUpperCase(Locale.ROOT), List.of());
+        }
+        if (criterio.isEmpty()) {
+            return new Plan(Modo.TODOS, "", List.of());
+        }
+        String texto = criterio.toUpperCase(Locale.ROOT);
+        List<String> tokens = TextoBusqueda.tokens(criterio);
+        if (tokens.isEmpty() || esCodigo(criterio)) {
+            return new Plan(Modo.PREFIJO, texto, List.of());
+        }
+        return new Plan(Modo.TOKENS, texto,
+                List.copyOf(tokens.subList(0, Math.min(tokens.size(), MAX_TOKENS))));
+    }
+
+    public static Specification<BswPersonas> especificacion(String filtro) {
+        return especificacion(planificar(filtro));
+    }
+
+    public static Specification<BswPersonas> especificacion(Plan plan) {
+        return (root, query, cb) -> switch (plan.modo()) {
+            case TODOS -> cb.conjunction();
+            case PREFIJO -> cb.or(
+                    cb.like(mayusculas(cb, root, "codPersona"), prefijo(plan.texto()), ESCAPE),
+                    cb.like(mayusculas(cb, root, "nombre"), prefijo(plan.texto()), ESCAPE));
+            case CONTIENE -> cb.or(
+                    cb.like(mayusculas(cb, root, "codPersona"), contiene(plan.texto()), ESCAPE),
+                    cb.like(mayusculas(cb, root, "nombre"), contiene(plan.texto()), ESCAPE));
+            case TOKENS -> cb.or(
+                    cb.like(mayusculas(cb, root, "codPersona"), prefijo(plan.texto()), ESCAPE),
+                    todosLosTokens(root, query, cb, plan.tokens()));
+        };
+    }
+
+    /**
+     * {@code ID IN (SELECT ID_PERSONA FROM BSW_PERSONAS_TOKENS WHERE TOKEN LIKE 't%')}
+     * por cada palabra; el rango sobre la PK (TOKEN, ID_PERSONA) no toca la
+     * tabla de personas.
+     */
+    private static Predicate todosLosTokens(Root<BswPersonas> root, CriteriaQuery<?> query,
+            CriteriaBuilder cb, List<String> tokens) {
+        Predicate[] predicados = new Predicate[tokens.size()];
+        for (int i = 0; i < predicados.length; i++) {
+            Subquery<Long> subquery = query.subquery(Long.class);
+            Root<BswPersonasToken> token = subquery.from(BswPersonasToken.class);
+            subquery.select(token.<Long>get("idPersona"))
+                    .where(cb.like(token.get("token"), prefijo(tokens.get(i)), ESCAPE));
+            predicados[i] = root.<Long>get("id").in(subquery);
+        }
+        return cb.and(predicados);
+    }
+
+    private static Expression<String> mayusculas(CriteriaBuilder cb, Root<BswPersonas> root, String atributo) {
+        return cb.upper(root.get(atributo));
+    }
+
+    private static String prefijo(String texto) {
+        return TextoBusqueda.escaparLike(texto) + "%";
+    }
+
+    private static String contiene(String texto) {
+        return "%" + TextoBusqueda.escaparLike(texto) + "%";
+    }
+
+    /** Una sola palabra (sin espacios) que incluye algún dígito. */
+    private static boolean esCodigo(String texto) {
+        return texto.chars().noneMatch(Character::isWhitespace)
+                && texto.chars().anyMatch(Character::isDigit);
+    }
+}
@@ -0,0 +1,49 @@
+package com.inventiva.venture.modules.bs.infrastructure.repository;
+
+import com.inventiva.venture.modules.bs.domain.model.BswPersonas;
+import java.util.List;
+import java.util.stream.Stream;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Consultas de personas que Spring Data no deriva por nombre de método
+ * (fragmento de {@link BswPersonasRepository}).
+ */
+public interface BswPersonasConsultas {
+
+        /**
+         * Página de resúmenes por offset, sin COUNT: trae {@code size + 1} filas
+         * para saber si hay más, en un solo round trip (fetch size de la página).
+         */
+        Slice<BswPersonasResumen> buscarResumenes(Specification<BswPersonas> especificacion, Pageable pageable);
+
+        /**
+         * Hasta {@code limite} resúmenes a continuación de {@code posicion}
+         * (keyset hacia adelante) en el orden dado, que debe terminar en una
+         * propiedad única y no nula.
+         */
+        List<BswPersonasResumen> buscarResumenesDesde(Specification<BswPersonas> especificacion,
+                        KeysetScrollPosition posicion,
+                        int limite,
+                        Sort sort);
+
+        /**
+         * Filas de exportación en streaming (cursor forward-only con el fetch
+         * size indicado). Requiere una transacción abierta mientras se consume
+         * el stream, que debe cerrarse.
+         */
+        Stream<BswPersonasFilaExportacion> leerParaExportar(Specification<BswPersonas> especificacion,
+                        Sort sort,
+                        int fetchSize);
+
+        /**
+         * Todas las personas (solo código y nombre) para construir el
+         * índice de búsqueda en memoria, con el fetch size indicado. Requiere
+         * una transacción abierta mientras se consume el stream.
+         */
+        Stream<BswPersonasTexto> leerTextos(int fetchSize);
+}
@@ -0,0 +1,177 @@
+package com.inventiva.venture.modules.bs.infrastructure.repository;
+
+import com.inventiva.venture.modules.bs.domain.model.BswPersonas;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+// Solo lectura, como los métodos de SimpleJpaRepository: con pool de lectura van a él
+@Transactional(readOnly = true)
+class BswPersonasConsultasImpl implements BswPersonasConsultas {
+
+    /**
+     * Tope del fetch size de una página: las páginas piden sus filas en un solo
+     * round trip y las más grandes que esto hacen varios.
+     */
+    static final int MAX_FETCH_PAGINA = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<BswPersonasResumen> buscarResumenes(Specification<BswPersonas> especificacion, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BswPersonasResumen> query = cb.createQuery(BswPersonasResumen.class);
+        Root<BswPersonas> root = query.from(BswPersonas.class);
+        filtrar(especificacion, root, query, cb, null);
+        query.select(resumen(root, cb));
+        ordenar(pageable.getSort(), root, query, cb);
+        return slice(soloLectura(entityManager.createQuery(query)), pageable);
+    }
+
+    @Override
+    public List<BswPersonasResumen> buscarResumenesDesde(Specification<BswPersonas> especificacion,
+            KeysetScrollPosition posicion,
+            int limite,
+            Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BswPersonasResumen> query = cb.createQuery(BswPersonasResumen.class);
+        Root<BswPersonas> root = query.from(BswPersonas.class);
+        Predicate despuesDe = posicion.isInitial() ? null : despuesDe(posicion.getKeys(), sort, root, cb);
+        filtrar(especificacion, root, query, cb, despuesDe);
+        query.select(resumen(root, cb));
+        ordenar(sort, root, query, cb);
+        return soloLectura(entityManager.createQuery(query))
+                .setMaxResults(limite)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchPagina(limite))
+                .getResultList();
+    }
+
+    @Override
+    public Stream<BswPersonasFilaExportacion> leerParaExportar(Specification<BswPersonas> especificacion,
+            Sort sort,
+            int fetchSize) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BswPersonasFilaExportacion> query = cb.createQuery(BswPersonasFilaExportacion.class);
+        Root<BswPersonas> root = query.from(BswPersonas.class);
+        filtrar(especificacion, root, query, cb, null);
+        query.select(cb.construct(BswPersonasFilaExportacion.class,
+                root.get("id"),
+                root.get("codPersona"),
+                root.get("nombre"),
+                root.get("ruc"),
+                root.get("direccion"),
+                root.get("telefono"),
+                root.get("fecNacimiento"),
+                root.get("esFisica")));
+        ordenar(sort, root, query, cb);
+        return soloLectura(entityManager.createQuery(query))
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+
+    @Override
+    public Stream<BswPersonasTexto> leerTextos(int fetchSize) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BswPersonasTexto> query = cb.createQuery(BswPersonasTexto.class);
+        Root<BswPersonas> root = query.from(BswPersonas.class);
+        query.select(cb.construct(BswPersonasTexto.class,
+                root.get("id"),
+                root.get("codPersona"),
+                root.get("nombre")));
+        return soloLectura(entityManager.createQuery(query))
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+
+    private static CompoundSelection<BswPersonasResumen> resumen(Root<BswPersonas> root, CriteriaBuilder cb) {
+        return cb.construct(BswPersonasResumen.class,
+                root.get("id"),
+                root.get("codPersona"),
+                root.get("nombre"),
+                root.get("ruc"),
+                root.get("direccion"),
+                root.get("telefono"),
+                root.get("fecNacimiento"));
+    }
+
+    private static void filtrar(Specification<BswPersonas> especificacion, Root<BswPersonas> root,
+            CriteriaQuery<?> query, CriteriaBuilder cb, Predicate adicional) {
+        Predicate predicado = especificacion.toPredicate(root, query, cb);
+        if (predicado != null && adicional != null) {
+            query.where(predicado, adicional);
+        } else if (predicado != null || adicional != null) {
+            query.where(predicado != null ? predicado : adicional);
+        }
+    }
+
+    private static void ordenar(Sort sort, Root<BswPersonas> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+    }
+
+    /**
+     * Filas posteriores a la clave vista en el orden dado:
+     * {@code (a > :a) OR (a = :a AND b > :b) OR ...}, con {@code <} en las
+     * propiedades descendentes.
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    static Predicate despuesDe(Map<String, ?> claves, Sort sort, Root<?> root, CriteriaBuilder cb) {
+        List<Sort.Order> ordenes = sort.toList();
+        List<Predicate> alternativas = new ArrayList<>(ordenes.size());
+        for (int i = 0; i < ordenes.size(); i++) {
+            List<Predicate> condiciones = new ArrayList<>(i + 1);
+            for (int j = 0; j < i; j++) {
+                String anterior = ordenes.get(j).getProperty();
+                condiciones.add(cb.equal(root.get(anterior), claves.get(anterior)));
+            }
+            Sort.Order orden = ordenes.get(i);
+            Expression ruta = root.get(orden.getProperty());
+            Comparable valor = (Comparable) claves.get(orden.getProperty());
+            condiciones.add(orden.isAscending() ? cb.greaterThan(ruta, valor) : cb.lessThan(ruta, valor));
+            alternativas.add(cb.and(condiciones.toArray(new Predicate[0])));
+        }
+        return cb.or(alternativas.toArray(new Predicate[0]));
+    }
+
+    private static <R> TypedQuery<R> soloLectura(TypedQuery<R> consulta) {
+        return consulta.setHint(HibernateHints.HINT_READ_ONLY, true);
+    }
+
+    private static <R> Slice<R> slice(TypedQuery<R> consulta, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(consulta.getResultList(), pageable, false);
+        }
+        consulta.setFirstResult(Math.toIntExact(pageable.getOffset()));
+        consulta.setMaxResults(pageable.getPageSize() + 1);
+        consulta.setHint(HibernateHints.HINT_FETCH_SIZE, fetchPagina(pageable.getPageSize() + 1));
+        List<R> filas = consulta.getResultList();
+        boolean hayMas = filas.size() > pageable.getPageSize();
+        return new SliceImpl<>(hayMas ? filas.subList(0, pageable.getPageSize()) : filas, pageable, hayMas);
+    }
+
+    /** Fetch size para traer una página de {@code filas} en un round trip (con tope). */
+    static int fetchPagina(int filas) {
+        return Math.max(1, Math.min(filas, MAX_FETCH_PAGINA));
+    }
+}
@@ -0,0 +1,17 @@
+package com.inventiva.venture.modules.bs.infrastructure.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Fila de exportación de personas: columnas leídas directamente del cursor,
+ * sin entidad administrada ni snapshot para dirty checking.
+ */
+public record BswPersonasFilaExportacion(Long id,
+        String codPersona,
+        String nombre,
+        String ruc,
+        String direccion,
+        String telefono,
+        LocalDate fecNacimiento,
+        boolean esFisica) {
+}
@@ -0,0 +1,125 @@
+package com.inventiva.venture.modules.bs.infrastructure.repository;
+
+import com.inventiva.venture.modules.bs.domain.model.BswPersonas;
+import com.inventiva.venture.persistence.IndicadorSiNo;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Alta o actualización masiva de personas por la clave única COD_PERSONA
+ * (UK_BSW_PERSONAS_COD) con un MERGE de Oracle ejecutado en batch JDBC.
+ *
+ * Los ids se toman de bsw_personas_id_seq con el mismo esquema que Hibernate
+ * (pooled-lo, INCREMENT BY 50): un NEXTVAL entrega un bloque de 50 ids. Las
+ * filas que terminan en UPDATE no usan el id asignado. Las palabras de
+ * búsqueda de las altas se generan al final ({@link #generarTokensFaltantes}).
+ */
+@Repository
+@RequiredArgsConstructor
+public class BswPersonasMergeJdbc {
+
+    static final int BLOQUE_IDS = 50;
+
+    private static final String SIGUIENTE_BLOQUE = "SELECT INV.bsw_personas_id_seq.NEXTVAL FROM DUAL";
+
+    private static final String MERGE = """
+            MERGE INTO INV.BSW_PERSONAS p
+            USING (SELECT ? AS ID, ? AS COD_PERSONA, ? AS NOMBRE, ? AS RUC, ? AS DIRECCION,
+                          ? AS TELEFONO, ? AS FEC_NACIMIENTO, ? AS ES_FISICA
+                     FROM DUAL) s
+               ON (p.COD_PERSONA = s.COD_PERSONA)
+             WHEN MATCHED THEN UPDATE SET
+                  p.NOMBRE = s.NOMBRE,
+                  p.RUC = s.RUC,
+                  p.DIRECCION = s.DIRECCION,
+                  p.TELEFONO = s.TELEFONO,
+                  p.FEC_NACIMIENTO = s.FEC_NACIMIENTO,
+                  p.ES_FISICA = s.ES_FISICA
+             WHEN NOT MATCHED THEN INSERT
+                  (ID, COD_PERSONA, NOMBRE, RUC, DIRECCION, TELEFONO, FEC_NACIMIENTO, ES_FISICA)
+                  VALUES (s.ID, s.COD_PERSONA, s.NOMBRE, s.RUC, s.DIRECCION, s.TELEFONO,
+                          s.FEC_NACIMIENTO, s.ES_FISICA)
+            """;
+
+    private static final String TOKENS_FALTANTES = """
+            INSERT INTO INV.BSW_PERSONAS_TOKENS (TOKEN, ID_PERSONA)
+            SELECT DISTINCT SUBSTR(T.COLUMN_VALUE, 1, 150), P.ID
+              FROM INV.BSW_PERSONAS P,
+                   TABLE(INV.BSW_TOKENS_BUSQUEDA(P.NOMBRE || ' ' || P.COD_PERSONA)) T
+             WHERE NOT EXISTS (SELECT 1 FROM INV.BSW_PERSONAS_TOKENS K WHERE K.ID_PERSONA = P.ID)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Ejecuta el MERGE de todas las personas en un solo batch. Debe llamarse
+     * desde un único hilo (los ids reservados no se comparten entre hilos).
+     */
+    public void merge(List<BswPersonas> personas, GeneradorIds ids) {
+        jdbcTemplate.batchUpdate(MERGE, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                BswPersonas persona = personas.get(i);
+                ps.setLong(1, ids.siguiente());
+                ps.setString(2, persona.getCodPersona());
+                ps.setString(3, persona.getNombre());
+                ps.setString(4, persona.getRuc());
+                ps.setString(5, persona.getDireccion());
+                ps.setString(6, persona.getTelefono());
+                if (persona.getFecNacimiento() != null) {
+                    ps.setDate(7, Date.valueOf(persona.getFecNacimiento()));
+                } else {
+                    ps.setNull(7, Types.DATE);
+                }
+                ps.setString(8, IndicadorSiNo.columna(persona.isEsFisica()));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return personas.size();
+            }
+        });
+    }
+
+    /**
+     * Palabras de búsqueda de todas las personas que no las tienen, en una
+     * sola sentencia: el trigger de BSW_PERSONAS_TOKENS no corre en las altas
+     * del MERGE. Se llama al terminar la carga; si una carga se corta, la
+     * siguiente completa las que falten.
+     *
+     * @return cantidad de palabras agregadas
+     */
+    public int generarTokensFaltantes() {
+        return jdbcTemplate.update(TOKENS_FALTANTES);
+    }
+
+    public GeneradorIds generadorIds() {
+        return new GeneradorIds();
+    }
+
+    /** Reparte los ids de cada bloque reservado en la secuencia. */
+    public final class GeneradorIds {
+
+        private long siguiente;
+        private long limite;
+
+        private GeneradorIds() {
+        }
+
+        long siguiente() {
+            if (siguiente >= limite) {
+                Long inicio = jdbcTemplate.queryForObject(SIGUIENTE_BLOQUE, Long.class);
+                siguiente = inicio;
+                limite = inicio + BLOQUE_IDS;
+            }
+            return siguiente++;
+        }
+    }
+}
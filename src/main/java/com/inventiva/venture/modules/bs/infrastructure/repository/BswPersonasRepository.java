@@ -1,11 +1,18 @@
 package com.inventiva.venture.modules.bs.infrastructure.repository;
 
 import com.inventiva.venture.modules.bs.domain.model.BswPersonas;
+import java.util.Collection;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
-public interface BswPersonasRepository extends JpaRepository<BswPersonas, Long> {
+public interface BswPersonasRepository extends JpaRepository<BswPersonas, Long>,
+                JpaSpecificationExecutor<BswPersonas>, BswPersonasConsultas {
 
         Page<BswPersonas> findByCodPersonaContainingIgnoreCaseOrNombreContainingIgnoreCase(
                         String cod,
@@ -15,4 +22,30 @@ public interface BswPersonasRepository extends JpaRepository<BswPersonas, Long>
         long countByCodPersonaContainingIgnoreCaseOrNombreContainingIgnoreCase(
                         String cod,
                         String nombre);
+
+        /**
+         * Total aproximado según las estadísticas del optimizador de Oracle
+         * ({@code NUM_ROWS}); {@code null} si la tabla no fue analizada.
+         */
+        @Query(value = "SELECT NUM_ROWS FROM ALL_TABLES WHERE OWNER = 'INV' AND TABLE_NAME = 'BSW_PERSONAS'",
+                        nativeQuery = true)
+        @Transactional(readOnly = true)
+        Long estimarTotal();
+
+        /**
+         * Palabras de búsqueda (BSW_PERSONAS_TOKENS) de las personas recién
+         * insertadas, en una sola sentencia; el trigger solo las mantiene en
+         * las modificaciones. Las que ya tienen palabras no cambian. Hasta
+         * {@code ListasIn.MAX_EXPRESIONES} ids por llamada.
+         */
+        @Modifying(flushAutomatically = true)
+        @Query(value = """
+                        INSERT INTO INV.BSW_PERSONAS_TOKENS (TOKEN, ID_PERSONA)
+                        SELECT DISTINCT SUBSTR(T.COLUMN_VALUE, 1, 150), P.ID
+                          FROM INV.BSW_PERSONAS P,
+                               TABLE(INV.BSW_TOKENS_BUSQUEDA(P.NOMBRE || ' ' || P.COD_PERSONA)) T
+                         WHERE P.ID IN (:ids)
+                           AND NOT EXISTS (SELECT 1 FROM INV.BSW_PERSONAS_TOKENS K WHERE K.ID_PERSONA = P.ID)
+                        """, nativeQuery = true)
+        int generarTokens(@Param("ids") Collection<Long> ids);
 }
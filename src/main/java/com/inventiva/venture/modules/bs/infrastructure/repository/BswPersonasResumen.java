@@ -0,0 +1,18 @@
+package com.inventiva.venture.modules.bs.infrastructure.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Modelo de lectura del grid de personas: solo las columnas visibles más el
+ * id. Se arma con una consulta de constructor, sin entidad administrada
+ * (sin snapshot ni callbacks {@code @PostLoad}). La entidad completa se
+ * carga por id al abrir el formulario.
+ */
+public record BswPersonasResumen(Long id,
+        String codPersona,
+        String nombre,
+        String ruc,
+        String direccion,
+        String telefono,
+        LocalDate fecNacimiento) {
+}
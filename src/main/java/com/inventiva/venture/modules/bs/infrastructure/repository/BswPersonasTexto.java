@@ -0,0 +1,7 @@
+package com.inventiva.venture.modules.bs.infrastructure.repository;
+
+/**
+ * Campos de texto de una persona para el índice de búsqueda en memoria.
+ */
+public record BswPersonasTexto(Long id, String codPersona, String nombre) {
+}
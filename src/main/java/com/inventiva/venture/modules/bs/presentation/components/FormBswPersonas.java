@@ -1,6 +1,13 @@
 package com.inventiva.venture.modules.bs.presentation.components;
 
+import static com.inventiva.venture.modules.bs.domain.model.BswPersonasReglas.MAX_COD_PERSONA;
+import static com.inventiva.venture.modules.bs.domain.model.BswPersonasReglas.MAX_DIRECCION;
+import static com.inventiva.venture.modules.bs.domain.model.BswPersonasReglas.MAX_NOMBRE;
+import static com.inventiva.venture.modules.bs.domain.model.BswPersonasReglas.MAX_RUC;
+import static com.inventiva.venture.modules.bs.domain.model.BswPersonasReglas.MAX_TELEFONO;
+
 import com.inventiva.venture.modules.bs.domain.model.BswPersonas;
+import com.inventiva.venture.modules.bs.domain.model.BswPersonasReglas;
 import com.vaadin.flow.component.ComponentEvent;
 import com.vaadin.flow.component.ComponentEventListener;
 import com.vaadin.flow.component.button.Button;
@@ -27,7 +34,7 @@ public class FormBswPersonas extends FormLayout {
     private final TextField direccion = new TextField("Dirección");
     private final TextField telefono = new TextField("Teléfono");
     private final DatePicker fecNacimiento = new DatePicker("Fecha de nacimiento");
-    private final Checkbox esFisicaAux = new Checkbox("Persona física");
+    private final Checkbox esFisica = new Checkbox("Persona física");
 
     private final Button save = new Button("Guardar");
     private final Button delete = new Button("Eliminar");
@@ -41,7 +48,7 @@ public class FormBswPersonas extends FormLayout {
         configureFields();
         configureBinder();
         add(codPersona, nombre, ruc, direccion, telefono, fecNacimiento,
-                esFisicaAux,
+                esFisica,
                 createButtonsLayout());
     }
 
@@ -52,7 +59,7 @@ public class FormBswPersonas extends FormLayout {
         direccion.setId("direccion");
         telefono.setId("telefono");
         fecNacimiento.setId("fecNacimiento");
-        esFisicaAux.setId("esFisicaAux");
+        esFisica.setId("esFisica");
 
         codPersona.setRequiredIndicatorVisible(true);
         nombre.setRequiredIndicatorVisible(true);
@@ -62,34 +69,34 @@ public class FormBswPersonas extends FormLayout {
 
     private void configureBinder() {
         binder.forField(codPersona)
-                .asRequired("El código es obligatorio")
-                .withValidator(value -> value != null && value.length() <= 30,
-                        "Máximo 30 caracteres")
+                .asRequired(BswPersonasReglas.COD_OBLIGATORIO)
+                .withValidator(value -> value != null && BswPersonasReglas.largoValido(value, MAX_COD_PERSONA),
+                        BswPersonasReglas.mensajeMaximo(MAX_COD_PERSONA))
                 .bind(BswPersonas::getCodPersona, BswPersonas::setCodPersona);
 
         binder.forField(nombre)
-                .asRequired("El nombre es obligatorio")
-                .withValidator(value -> value != null && value.length() <= 150,
-                        "Máximo 150 caracteres")
+                .asRequired(BswPersonasReglas.NOMBRE_OBLIGATORIO)
+                .withValidator(value -> value != null && BswPersonasReglas.largoValido(value, MAX_NOMBRE),
+                        BswPersonasReglas.mensajeMaximo(MAX_NOMBRE))
                 .bind(BswPersonas::getNombre, BswPersonas::setNombre);
 
         binder.forField(ruc)
-                .withValidator(value -> value == null || value.length() <= 20,
-                        "Máximo 20 caracteres")
+                .withValidator(value -> BswPersonasReglas.largoValido(value, MAX_RUC),
+                        BswPersonasReglas.mensajeMaximo(MAX_RUC))
                 .bind(BswPersonas::getRuc, BswPersonas::setRuc);
 
         binder.forField(direccion)
-                .withValidator(value -> value == null || value.length() <= 250,
-                        "Máximo 250 caracteres")
+                .withValidator(value -> BswPersonasReglas.largoValido(value, MAX_DIRECCION),
+                        BswPersonasReglas.mensajeMaximo(MAX_DIRECCION))
                 .bind(BswPersonas::getDireccion, BswPersonas::setDireccion);
 
         binder.forField(telefono)
-                .withValidator(value -> value == null || value.length() <= 50,
-                        "Máximo 50 caracteres")
+                .withValidator(value -> BswPersonasReglas.largoValido(value, MAX_TELEFONO),
+                        BswPersonasReglas.mensajeMaximo(MAX_TELEFONO))
                 .bind(BswPersonas::getTelefono, BswPersonas::setTelefono);
 
         binder.bind(fecNacimiento, BswPersonas::getFecNacimiento, BswPersonas::setFecNacimiento);
-        binder.bind(esFisicaAux, BswPersonas::isEsFisicaAux, BswPersonas::setEsFisicaAux);        
+        binder.bind(esFisica, BswPersonas::isEsFisica, BswPersonas::setEsFisica);
     }
 
     private HorizontalLayout createButtonsLayout() {
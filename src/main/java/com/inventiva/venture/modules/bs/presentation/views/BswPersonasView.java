@@ -1,47 +1,91 @@
 package com.inventiva.venture.modules.bs.presentation.views;
 
+import com.inventiva.venture.capacidad.SistemaOcupadoException;
+import com.inventiva.venture.modules.bs.application.config.BswPersonasProperties;
+import com.inventiva.venture.modules.bs.application.config.BswPersonasProperties.ModoConteo;
+import com.inventiva.venture.modules.bs.application.exportacion.BswPersonasExportador;
+import com.inventiva.venture.modules.bs.application.exportacion.FormatoExportacion;
+import com.inventiva.venture.modules.bs.application.service.BswPersonasCargaGrid;
 import com.inventiva.venture.modules.bs.application.service.BswPersonasService;
 import com.inventiva.venture.modules.bs.domain.model.BswPersonas;
+import com.inventiva.venture.modules.bs.infrastructure.repository.BswPersonasResumen;
 import com.inventiva.venture.modules.bs.presentation.components.FormBswPersonas;
 import com.inventiva.venture.modules.bs.presentation.components.FormBswPersonas.CloseEvent;
 import com.inventiva.venture.modules.bs.presentation.components.FormBswPersonas.DeleteEvent;
 import com.inventiva.venture.modules.bs.presentation.components.FormBswPersonas.SaveEvent;
 import com.inventiva.venture.ui.MainLayout;
+import com.inventiva.venture.ui.ManejadorErrores;
+import com.inventiva.venture.utils.KeysetPaginator;
+import com.vaadin.flow.component.AttachEvent;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.grid.Grid;
 import com.vaadin.flow.component.grid.GridVariant;
+import com.vaadin.flow.component.html.Anchor;
 import com.vaadin.flow.component.notification.Notification;
 import com.vaadin.flow.component.orderedlayout.FlexLayout;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.component.textfield.TextField;
-import com.vaadin.flow.data.provider.CallbackDataProvider;
 import com.vaadin.flow.data.provider.Query;
 import com.vaadin.flow.data.provider.SortDirection;
 import com.vaadin.flow.data.value.ValueChangeMode;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
+import com.vaadin.flow.shared.communication.PushMode;
+import com.vaadin.flow.server.StreamResource;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Stream;
-import org.springframework.data.domain.Page;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 
+@Slf4j
 @PageTitle("Personas")
 @Route(value = "BswPersonas", layout = MainLayout.class)
 public class BswPersonasView extends VerticalLayout {
 
+    // Propiedades NOT NULL por las que se puede buscar por clave (keyset)
+    private static final Set<String> ORDEN_KEYSET = Set.of("id", "codPersona", "nombre");
+    private static final int MAX_FILAS_AVANCE = 500;
+
     private final BswPersonasService service;
-    private final Grid<BswPersonas> grid = new Grid<>(BswPersonas.class, false);
+    private final BswPersonasExportador exportador;
+    private final ModoConteo modoConteo;
+    // El grid muestra resúmenes; la entidad se carga al seleccionar una fila
+    private final Grid<BswPersonasResumen> grid = new Grid<>();
     private final TextField filtro = new TextField("Filtrar por código o nombre");
     private final FormBswPersonas form = new FormBswPersonas();
+    private final KeysetPaginator<BswPersonasResumen> paginador =
+            new KeysetPaginator<>(BswPersonasView::valorOrden, MAX_FILAS_AVANCE);
+    // Páginas consultadas fuera del lock de la sesión (null si grid.asincrono está apagado)
+    private final CargaAsincrona<BswPersonasResumen> carga;
 
     private String currentFilter = "";
+    // Último orden pedido por el grid; la exportación respeta el mismo orden
+    private Sort ordenActual = Sort.by(Sort.Direction.DESC, "id");
+    private int versionFiltro;
+    private boolean conteoSolicitado;
 
-    public BswPersonasView(BswPersonasService service) {
+    public BswPersonasView(BswPersonasService service,
+            BswPersonasExportador exportador,
+            BswPersonasProperties propiedades,
+            BswPersonasCargaGrid cargaGrid) {
         this.service = service;
+        this.exportador = exportador;
+        boolean asincrono = propiedades.getGrid().isAsincrono();
+        // El conteo exacto bloquearía el pedido igual que las páginas
+        this.modoConteo = asincrono && propiedades.getGrid().getConteo() == ModoConteo.EXACTO
+                ? ModoConteo.ESTIMADO
+                : propiedades.getGrid().getConteo();
+        this.carga = asincrono
+                ? new CargaAsincrona<>(cargaGrid::consultar, BswPersonasView::marcador,
+                        () -> grid.getDataProvider().refreshAll(), this::errorDeCarga)
+                : null;
         setSizeFull();
         setSpacing(true);
         setPadding(true);
@@ -49,10 +93,29 @@ public class BswPersonasView extends VerticalLayout {
         configureGrid();
         configureForm();
         add(createToolbar(), createContent());
+        if (carga != null) {
+            addDetachListener(event -> carga.reiniciar());
+        }
+        // Filas y totales calculados en otro hilo solo llegan al navegador por push
+        if (carga != null || modoConteo == ModoConteo.ESTIMADO) {
+            addAttachListener(this::activarPush);
+        }
+    }
+
+    private static void activarPush(AttachEvent event) {
+        // Sin sesión (vista creada fuera de un pedido) no hay canal que abrir
+        if (event.getSession() != null
+                && event.getUI().getPushConfiguration().getPushMode() != PushMode.AUTOMATIC) {
+            event.getUI().getPushConfiguration().setPushMode(PushMode.AUTOMATIC);
+        }
     }
 
     private HorizontalLayout createToolbar() {
         filtro.setPlaceholder("Buscar...");
+        // El índice en memoria (venture.bs.personas.indice) solo atiende las búsquedas con *;
+        // los códigos y las palabras van siempre a la base. El RUC no se busca en ningún modo.
+        filtro.setHelperText("Código, o palabras del nombre (no RUC). "
+                + "Con * al inicio busca en cualquier parte del código o del nombre.");
         filtro.setClearButtonVisible(true);
         filtro.setValueChangeMode(ValueChangeMode.LAZY);
         filtro.addValueChangeListener(event -> {
@@ -64,12 +127,41 @@ public class BswPersonasView extends VerticalLayout {
         newPersona.addThemeVariants(ButtonVariant.LUMO_PRIMARY);
         newPersona.addClickListener(event -> newPersona());
 
-        HorizontalLayout toolbar = new HorizontalLayout(filtro, newPersona);
+        HorizontalLayout toolbar = new HorizontalLayout(filtro, newPersona,
+                createExportLink(FormatoExportacion.CSV), createExportLink(FormatoExportacion.XLSX));
         toolbar.setWidthFull();
         toolbar.setAlignItems(Alignment.END);
         return toolbar;
     }
 
+    /**
+     * Descarga del filtro actual. El archivo se genera mientras se envía al
+     * navegador, leyendo las filas con un cursor.
+     */
+    private Anchor createExportLink(FormatoExportacion formato) {
+        StreamResource recurso = new StreamResource("personas." + formato.getExtension(),
+                (salida, session) -> {
+                    String filtroExportado;
+                    Sort ordenExportado;
+                    // El writer corre sin el lock de la sesión
+                    session.lock();
+                    try {
+                        filtroExportado = currentFilter;
+                        ordenExportado = ordenActual;
+                    } finally {
+                        session.unlock();
+                    }
+                    exportador.exportar(filtroExportado, ordenExportado, formato, salida);
+                });
+        recurso.setContentType(formato.getTipoMime());
+        recurso.setCacheTime(0);
+
+        Anchor enlace = new Anchor(recurso, "");
+        enlace.getElement().setAttribute("download", true);
+        enlace.add(new Button("Exportar " + formato.name()));
+        return enlace;
+    }
+
     private FlexLayout createContent() {
         FlexLayout content = new FlexLayout(grid, form);
         content.setFlexGrow(2, grid);
@@ -81,29 +173,96 @@ public class BswPersonasView extends VerticalLayout {
     }
 
     private void configureGrid() {
-        grid.addColumn(BswPersonas::getCodPersona).setHeader("Código").setAutoWidth(true);
-        grid.addColumn(BswPersonas::getNombre).setHeader("Nombre").setAutoWidth(true);
-        grid.addColumn(BswPersonas::getRuc).setHeader("RUC").setAutoWidth(true);
-        grid.addColumn(BswPersonas::getDireccion).setHeader("Dirección").setAutoWidth(true);
-        grid.addColumn(BswPersonas::getTelefono).setHeader("Teléfono").setAutoWidth(true);
-        grid.addColumn(persona -> persona.getFecNacimiento() != null ? persona.getFecNacimiento().toString() : "")
+        grid.addColumn(BswPersonasResumen::codPersona).setHeader("Código").setAutoWidth(true)
+                .setSortProperty("codPersona");
+        grid.addColumn(BswPersonasResumen::nombre).setHeader("Nombre").setAutoWidth(true)
+                .setSortProperty("nombre");
+        grid.addColumn(BswPersonasResumen::ruc).setHeader("RUC").setAutoWidth(true);
+        grid.addColumn(BswPersonasResumen::direccion).setHeader("Dirección").setAutoWidth(true);
+        grid.addColumn(BswPersonasResumen::telefono).setHeader("Teléfono").setAutoWidth(true);
+        grid.addColumn(persona -> persona.fecNacimiento() != null ? persona.fecNacimiento().toString() : "")
                 .setHeader("Fecha de nacimiento");       
         grid.addThemeVariants(GridVariant.LUMO_ROW_STRIPES);
         grid.setSizeFull();
 
-        CallbackDataProvider<BswPersonas, Void> dataProvider = new CallbackDataProvider<>(
-                query -> fetch(query, currentFilter),
-                query -> count(currentFilter));
-        grid.setDataProvider(dataProvider);
+        if (modoConteo == ModoConteo.EXACTO) {
+            grid.setItems(query -> fetch(query, currentFilter), query -> count(currentFilter));
+        } else {
+            // Tamaño indefinido: el grid pide páginas hasta recibir menos filas que el límite
+            grid.setItems(query -> fetch(query, currentFilter));
+        }
 
         grid.asSingleSelect().addValueChangeListener(event -> editPersona(event.getValue()));
     }
 
-    private Stream<BswPersonas> fetch(Query<BswPersonas, Void> query, String filter) {
+    private Stream<BswPersonasResumen> fetch(Query<BswPersonasResumen, Void> query, String filter) {
         String criterio = filter == null ? "" : filter.trim();
-        Pageable pageable = createPageable(query);
-        Page<BswPersonas> page = service.listar(criterio, pageable);
-        return page.stream();
+        Sort sort = createSort(query);
+        ordenActual = sort;
+        List<BswPersonasResumen> filas = carga != null
+                ? carga.obtener(query.getOffset(), query.getLimit(), List.of(criterio, sort),
+                        (offset, limite) -> consultar(criterio, offset, limite, sort))
+                : consultar(criterio, query.getOffset(), query.getLimit(), sort);
+        if (query.getOffset() == 0 && modoConteo == ModoConteo.ESTIMADO) {
+            completarConteo(criterio);
+        }
+        return filas.stream();
+    }
+
+    /** Consulta a la base; en modo asíncrono corre fuera del lock de la sesión. */
+    private List<BswPersonasResumen> consultar(String criterio, int offset, int limite, Sort sort) {
+        if (!admiteKeyset(sort)) {
+            return service.listarResumenes(criterio, createPageable(offset, limite, sort)).getContent();
+        }
+        return paginador.paginar(offset, limite, sort,
+                (posicion, cantidad) -> service.listarResumenesKeyset(criterio, posicion, cantidad, sort),
+                (desde, cantidad) -> service.listarResumenes(criterio,
+                        createPageable(desde, cantidad, sort)).getContent());
+    }
+
+    /** Fila provisoria mientras se carga la posición; ids negativos, nunca de la base. */
+    private static BswPersonasResumen marcador(int fila) {
+        return new BswPersonasResumen(-(fila + 1L), "", "Cargando…", null, null, null, null);
+    }
+
+    private static boolean esMarcador(BswPersonasResumen resumen) {
+        return resumen.id() != null && resumen.id() < 0;
+    }
+
+    private void errorDeCarga(Throwable error) {
+        // Sin refrescar: la página se vuelve a pedir al desplazarse o cambiar el filtro
+        if (SistemaOcupadoException.esCausa(error)) {
+            log.warn("Página del grid de personas rechazada: {}", error.getMessage());
+            ManejadorErrores.avisarOcupado();
+            return;
+        }
+        log.warn("No se pudo cargar la página del grid de personas", error);
+        Notification.show("No se pudieron cargar las personas", 3000, Notification.Position.MIDDLE);
+    }
+
+    /**
+     * Con la primera página ya en pantalla, calcula el total en segundo plano
+     * y lo aplica como estimación del tamaño del grid (llega por push, que la
+     * vista activa al adjuntarse en este modo).
+     */
+    private void completarConteo(String criterio) {
+        UI ui = UI.getCurrent();
+        if (ui == null || conteoSolicitado) {
+            return;
+        }
+        conteoSolicitado = true;
+        int version = versionFiltro;
+        service.estimarTotal(criterio).whenComplete((total, error) -> {
+            try {
+                ui.access(() -> {
+                    if (error == null && total != null && total > 0 && version == versionFiltro) {
+                        grid.getLazyDataView().setItemCountEstimate((int) Math.min(total, Integer.MAX_VALUE));
+                    }
+                });
+            } catch (UIDetachedException ignored) {
+                // El usuario ya dejó la vista
+            }
+        });
     }
 
     private int count(String filter) {
@@ -111,9 +270,13 @@ public class BswPersonasView extends VerticalLayout {
         return (int) service.contar(criterio);
     }
 
-    private Pageable createPageable(Query<BswPersonas, Void> query) {
-        int page = query.getOffset() / query.getLimit();
+    // Estáticos y visibles en el paquete para el benchmark de paginado (benchmarks/)
+    static Pageable createPageable(int offset, int limit, Sort sort) {
+        int page = offset / limit;
+        return PageRequest.of(page, limit, sort);
+    }
 
+    static Sort createSort(Query<BswPersonasResumen, Void> query) {
         List<Sort.Order> orders = query.getSortOrders().stream()
                 .map(order -> new Sort.Order(
                         order.getDirection() == SortDirection.ASCENDING ? Sort.Direction.ASC : Sort.Direction.DESC,
@@ -121,11 +284,27 @@ public class BswPersonasView extends VerticalLayout {
                 .toList();
 
         // Si el usuario no ordenó desde la UI, usamos id DESC por defecto
-        Sort sort = orders.isEmpty()
-                ? Sort.by(Sort.Direction.DESC, "id") // nombre del campo en la entidad (tienes getId()n)
-                : Sort.by(orders);
+        if (orders.isEmpty()) {
+            return Sort.by(Sort.Direction.DESC, "id"); // nombre del campo en la entidad (tienes getId()n)
+        }
+        // Desempate por id para que el orden sea total (requerido por keyset)
+        Sort sort = Sort.by(orders);
+        return sort.getOrderFor("id") != null
+                ? sort
+                : sort.and(Sort.by(orders.get(orders.size() - 1).getDirection(), "id"));
+    }
 
-        return PageRequest.of(page, query.getLimit(), sort);
+    private boolean admiteKeyset(Sort sort) {
+        return sort.stream().allMatch(order -> ORDEN_KEYSET.contains(order.getProperty()))
+                && sort.stream().filter(order -> !"id".equals(order.getProperty())).count() <= 1;
+    }
+
+    private static Object valorOrden(BswPersonasResumen persona, String propiedad) {
+        return switch (propiedad) {
+            case "codPersona" -> persona.codPersona();
+            case "nombre" -> persona.nombre();
+            default -> persona.id();
+        };
     }
 
     private void configureForm() {
@@ -153,14 +332,21 @@ public class BswPersonasView extends VerticalLayout {
         form.addListener(CloseEvent.class, event -> closeEditor());
     }
 
-    private void editPersona(BswPersonas persona) {
-        if (persona == null) {
+    private void editPersona(BswPersonasResumen resumen) {
+        if (resumen == null || esMarcador(resumen)) {
             closeEditor();
-        } else {
+            return;
+        }
+        service.buscarPorId(resumen.id()).ifPresentOrElse(persona -> {
             form.setPersona(persona);
             form.setVisible(true);
             addClassName("editing");
-        }
+        }, () -> {
+            // Eliminada por otro usuario desde que se cargó la página
+            Notification.show("La persona ya no existe", 3000, Notification.Position.MIDDLE);
+            closeEditor();
+            refreshGrid();
+        });
     }
 
     private void newPersona() {
@@ -171,6 +357,15 @@ public class BswPersonasView extends VerticalLayout {
     }
 
     private void refreshGrid() {
+        paginador.reiniciar();
+        if (carga != null) {
+            carga.reiniciar();
+        }
+        versionFiltro++;
+        conteoSolicitado = false;
+        if (modoConteo != ModoConteo.EXACTO) {
+            grid.getLazyDataView().setItemCountUnknown();
+        }
         grid.getDataProvider().refreshAll();
     }
 
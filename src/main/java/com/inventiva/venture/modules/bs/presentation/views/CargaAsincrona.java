@@ -0,0 +1,168 @@
+package com.inventiva.venture.modules.bs.presentation.views;
+
+import com.inventiva.venture.persistence.Cancelacion;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Filas de un grid lazy cargadas fuera del lock de la sesión.
+ *
+ * El grid pide filas con el lock tomado; si ya están cargadas se devuelven y,
+ * si no, se lanza la consulta en segundo plano y se devuelven marcadores
+ * ("Cargando…"). Al llegar el resultado se guarda y, dentro de
+ * {@link UI#access}, se avisa con {@code alLlegar} para que el grid vuelva a
+ * pedir las filas (el push las envía al navegador).
+ *
+ * Las filas se guardan por posición, de modo que los rangos que pide el grid
+ * no necesitan coincidir con los consultados. Cambiar la forma de la consulta
+ * (filtro, orden) o llamar a {@link #reiniciar()} descarta las filas y cancela
+ * las consultas en curso con {@code Statement.cancel()}.
+ *
+ * Se usa solo desde el hilo que tiene el lock de la sesión.
+ */
+final class CargaAsincrona<T> {
+
+    /** Filas guardadas como máximo; se descartan las más lejanas a la última carga. */
+    static final int MAX_FILAS = 2_000;
+
+    @FunctionalInterface
+    interface Consulta<T> {
+        List<T> consultar(int offset, int limite);
+    }
+
+    /** Corre la consulta en otro hilo; con la cola llena lanza {@link RejectedExecutionException}. */
+    @FunctionalInterface
+    interface Ejecutor<T> {
+        CompletableFuture<List<T>> consultar(Cancelacion cancelacion, Supplier<List<T>> consulta);
+    }
+
+    private final Ejecutor<T> ejecutor;
+    private final IntFunction<T> marcador;
+    private final Runnable alLlegar;
+    private final Consumer<Throwable> alFallar;
+
+    private final NavigableMap<Integer, T> filas = new TreeMap<>();
+    private final Map<Integer, Cancelacion> enCurso = new HashMap<>();
+    private Object forma;
+    private int fin = Integer.MAX_VALUE;
+    private int version;
+
+    /**
+     * @param marcador fila provisoria para una posición (con identidad propia)
+     * @param alLlegar se llama con el lock de la sesión cuando llegan filas
+     * @param alFallar se llama con el lock de la sesión si una consulta falla
+     */
+    CargaAsincrona(Ejecutor<T> ejecutor, IntFunction<T> marcador, Runnable alLlegar, Consumer<Throwable> alFallar) {
+        this.ejecutor = ejecutor;
+        this.marcador = marcador;
+        this.alLlegar = alLlegar;
+        this.alFallar = alFallar;
+    }
+
+    /**
+     * Filas {@code [offset, offset + limite)} para la consulta con la forma
+     * dada; las que todavía no llegaron se devuelven como marcadores.
+     */
+    List<T> obtener(int offset, int limite, Object forma, Consulta<T> consulta) {
+        if (!Objects.equals(forma, this.forma)) {
+            reiniciar();
+            this.forma = forma;
+        }
+        int hasta = Math.min(offset + limite, fin);
+        if (hasta <= offset) {
+            return List.of();
+        }
+        if (completas(offset, hasta)) {
+            return new ArrayList<>(filas.subMap(offset, hasta).values());
+        }
+
+        UI ui = UI.getCurrent();
+        if (ui == null) {
+            return consulta.consultar(offset, limite);
+        }
+        if (!enCurso.containsKey(offset)) {
+            try {
+                lanzar(ui, offset, limite, consulta);
+            } catch (RejectedExecutionException e) {
+                // Sin lugar en la cola: se consulta aquí, como sin carga asíncrona
+                List<T> resultado = consulta.consultar(offset, limite);
+                guardar(offset, limite, resultado);
+                return resultado;
+            }
+        }
+        List<T> provisorias = new ArrayList<>(hasta - offset);
+        for (int i = offset; i < hasta; i++) {
+            T fila = filas.get(i);
+            provisorias.add(fila != null ? fila : marcador.apply(i));
+        }
+        return provisorias;
+    }
+
+    /** Descarta las filas cargadas y cancela las consultas en curso. */
+    void reiniciar() {
+        version++;
+        enCurso.values().forEach(Cancelacion::cancelar);
+        enCurso.clear();
+        filas.clear();
+        fin = Integer.MAX_VALUE;
+    }
+
+    private void lanzar(UI ui, int offset, int limite, Consulta<T> consulta) {
+        int versionPedido = version;
+        Cancelacion cancelacion = new Cancelacion();
+        CompletableFuture<List<T>> resultado =
+                ejecutor.consultar(cancelacion, () -> consulta.consultar(offset, limite));
+        enCurso.put(offset, cancelacion);
+        resultado.whenComplete((pagina, error) -> acceder(ui, () -> {
+            if (versionPedido != version) {
+                return; // Otro filtro u orden: la consulta ya fue cancelada
+            }
+            enCurso.remove(offset);
+            if (error != null) {
+                if (!cancelacion.isCancelada()) {
+                    alFallar.accept(error);
+                }
+                return;
+            }
+            guardar(offset, limite, pagina);
+            alLlegar.run();
+        }));
+    }
+
+    private void guardar(int offset, int limite, List<T> pagina) {
+        for (int i = 0; i < pagina.size(); i++) {
+            filas.put(offset + i, pagina.get(i));
+        }
+        if (pagina.size() < limite) {
+            fin = Math.min(fin, offset + pagina.size());
+        }
+        while (filas.size() > MAX_FILAS) {
+            boolean primeraMasLejos = offset - filas.firstKey() > filas.lastKey() - offset;
+            filas.remove(primeraMasLejos ? filas.firstKey() : filas.lastKey());
+        }
+    }
+
+    private boolean completas(int desde, int hasta) {
+        return filas.subMap(desde, hasta).size() == hasta - desde;
+    }
+
+    private static void acceder(UI ui, Runnable tarea) {
+        try {
+            ui.access(tarea::run);
+        } catch (UIDetachedException e) {
+            // La vista ya no está en pantalla
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.inventiva.venture.observability;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Registra en {@link EsperaConexiones} cuánto tarda el pool en entregar cada
+ * conexión y, si {@code medirSentencias}, entrega conexiones que alimentan
+ * {@link EstadisticasSql}. Las métricas propias de Hikari siguen disponibles:
+ * Spring Boot desenvuelve los {@link DelegatingDataSource}.
+ */
+public class DataSourceMedido extends DelegatingDataSource {
+
+    private final boolean medirSentencias;
+
+    public DataSourceMedido(DataSource destino) {
+        this(destino, false);
+    }
+
+    public DataSourceMedido(DataSource destino, boolean medirSentencias) {
+        super(destino);
+        this.medirSentencias = medirSentencias;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long inicio = System.nanoTime();
+        Connection conexion;
+        try {
+            conexion = super.getConnection();
+        } finally {
+            EsperaConexiones.sumar(System.nanoTime() - inicio);
+        }
+        return medirSentencias ? JdbcMedido.conexion(conexion) : conexion;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        long inicio = System.nanoTime();
+        Connection conexion;
+        try {
+            conexion = super.getConnection(username, password);
+        } finally {
+            EsperaConexiones.sumar(System.nanoTime() - inicio);
+        }
+        return medirSentencias ? JdbcMedido.conexion(conexion) : conexion;
+    }
+}
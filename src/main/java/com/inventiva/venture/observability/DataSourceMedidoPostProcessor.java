@@ -0,0 +1,34 @@
+package com.inventiva.venture.observability;
+
+import com.inventiva.venture.persistence.DataSourceEnrutado;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Envuelve los {@link DataSource} de la aplicación en {@link DataSourceMedido}
+ * (con estadísticas de sentencias según {@code venture.observabilidad.sql.habilitado}).
+ * Con pool de lectura se mide cada pool y no el {@link DataSourceEnrutado}.
+ */
+@Component
+public class DataSourceMedidoPostProcessor implements BeanPostProcessor, EnvironmentAware {
+
+    private boolean medirSentencias;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        medirSentencias = environment.getProperty("venture.observabilidad.sql.habilitado", Boolean.class, false);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource
+                && !(bean instanceof DataSourceMedido)
+                && !(bean instanceof DataSourceEnrutado)) {
+            return new DataSourceMedido(dataSource, medirSentencias);
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,23 @@
+package com.inventiva.venture.observability;
+
+/**
+ * Tiempo que cada hilo pasó esperando conexiones del pool, acumulado por
+ * {@link DataSourceMedido}. Quien quiera atribuirlo a una operación toma el
+ * total al empezar y al terminar y registra la diferencia.
+ */
+public final class EsperaConexiones {
+
+    private static final ThreadLocal<long[]> NANOS = ThreadLocal.withInitial(() -> new long[1]);
+
+    private EsperaConexiones() {
+    }
+
+    /** Total acumulado por el hilo actual, en nanosegundos. */
+    public static long total() {
+        return NANOS.get()[0];
+    }
+
+    static void sumar(long nanos) {
+        NANOS.get()[0] += nanos;
+    }
+}
@@ -0,0 +1,108 @@
+package com.inventiva.venture.observability;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sentencias SQL ejecutadas durante un pedido (HTTP o Vaadin) en el hilo
+ * actual: cantidad, tiempo de JDBC, filas leídas, round trips de fetch
+ * estimados y detalle por texto SQL.
+ * La abre y la cierra {@link EstadisticasSqlFilter}; fuera de un pedido
+ * {@link #actual()} es {@code null} y no se registra nada.
+ */
+public final class EstadisticasSql {
+
+    /** Textos SQL distintos que se detallan por pedido; el resto solo suma. */
+    static final int MAX_SENTENCIAS_DISTINTAS = 200;
+
+    private static final ThreadLocal<EstadisticasSql> ACTUAL = new ThreadLocal<>();
+
+    /** Ejecuciones y tiempo de un mismo texto SQL. */
+    static final class PorSentencia {
+        int veces;
+        long nanos;
+    }
+
+    private final Map<String, PorSentencia> porSentencia = new HashMap<>();
+    private int sentencias;
+    private long nanos;
+    private long filas;
+    private long viajes;
+    private String origen;
+
+    static EstadisticasSql iniciar() {
+        EstadisticasSql estadisticas = new EstadisticasSql();
+        ACTUAL.set(estadisticas);
+        return estadisticas;
+    }
+
+    static void terminar() {
+        ACTUAL.remove();
+    }
+
+    public static EstadisticasSql actual() {
+        return ACTUAL.get();
+    }
+
+    /**
+     * Primer método de servicio ({@link Medido}) llamado en el pedido; los
+     * siguientes no lo reemplazan.
+     */
+    static void marcarOrigen(String metodo) {
+        EstadisticasSql estadisticas = ACTUAL.get();
+        if (estadisticas != null && estadisticas.origen == null) {
+            estadisticas.origen = metodo;
+        }
+    }
+
+    void registrarEjecucion(String sql, long duracion) {
+        sentencias++;
+        nanos += duracion;
+        if (sql == null) {
+            return;
+        }
+        PorSentencia detalle = porSentencia.get(sql);
+        if (detalle == null) {
+            if (porSentencia.size() >= MAX_SENTENCIAS_DISTINTAS) {
+                return;
+            }
+            detalle = new PorSentencia();
+            porSentencia.put(sql, detalle);
+        }
+        detalle.veces++;
+        detalle.nanos += duracion;
+    }
+
+    void registrarFila() {
+        filas++;
+    }
+
+    void registrarViaje() {
+        viajes++;
+    }
+
+    public int getSentencias() {
+        return sentencias;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    public long getFilas() {
+        return filas;
+    }
+
+    /** Round trips de fetch después del execute, estimados con el fetch size de cada cursor. */
+    public long getViajes() {
+        return viajes;
+    }
+
+    public String getOrigen() {
+        return origen;
+    }
+
+    Map<String, PorSentencia> getPorSentencia() {
+        return porSentencia;
+    }
+}
@@ -0,0 +1,37 @@
+package com.inventiva.venture.observability;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Abre {@link EstadisticasSql} durante cada pedido HTTP, incluidos los de
+ * Vaadin (UIDL), y las entrega a {@link MonitorSql} al terminar.
+ */
+@Component
+@ConditionalOnProperty(prefix = "venture.observabilidad.sql", name = "habilitado", havingValue = "true")
+public class EstadisticasSqlFilter extends OncePerRequestFilter {
+
+    private final MonitorSql monitor;
+
+    public EstadisticasSqlFilter(MonitorSql monitor) {
+        this.monitor = monitor;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        EstadisticasSql estadisticas = EstadisticasSql.iniciar();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            EstadisticasSql.terminar();
+            monitor.evaluar(estadisticas, request.getMethod() + " " + request.getRequestURI());
+        }
+    }
+}
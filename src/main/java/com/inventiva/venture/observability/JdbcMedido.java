@@ -0,0 +1,148 @@
+package com.inventiva.venture.observability;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Proxies JDBC que alimentan {@link EstadisticasSql}: cada {@code execute*}
+ * de una sentencia suma su texto y duración, y cada {@code ResultSet.next()}
+ * con fila suma una fila leída. Con el fetch size del {@code ResultSet} se
+ * estiman los round trips de fetch posteriores al execute (el driver trae
+ * {@code fetchSize} filas por viaje). Sin estadísticas abiertas en el hilo
+ * solo delegan.
+ */
+final class JdbcMedido {
+
+    private static final ClassLoader CARGADOR = JdbcMedido.class.getClassLoader();
+
+    private JdbcMedido() {
+    }
+
+    static Connection conexion(Connection destino) {
+        return (Connection) Proxy.newProxyInstance(CARGADOR, new Class<?>[] { Connection.class },
+                new Conexion(destino));
+    }
+
+    private static Object invocar(Object destino, Method metodo, Object[] args) throws Throwable {
+        try {
+            return metodo.invoke(destino, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static final class Conexion implements InvocationHandler {
+
+        private final Connection destino;
+
+        Conexion(Connection destino) {
+            this.destino = destino;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            Object resultado = invocar(destino, metodo, args);
+            if (resultado instanceof Statement sentencia) {
+                String sql = metodo.getName().startsWith("prepare") && args != null && args[0] instanceof String s
+                        ? s
+                        : null;
+                return sentencia((Connection) proxy, sentencia, sql);
+            }
+            return resultado;
+        }
+    }
+
+    private static Statement sentencia(Connection conexion, Statement destino, String sql) {
+        Class<?> tipo = destino instanceof CallableStatement ? CallableStatement.class
+                : destino instanceof PreparedStatement ? PreparedStatement.class
+                : Statement.class;
+        return (Statement) Proxy.newProxyInstance(CARGADOR, new Class<?>[] { tipo },
+                new Sentencia(conexion, destino, sql));
+    }
+
+    private static final class Sentencia implements InvocationHandler {
+
+        private final Connection conexion;
+        private final Statement destino;
+        private final String sql;
+
+        Sentencia(Connection conexion, Statement destino, String sql) {
+            this.conexion = conexion;
+            this.destino = destino;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            String nombre = metodo.getName();
+            if ("getConnection".equals(nombre)) {
+                return conexion;
+            }
+            EstadisticasSql estadisticas = EstadisticasSql.actual();
+            if (estadisticas == null) {
+                return invocar(destino, metodo, args);
+            }
+            Object resultado;
+            if (nombre.startsWith("execute")) {
+                String texto = args != null && args.length > 0 && args[0] instanceof String s ? s : sql;
+                long inicio = System.nanoTime();
+                try {
+                    resultado = invocar(destino, metodo, args);
+                } finally {
+                    estadisticas.registrarEjecucion(texto, System.nanoTime() - inicio);
+                }
+            } else {
+                resultado = invocar(destino, metodo, args);
+            }
+            if (resultado instanceof ResultSet filas) {
+                return Proxy.newProxyInstance(CARGADOR, new Class<?>[] { ResultSet.class }, new Filas(filas));
+            }
+            return resultado;
+        }
+    }
+
+    private static final class Filas implements InvocationHandler {
+
+        private final ResultSet destino;
+        private int llamadas;
+        private int porViaje;
+
+        Filas(ResultSet destino) {
+            this.destino = destino;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            Object resultado = invocar(destino, metodo, args);
+            if ("next".equals(metodo.getName())) {
+                EstadisticasSql estadisticas = EstadisticasSql.actual();
+                if (estadisticas != null) {
+                    contar(estadisticas, Boolean.TRUE.equals(resultado));
+                }
+            }
+            return resultado;
+        }
+
+        private void contar(EstadisticasSql estadisticas, boolean hayFila) throws SQLException {
+            if (llamadas++ == 0) {
+                porViaje = Math.max(1, destino.getFetchSize());
+            }
+            // El execute trae las primeras filas; la siguiente tanda (o saber que
+            // no hay más tras una tanda completa) es otro viaje
+            if (llamadas > 1 && (llamadas - 1) % porViaje == 0) {
+                estadisticas.registrarViaje();
+            }
+            if (hayFila) {
+                estadisticas.registrarFila();
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.inventiva.venture.observability;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.util.Collection;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Component;
+
+/**
+ * Métricas de los servicios anotados con {@link Medido}:
+ * <ul>
+ * <li>{@code venture.servicio.llamadas}: duración (con histograma para
+ * percentiles), etiquetada además con {@code excepcion}.</li>
+ * <li>{@code venture.servicio.filas}: filas devueltas por las consultas que
+ * devuelven páginas, ventanas o listas.</li>
+ * <li>{@code venture.servicio.conexion.espera}: tiempo esperando conexiones de
+ * {@code venture-hikari} durante la llamada.</li>
+ * </ul>
+ * Corre por fuera de {@code @Transactional}, así la espera incluye la conexión
+ * que toma la transacción. Los métodos asíncronos no se miden aquí. El primer
+ * método medido de un pedido queda como origen de sus {@link EstadisticasSql}.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class MedicionServiciosAspect {
+
+    private static final String SIN_EXCEPCION = "none";
+
+    private final MeterRegistry registry;
+
+    public MedicionServiciosAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("@within(medido) && execution(public * *(..))")
+    public Object medir(ProceedingJoinPoint punto, Medido medido) throws Throwable {
+        Class<?> retorno = ((MethodSignature) punto.getSignature()).getReturnType();
+        if (Future.class.isAssignableFrom(retorno) || CompletionStage.class.isAssignableFrom(retorno)) {
+            return punto.proceed();
+        }
+        EstadisticasSql.marcarOrigen(punto.getSignature().getDeclaringType().getSimpleName()
+                + "." + punto.getSignature().getName());
+        Tags tags = Tags.of("modulo", medido.modulo(),
+                "entidad", medido.entidad(),
+                "operacion", punto.getSignature().getName());
+        long esperaInicial = EsperaConexiones.total();
+        long inicio = System.nanoTime();
+        String excepcion = SIN_EXCEPCION;
+        try {
+            Object resultado = punto.proceed();
+            registrarFilas(tags, resultado);
+            return resultado;
+        } catch (Throwable e) {
+            excepcion = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            long duracion = System.nanoTime() - inicio;
+            Timer.builder("venture.servicio.llamadas")
+                    .description("Duración de las operaciones de servicio")
+                    .tags(tags).tag("excepcion", excepcion)
+                    .publishPercentileHistogram()
+                    .register(registry)
+                    .record(duracion, TimeUnit.NANOSECONDS);
+            Timer.builder("venture.servicio.conexion.espera")
+                    .description("Espera de conexiones del pool durante la operación")
+                    .tags(tags)
+                    .register(registry)
+                    .record(EsperaConexiones.total() - esperaInicial, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void registrarFilas(Tags tags, Object resultado) {
+        int filas;
+        if (resultado instanceof Slice<?> slice) {
+            filas = slice.getNumberOfElements();
+        } else if (resultado instanceof Window<?> ventana) {
+            filas = ventana.size();
+        } else if (resultado instanceof Collection<?> coleccion) {
+            filas = coleccion.size();
+        } else {
+            return;
+        }
+        DistributionSummary.builder("venture.servicio.filas")
+                .description("Filas devueltas por operación de consulta")
+                .baseUnit("rows")
+                .tags(tags)
+                .register(registry)
+                .record(filas);
+    }
+}
@@ -0,0 +1,25 @@
+package com.inventiva.venture.observability;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Mide los métodos públicos del servicio anotado ({@link MedicionServiciosAspect}):
+ * duración, filas devueltas y espera de conexiones del pool, con las
+ * etiquetas {@code modulo}, {@code entidad} y {@code operacion} (nombre del
+ * método).
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Medido {
+
+    /** Módulo funcional ({@code bs}, {@code vt}, ...). */
+    String modulo();
+
+    /** Entidad principal del servicio ({@code personas}, {@code paises}, ...). */
+    String entidad();
+}
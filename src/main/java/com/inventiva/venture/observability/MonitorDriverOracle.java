@@ -0,0 +1,90 @@
+package com.inventiva.venture.observability;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import oracle.jdbc.OracleConnection;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ajustes del driver de Oracle que rigen en cada pool Hikari (los que fija el
+ * perfil {@code oracle-rendimiento}). Al iniciar toma una conexión de cada pool
+ * y publica la caché implícita de sentencias en
+ * {@code venture.oracle.driver.cache.sentencias{pool}} (0 si está apagada) y el
+ * prefetch de filas por defecto en {@code venture.oracle.driver.prefetch{pool}},
+ * y los informa en el log con las propiedades del driver del pool.
+ *
+ * Los round trips de fetch de cada pedido los estima {@link JdbcMedido} y los
+ * publica {@link MonitorSql}. Con otra base de datos no se publica nada.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "venture.observabilidad.driver", name = "habilitado", havingValue = "true",
+        matchIfMissing = true)
+public class MonitorDriverOracle {
+
+    private final Map<String, DataSource> fuentes;
+    private final MeterRegistry registry;
+
+    public MonitorDriverOracle(Map<String, DataSource> fuentes, MeterRegistry registry) {
+        this.fuentes = fuentes;
+        this.registry = registry;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void publicar() {
+        for (HikariDataSource pool : pools()) {
+            try (Connection conexion = pool.getConnection()) {
+                if (!conexion.isWrapperFor(OracleConnection.class)) {
+                    continue;
+                }
+                OracleConnection oracle = conexion.unwrap(OracleConnection.class);
+                int cache = oracle.getImplicitCachingEnabled() ? oracle.getStatementCacheSize() : 0;
+                int prefetch = oracle.getDefaultRowPrefetch();
+                registrar(pool.getPoolName(), cache, prefetch);
+                log.info("Driver de Oracle en {}: caché implícita de {} sentencias, prefetch de {} filas, propiedades {}",
+                        pool.getPoolName(), cache, prefetch, pool.getDataSourceProperties());
+            } catch (SQLException e) {
+                log.warn("No se pudieron leer los ajustes del driver en {}: {}", pool.getPoolName(), e.getMessage());
+            }
+        }
+    }
+
+    private void registrar(String pool, int cache, int prefetch) {
+        Gauge.builder("venture.oracle.driver.cache.sentencias", () -> cache)
+                .description("Sentencias por conexión en la caché implícita del driver")
+                .tag("pool", pool)
+                .register(registry);
+        Gauge.builder("venture.oracle.driver.prefetch", () -> prefetch)
+                .description("Filas por round trip de las consultas sin fetch size propio")
+                .baseUnit("rows")
+                .tag("pool", pool)
+                .register(registry);
+    }
+
+    /** Pools Hikari detrás de los DataSource del contexto (el enrutador y los envoltorios se desenvuelven). */
+    private Collection<HikariDataSource> pools() {
+        Map<String, HikariDataSource> pools = new LinkedHashMap<>();
+        fuentes.values().forEach(fuente -> {
+            try {
+                if (fuente.isWrapperFor(HikariDataSource.class)) {
+                    HikariDataSource pool = fuente.unwrap(HikariDataSource.class);
+                    pools.putIfAbsent(pool.getPoolName(), pool);
+                }
+            } catch (SQLException e) {
+                // No es (ni envuelve) un pool Hikari
+            }
+        });
+        return pools.values();
+    }
+}
@@ -0,0 +1,95 @@
+package com.inventiva.venture.observability;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Con hilos virtuales ({@code spring.threads.virtual.enabled}) escucha el
+ * evento JFR {@code jdk.VirtualThreadPinned}: un hilo virtual que se bloquea
+ * dentro de un {@code synchronized} (o en código nativo) retiene su hilo
+ * portador, y con pocos portadores eso frena a todos los demás.
+ *
+ * Cada fijado que supera el umbral se cuenta en
+ * {@code venture.hilos.virtuales.fijados{origen}}, donde el origen es el primer
+ * marco del driver de Oracle, de Hikari o de la aplicación en la pila (o el
+ * marco superior). La primera vez que aparece un origen se registra la pila en
+ * el log.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class MonitorHilosVirtuales implements DisposableBean {
+
+    private static final String EVENTO = "jdk.VirtualThreadPinned";
+
+    private static final List<String> PAQUETES_ORIGEN = List.of("oracle.jdbc.", "com.zaxxer.hikari.", "com.inventiva.");
+    private static final int MARCOS_EN_LOG = 15;
+
+    private final MeterRegistry registry;
+    private final RecordingStream grabacion;
+    private final Set<String> informados = ConcurrentHashMap.newKeySet();
+
+    public MonitorHilosVirtuales(ObservabilidadProperties properties, MeterRegistry registry) {
+        this.registry = registry;
+        this.grabacion = new RecordingStream();
+        grabacion.enable(EVENTO)
+                .withThreshold(properties.getHilosVirtuales().getUmbralFijado())
+                .withStackTrace();
+        grabacion.onEvent(EVENTO, this::registrar);
+        grabacion.startAsync();
+        log.info("Hilos virtuales habilitados: se informan fijados de más de {}",
+                properties.getHilosVirtuales().getUmbralFijado());
+    }
+
+    private void registrar(RecordedEvent evento) {
+        RecordedStackTrace pila = evento.getStackTrace();
+        List<RecordedFrame> marcos = pila == null ? List.of() : pila.getFrames();
+        String origen = origen(marcos);
+        Timer.builder("venture.hilos.virtuales.fijados")
+                .description("Hilos virtuales fijados a su portador más tiempo que el umbral")
+                .tag("origen", origen)
+                .register(registry)
+                .record(evento.getDuration());
+        if (informados.add(origen)) {
+            log.warn("Hilo virtual fijado {} ms en {}:\n{}", evento.getDuration().toMillis(), origen,
+                    marcos.stream().limit(MARCOS_EN_LOG)
+                            .map(MonitorHilosVirtuales::texto)
+                            .collect(Collectors.joining("\n\tat ", "\tat ", "")));
+        }
+    }
+
+    private static String origen(List<RecordedFrame> marcos) {
+        for (RecordedFrame marco : marcos) {
+            String clase = marco.getMethod().getType().getName();
+            for (String paquete : PAQUETES_ORIGEN) {
+                if (clase.startsWith(paquete)) {
+                    return clase + "." + marco.getMethod().getName();
+                }
+            }
+        }
+        return marcos.isEmpty() ? "desconocido" : marcos.get(0).getMethod().getType().getName()
+                + "." + marcos.get(0).getMethod().getName();
+    }
+
+    private static String texto(RecordedFrame marco) {
+        return marco.getMethod().getType().getName() + "." + marco.getMethod().getName()
+                + ":" + marco.getLineNumber();
+    }
+
+    @Override
+    public void destroy() {
+        grabacion.close();
+    }
+}
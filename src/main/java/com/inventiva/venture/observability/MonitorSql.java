@@ -0,0 +1,132 @@
+package com.inventiva.venture.observability;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evalúa las {@link EstadisticasSql} de cada pedido: publica los totales en
+ * Micrometer e informa en el log los pedidos que superan los umbrales
+ * ({@code venture.observabilidad.sql}) y los SELECT repetidos (N+1), con el
+ * SQL normalizado y el método de servicio que originó el pedido.
+ */
+@Slf4j
+@Component
+public class MonitorSql {
+
+    private static final int SENTENCIAS_EN_LOG = 5;
+    private static final int LARGO_MAXIMO_SQL = 300;
+    private static final String SIN_ORIGEN = "desconocido";
+
+    private static final Pattern TEXTO = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMERO = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern LISTA = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern ESPACIOS = Pattern.compile("\\s+");
+
+    /** Texto SQL normalizado con sus totales en el pedido. */
+    record Sentencia(String sql, int veces, long nanos) {
+    }
+
+    private final ObservabilidadProperties.Sql config;
+    private final MeterRegistry registry;
+    private final DistributionSummary sentenciasPorPedido;
+    private final DistributionSummary filasPorPedido;
+    private final DistributionSummary viajesPorPedido;
+    private final Timer tiempoPorPedido;
+
+    public MonitorSql(ObservabilidadProperties properties, MeterRegistry registry) {
+        this.config = properties.getSql();
+        this.registry = registry;
+        this.sentenciasPorPedido = DistributionSummary.builder("venture.sql.sentencias.por.pedido")
+                .description("Sentencias SQL por pedido")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.filasPorPedido = DistributionSummary.builder("venture.sql.filas.por.pedido")
+                .description("Filas leídas por pedido")
+                .baseUnit("rows")
+                .register(registry);
+        this.viajesPorPedido = DistributionSummary.builder("venture.sql.viajes.por.pedido")
+                .description("Round trips de fetch por pedido, además de los execute (estimados por fetch size)")
+                .register(registry);
+        this.tiempoPorPedido = Timer.builder("venture.sql.tiempo.por.pedido")
+                .description("Tiempo de JDBC por pedido")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    public void evaluar(EstadisticasSql estadisticas, String pedido) {
+        if (estadisticas.getSentencias() == 0) {
+            return;
+        }
+        String origen = estadisticas.getOrigen() != null ? estadisticas.getOrigen() : SIN_ORIGEN;
+        sentenciasPorPedido.record(estadisticas.getSentencias());
+        filasPorPedido.record(estadisticas.getFilas());
+        viajesPorPedido.record(estadisticas.getViajes());
+        tiempoPorPedido.record(estadisticas.getNanos(), TimeUnit.NANOSECONDS);
+
+        List<Sentencia> sentencias = agrupar(estadisticas);
+        for (Sentencia sentencia : sentencias) {
+            if (sentencia.veces() > config.getUmbralRepeticiones()
+                    && sentencia.sql().regionMatches(true, 0, "SELECT", 0, 6)) {
+                contar("venture.sql.n.mas.uno", origen);
+                log.warn("Posible N+1 en {} ({}): {} ejecuciones de {}",
+                        origen, pedido, sentencia.veces(), recortar(sentencia.sql()));
+            }
+        }
+
+        boolean muchas = estadisticas.getSentencias() > config.getUmbralSentencias();
+        boolean lento = estadisticas.getNanos() > config.getUmbralTiempo().toNanos();
+        if (muchas || lento) {
+            contar("venture.sql.pedidos.excedidos", origen);
+            StringBuilder detalle = new StringBuilder();
+            sentencias.stream()
+                    .sorted(Comparator.comparingLong(Sentencia::nanos).reversed())
+                    .limit(SENTENCIAS_EN_LOG)
+                    .forEach(s -> detalle.append(String.format(Locale.ROOT, "%n  %dx %d ms %s",
+                            s.veces(), TimeUnit.NANOSECONDS.toMillis(s.nanos()), recortar(s.sql()))));
+            log.warn("SQL en {} ({}): {} sentencias, {} ms, {} filas en {} viajes de fetch{}",
+                    origen, pedido, estadisticas.getSentencias(),
+                    TimeUnit.NANOSECONDS.toMillis(estadisticas.getNanos()), estadisticas.getFilas(),
+                    estadisticas.getViajes(), detalle);
+        }
+    }
+
+    /** Reemplaza literales por {@code ?}, colapsa listas IN y espacios. */
+    static String normalizar(String sql) {
+        String resultado = TEXTO.matcher(sql).replaceAll("?");
+        resultado = NUMERO.matcher(resultado).replaceAll("?");
+        resultado = LISTA.matcher(resultado).replaceAll("(?...)");
+        return ESPACIOS.matcher(resultado).replaceAll(" ").trim();
+    }
+
+    static List<Sentencia> agrupar(EstadisticasSql estadisticas) {
+        Map<String, long[]> grupos = new LinkedHashMap<>();
+        estadisticas.getPorSentencia().forEach((sql, detalle) -> {
+            long[] totales = grupos.computeIfAbsent(normalizar(sql), s -> new long[2]);
+            totales[0] += detalle.veces;
+            totales[1] += detalle.nanos;
+        });
+        List<Sentencia> sentencias = new ArrayList<>(grupos.size());
+        grupos.forEach((sql, totales) -> sentencias.add(new Sentencia(sql, (int) totales[0], totales[1])));
+        return sentencias;
+    }
+
+    private void contar(String nombre, String origen) {
+        Counter.builder(nombre).tag("origen", origen).register(registry).increment();
+    }
+
+    private static String recortar(String sql) {
+        return sql.length() <= LARGO_MAXIMO_SQL ? sql : sql.substring(0, LARGO_MAXIMO_SQL) + "...";
+    }
+}
@@ -0,0 +1,54 @@
+package com.inventiva.venture.observability;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Ajustes de observabilidad ({@code venture.observabilidad.*}).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "venture.observabilidad")
+public class ObservabilidadProperties {
+
+    private Sql sql = new Sql();
+
+    private HilosVirtuales hilosVirtuales = new HilosVirtuales();
+
+    private Driver driver = new Driver();
+
+    @Getter
+    @Setter
+    public static class Sql {
+        /**
+         * Estadísticas de SQL por pedido. Cada sentencia y ResultSet pasa por un
+         * proxy reflexivo: apagado salvo en desarrollo o pruebas puntuales.
+         */
+        private boolean habilitado = false;
+        /** Pedidos con más sentencias que esto se informan en el log. */
+        private int umbralSentencias = 50;
+        /** Pedidos con más tiempo de JDBC que esto se informan en el log. */
+        private Duration umbralTiempo = Duration.ofMillis(500);
+        /** Un mismo SELECT repetido más veces que esto en un pedido se informa como N+1. */
+        private int umbralRepeticiones = 10;
+    }
+
+    @Getter
+    @Setter
+    public static class HilosVirtuales {
+        /**
+         * Un hilo virtual fijado a su portador más tiempo que esto se informa
+         * (evento JFR jdk.VirtualThreadPinned).
+         */
+        private Duration umbralFijado = Duration.ofMillis(20);
+    }
+
+    @Getter
+    @Setter
+    public static class Driver {
+        /** Publicar al iniciar los ajustes del driver de Oracle de cada pool ({@link MonitorDriverOracle}). */
+        private boolean habilitado = true;
+    }
+}
@@ -0,0 +1,38 @@
+package com.inventiva.venture.persistence;
+
+import com.inventiva.venture.utils.EstrategiaListaIn;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import java.util.List;
+
+/**
+ * Filtra por listas IN grandes de ids enlazando todos los valores en un único
+ * parámetro, un arreglo SYS.ODCINUMBERLIST:
+ * {@code ruta IN (SELECT COLUMN_VALUE FROM TABLE(?))}.
+ *
+ * El texto SQL es el mismo sin importar la cantidad de valores (un solo bind:
+ * sin hard parses ni riesgo del límite de 65535 binds por sentencia) y no
+ * escribe nada, por lo que sirve en transacciones de solo lectura y en la
+ * standby del pool de lectura. La función y el tipo los registra
+ * {@link ArregloListaInContributor}.
+ */
+public class ArregloListaIn implements EstrategiaListaIn {
+
+    static final String FUNCION = "en_lista_numeros";
+
+    @Override
+    public Predicate crear(CriteriaQuery<?> query, CriteriaBuilder cb, Path<?> ruta, List<Object> valores) {
+        Class<?> tipo = ruta.getJavaType();
+        if (!(Long.class.equals(tipo) || long.class.equals(tipo)
+                || Integer.class.equals(tipo) || int.class.equals(tipo))) {
+            return null;
+        }
+        long[] numeros = new long[valores.size()];
+        for (int i = 0; i < numeros.length; i++) {
+            numeros[i] = ((Number) valores.get(i)).longValue();
+        }
+        return cb.isTrue(cb.function(FUNCION, Boolean.class, ruta, cb.literal(new ListaNumeros(numeros))));
+    }
+}
@@ -0,0 +1,30 @@
+package com.inventiva.venture.persistence;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.boot.model.TypeContributions;
+import org.hibernate.boot.model.TypeContributor;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registra en Hibernate lo que usa {@link ArregloListaIn}: el tipo
+ * {@link ListaNumeros} y la función {@code en_lista_numeros(ruta, lista)},
+ * que se escribe como predicado {@code ruta IN (SELECT COLUMN_VALUE FROM TABLE(?))}.
+ * Se carga por {@code META-INF/services}.
+ */
+public class ArregloListaInContributor implements TypeContributor, FunctionContributor {
+
+    @Override
+    public void contribute(TypeContributions typeContributions, ServiceRegistry serviceRegistry) {
+        typeContributions.contributeType(new ListaNumerosType());
+    }
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        functionContributions.getFunctionRegistry().registerPattern(ArregloListaIn.FUNCION,
+                "?1 in (select column_value from table(?2))",
+                functionContributions.getTypeConfiguration().getBasicTypeRegistry()
+                        .resolve(StandardBasicTypes.BOOLEAN));
+    }
+}
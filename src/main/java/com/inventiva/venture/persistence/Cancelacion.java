@@ -0,0 +1,79 @@
+package com.inventiva.venture.persistence;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Permite cancelar desde otro hilo las consultas que hace una tarea.
+ *
+ * Mientras corre {@link #ejecutar}, cada sentencia JDBC que se crea en el hilo
+ * (a través de {@link DataSourceCancelable}) queda registrada; {@link #cancelar}
+ * llama a {@link Statement#cancel()} sobre ellas y la base de datos aborta la
+ * que esté ejecutándose (en Oracle, ORA-01013). Las sentencias que se creen
+ * después de cancelar fallan con SQLState {@code HY008}.
+ */
+public final class Cancelacion {
+
+    private static final ThreadLocal<Cancelacion> ACTUAL = new ThreadLocal<>();
+
+    private final Set<Statement> sentencias = ConcurrentHashMap.newKeySet();
+    private volatile boolean cancelada;
+
+    public <T> T ejecutar(Supplier<T> tarea) {
+        if (cancelada) {
+            throw new CancellationException("Consulta cancelada antes de empezar");
+        }
+        Cancelacion anterior = ACTUAL.get();
+        ACTUAL.set(this);
+        try {
+            return tarea.get();
+        } finally {
+            if (anterior == null) {
+                ACTUAL.remove();
+            } else {
+                ACTUAL.set(anterior);
+            }
+            sentencias.clear();
+        }
+    }
+
+    public void cancelar() {
+        cancelada = true;
+        for (Statement sentencia : sentencias) {
+            try {
+                sentencia.cancel();
+            } catch (SQLException e) {
+                // Ya terminó o se cerró
+            }
+        }
+    }
+
+    public boolean isCancelada() {
+        return cancelada;
+    }
+
+    /** Si el hilo actual corre dentro de {@link #ejecutar} (sus consultas se pueden cancelar). */
+    public static boolean enCurso() {
+        return ACTUAL.get() != null;
+    }
+
+    static void registrar(Statement sentencia) throws SQLException {
+        Cancelacion actual = ACTUAL.get();
+        if (actual == null) {
+            return;
+        }
+        if (actual.cancelada) {
+            sentencia.close();
+            throw new SQLException("Consulta cancelada", "HY008");
+        }
+        actual.sentencias.add(sentencia);
+        // cancelar() pudo recorrer el conjunto antes de agregarla
+        if (actual.cancelada) {
+            sentencia.cancel();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.inventiva.venture.persistence;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Entrega conexiones que registran cada sentencia creada en la
+ * {@link Cancelacion} activa del hilo, si la hay. Sin cancelación activa solo
+ * delegan.
+ */
+public class DataSourceCancelable extends DelegatingDataSource {
+
+    private static final ClassLoader CARGADOR = DataSourceCancelable.class.getClassLoader();
+
+    public DataSourceCancelable(DataSource destino) {
+        super(destino);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return conexion(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return conexion(super.getConnection(username, password));
+    }
+
+    private static Connection conexion(Connection destino) {
+        return (Connection) Proxy.newProxyInstance(CARGADOR, new Class<?>[] { Connection.class },
+                (proxy, metodo, args) -> {
+                    Object resultado;
+                    try {
+                        resultado = metodo.invoke(destino, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    if (resultado instanceof Statement sentencia) {
+                        Cancelacion.registrar(sentencia);
+                    }
+                    return resultado;
+                });
+    }
+}
@@ -0,0 +1,24 @@
+package com.inventiva.venture.persistence;
+
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * {@link DataSource} principal cuando hay pool de lectura
+ * ({@code venture.persistencia.lectura.habilitado}): las transacciones de solo
+ * lectura ({@code @Transactional(readOnly = true)}, los métodos de consulta de
+ * Spring Data) toman la conexión del pool de lectura y el resto del de
+ * escritura.
+ *
+ * La conexión física se pide recién con la primera sentencia: el gestor de
+ * transacciones obtiene la conexión (y la marca read-only) al empezar la
+ * transacción, antes de que se sepa a qué pool debe ir. Sin transacción, las
+ * sentencias van al pool de escritura.
+ */
+public class DataSourceEnrutado extends LazyConnectionDataSourceProxy {
+
+    public DataSourceEnrutado(DataSource escritura, DataSource lectura) {
+        super(escritura);
+        setReadOnlyDataSource(lectura);
+    }
+}
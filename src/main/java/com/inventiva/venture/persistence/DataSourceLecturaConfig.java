@@ -0,0 +1,73 @@
+package com.inventiva.venture.persistence;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.health.CompositeHealthContributor;
+import org.springframework.boot.actuate.health.HealthContributor;
+import org.springframework.boot.actuate.jdbc.DataSourceHealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.util.StringUtils;
+
+/**
+ * Pools separados de escritura y de lectura detrás de un
+ * {@link DataSourceEnrutado} ({@code venture.persistencia.lectura.habilitado}).
+ *
+ * El pool de escritura se configura como siempre ({@code spring.datasource.*});
+ * el de lectura con {@code venture.persistencia.lectura.*} (URL y credenciales
+ * de la standby o réplica, vacías para usar las mismas) y su propio
+ * {@code hikari.*}. Cada pool publica sus métricas {@code hikaricp.*} con su
+ * nombre y su propio health indicator ({@code db.escritura}, {@code db.lectura}).
+ */
+@Configuration
+@EnableConfigurationProperties(PersistenciaProperties.class)
+@ConditionalOnProperty(prefix = "venture.persistencia.lectura", name = "habilitado", havingValue = "true")
+public class DataSourceLecturaConfig {
+
+    public static final String ESCRITURA = "escrituraDataSource";
+    public static final String LECTURA = "lecturaDataSource";
+
+    @Bean(ESCRITURA)
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource escrituraDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean(LECTURA)
+    @ConfigurationProperties("venture.persistencia.lectura.hikari")
+    public HikariDataSource lecturaDataSource(DataSourceProperties properties, PersistenciaProperties persistencia) {
+        PersistenciaProperties.Lectura lectura = persistencia.getLectura();
+        boolean mismaBase = !StringUtils.hasText(lectura.getUrl());
+        return DataSourceBuilder.create(properties.getClassLoader())
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(mismaBase ? properties.determineUrl() : lectura.getUrl())
+                .username(mismaBase ? properties.determineUsername() : lectura.getUsername())
+                .password(mismaBase ? properties.determinePassword() : lectura.getPassword())
+                .build();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier(ESCRITURA) DataSource escritura,
+            @Qualifier(LECTURA) DataSource lectura) {
+        return new DataSourceEnrutado(escritura, lectura);
+    }
+
+    /** Reemplaza el indicador {@code db} de Spring Boot: uno por pool, sin el enrutador. */
+    @Bean
+    public HealthContributor dbHealthContributor(@Qualifier(ESCRITURA) DataSource escritura,
+            @Qualifier(LECTURA) DataSource lectura) {
+        return CompositeHealthContributor.fromMap(Map.of(
+                "escritura", new DataSourceHealthIndicator(escritura),
+                "lectura", new DataSourceHealthIndicator(lectura)));
+    }
+}
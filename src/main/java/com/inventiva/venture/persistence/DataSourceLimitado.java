@@ -0,0 +1,113 @@
+package com.inventiva.venture.persistence;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Limita con un {@link Semaphore} justo (FIFO) cuántos hilos pueden tener o
+ * estar pidiendo una conexión del pool a la vez. El permiso se toma antes de
+ * pedir la conexión y se devuelve al cerrarla.
+ *
+ * Con hilos virtuales cualquier cantidad de pedidos llega a la vez al pool; en
+ * lugar de que miles de hilos compitan dentro de Hikari, esperan en orden en
+ * el semáforo (estacionados, sin ocupar un hilo portador) y los que superan
+ * {@code espera} fallan con {@link SQLTransientConnectionException}, igual que
+ * el connection-timeout del pool.
+ */
+public class DataSourceLimitado extends DelegatingDataSource {
+
+    private static final ClassLoader CARGADOR = DataSourceLimitado.class.getClassLoader();
+
+    private final Semaphore permisos;
+    private final long esperaNanos;
+    private final Counter rechazos;
+
+    /**
+     * @param pool nombre del pool para las métricas (tag {@code pool}, como en {@code hikaricp.*})
+     */
+    public DataSourceLimitado(DataSource destino, String pool, int permisos, Duration espera,
+            MeterRegistry registry) {
+        super(destino);
+        this.permisos = new Semaphore(permisos, true);
+        this.esperaNanos = espera.toNanos();
+        this.rechazos = Counter.builder("venture.conexiones.limite.rechazos")
+                .description("Pedidos de conexión que no obtuvieron permiso a tiempo")
+                .tag("pool", pool)
+                .register(registry);
+        Gauge.builder("venture.conexiones.limite.en.espera", this.permisos, Semaphore::getQueueLength)
+                .description("Hilos esperando permiso para pedir una conexión")
+                .tag("pool", pool)
+                .register(registry);
+        Gauge.builder("venture.conexiones.limite.disponibles", this.permisos, Semaphore::availablePermits)
+                .description("Permisos de conexión libres")
+                .tag("pool", pool)
+                .register(registry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        adquirir();
+        try {
+            return liberarAlCerrar(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permisos.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        adquirir();
+        try {
+            return liberarAlCerrar(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permisos.release();
+            throw e;
+        }
+    }
+
+    private void adquirir() throws SQLException {
+        boolean obtenido;
+        try {
+            obtenido = permisos.tryAcquire(esperaNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrumpido esperando una conexión", e);
+        }
+        if (!obtenido) {
+            rechazos.increment();
+            throw new SQLTransientConnectionException("No hay conexiones disponibles: "
+                    + permisos.getQueueLength() + " hilos esperando después de "
+                    + TimeUnit.NANOSECONDS.toMillis(esperaNanos) + " ms");
+        }
+    }
+
+    /** Devuelve el permiso en el primer {@code close()} de la conexión. */
+    private Connection liberarAlCerrar(Connection destino) {
+        AtomicBoolean cerrada = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(CARGADOR, new Class<?>[] { Connection.class },
+                (proxy, metodo, args) -> {
+                    try {
+                        return metodo.invoke(destino, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    } finally {
+                        if ("close".equals(metodo.getName()) && cerrada.compareAndSet(false, true)) {
+                            permisos.release();
+                        }
+                    }
+                });
+    }
+}
@@ -0,0 +1,59 @@
+package com.inventiva.venture.persistence;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Metrics;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Envuelve los {@link DataSource} de la aplicación en {@link DataSourceCancelable}
+ * y, cuando {@code venture.persistencia.limite-conexiones.habilitado}, en
+ * {@link DataSourceLimitado}. Corre antes que los post-procesadores sin orden,
+ * de modo que el tiempo de espera del semáforo se mide como espera de conexión
+ * ({@code DataSourceMedido} queda por fuera).
+ *
+ * Con pool de lectura se envuelve cada pool por separado (el límite del de
+ * lectura es su {@code maximum-pool-size}) y no el {@link DataSourceEnrutado}.
+ */
+@Component
+public class DataSourcePersistenciaPostProcessor implements BeanPostProcessor, EnvironmentAware, Ordered {
+
+    private PersistenciaProperties.LimiteConexiones limite = new PersistenciaProperties.LimiteConexiones();
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        // Los beans @ConfigurationProperties todavía no existen cuando se crean los post-procesadores
+        limite = Binder.get(environment)
+                .bind("venture.persistencia.limite-conexiones", PersistenciaProperties.LimiteConexiones.class)
+                .orElseGet(PersistenciaProperties.LimiteConexiones::new);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource)
+                || bean instanceof DataSourceCancelable
+                || bean instanceof DataSourceEnrutado) {
+            return bean;
+        }
+        DataSource destino = dataSource;
+        if (limite.isHabilitado()) {
+            HikariDataSource hikari = bean instanceof HikariDataSource h ? h : null;
+            int permisos = DataSourceLecturaConfig.LECTURA.equals(beanName) && hikari != null
+                    ? hikari.getMaximumPoolSize()
+                    : limite.getPermisos();
+            String pool = hikari != null && hikari.getPoolName() != null ? hikari.getPoolName() : beanName;
+            destino = new DataSourceLimitado(dataSource, pool, permisos, limite.getEspera(), Metrics.globalRegistry);
+        }
+        return new DataSourceCancelable(destino);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,20 @@
+package com.inventiva.venture.persistence;
+
+import jakarta.persistence.Converter;
+
+/** Indicador {@code A/I} (ESTADO): {@code A} (activo) es {@code true}. */
+@Converter
+public class IndicadorActivoInactivo extends IndicadorConverter {
+
+    public static final String ACTIVO = "A";
+    public static final String INACTIVO = "I";
+
+    public IndicadorActivoInactivo() {
+        super(ACTIVO, INACTIVO);
+    }
+
+    /** Valor de la columna para escribir fuera de JPA (JDBC, exportaciones). */
+    public static String columna(boolean valor) {
+        return valor ? ACTIVO : INACTIVO;
+    }
+}
@@ -0,0 +1,40 @@
+package com.inventiva.venture.persistence;
+
+import jakarta.persistence.AttributeConverter;
+
+/**
+ * Base de los converters de indicadores {@code CHAR(1)} a {@code boolean}.
+ *
+ * La lectura mira solo el primer carácter (sin distinguir mayúsculas) y la
+ * escritura devuelve una constante, de modo que ninguna de las dos asigna
+ * memoria por fila. Un valor nulo o desconocido se lee como {@code false}.
+ *
+ * Uso en la entidad:
+ * <pre>
+ * &#64;Convert(converter = IndicadorSiNo.class)
+ * &#64;Column(name = "ES_CLIENTE", length = 1, nullable = false)
+ * private boolean esCliente;
+ * </pre>
+ */
+public abstract class IndicadorConverter implements AttributeConverter<Boolean, String> {
+
+    private final String verdadero;
+    private final String falso;
+    private final char marca;
+
+    protected IndicadorConverter(String verdadero, String falso) {
+        this.verdadero = verdadero;
+        this.falso = falso;
+        this.marca = verdadero.charAt(0);
+    }
+
+    @Override
+    public String convertToDatabaseColumn(Boolean valor) {
+        return Boolean.TRUE.equals(valor) ? verdadero : falso;
+    }
+
+    @Override
+    public Boolean convertToEntityAttribute(String columna) {
+        return columna != null && !columna.isEmpty() && Character.toUpperCase(columna.charAt(0)) == marca;
+    }
+}
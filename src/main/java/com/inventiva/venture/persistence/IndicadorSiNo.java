@@ -0,0 +1,20 @@
+package com.inventiva.venture.persistence;
+
+import jakarta.persistence.Converter;
+
+/** Indicador {@code S/N} (ES_FISICA, ES_CLIENTE, ...): {@code S} es {@code true}. */
+@Converter
+public class IndicadorSiNo extends IndicadorConverter {
+
+    public static final String SI = "S";
+    public static final String NO = "N";
+
+    public IndicadorSiNo() {
+        super(SI, NO);
+    }
+
+    /** Valor de la columna para escribir fuera de JPA (JDBC, exportaciones). */
+    public static String columna(boolean valor) {
+        return valor ? SI : NO;
+    }
+}
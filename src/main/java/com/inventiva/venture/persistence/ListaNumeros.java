@@ -0,0 +1,39 @@
+package com.inventiva.venture.persistence;
+
+import java.util.Arrays;
+
+/**
+ * Valores de una lista IN numérica que se enlazan como un solo parámetro de
+ * tipo SYS.ODCINUMBERLIST ({@link ListaNumerosType}). Inmutable.
+ */
+public final class ListaNumeros {
+
+    private final long[] valores;
+
+    public ListaNumeros(long[] valores) {
+        this.valores = valores.clone();
+    }
+
+    long[] valores() {
+        return valores.clone();
+    }
+
+    public int cantidad() {
+        return valores.length;
+    }
+
+    @Override
+    public boolean equals(Object otro) {
+        return otro instanceof ListaNumeros lista && Arrays.equals(valores, lista.valores);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(valores);
+    }
+
+    @Override
+    public String toString() {
+        return "ListaNumeros[" + valores.length + "]";
+    }
+}
@@ -0,0 +1,82 @@
+package com.inventiva.venture.persistence;
+
+import java.io.Serializable;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import oracle.jdbc.OracleConnection;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.usertype.UserType;
+
+/**
+ * Enlaza una {@link ListaNumeros} como arreglo de Oracle SYS.ODCINUMBERLIST
+ * (tipo del sistema, no hay que crearlo). Solo se usa como parámetro; nunca
+ * se lee de una columna.
+ */
+public class ListaNumerosType implements UserType<ListaNumeros> {
+
+    static final String TIPO_ORACLE = "SYS.ODCINUMBERLIST";
+
+    @Override
+    public int getSqlType() {
+        return Types.ARRAY;
+    }
+
+    @Override
+    public Class<ListaNumeros> returnedClass() {
+        return ListaNumeros.class;
+    }
+
+    @Override
+    public boolean equals(ListaNumeros x, ListaNumeros y) {
+        return x == null ? y == null : x.equals(y);
+    }
+
+    @Override
+    public int hashCode(ListaNumeros x) {
+        return x.hashCode();
+    }
+
+    @Override
+    public ListaNumeros nullSafeGet(ResultSet rs, int position, SharedSessionContractImplementor session,
+            Object owner) {
+        throw new UnsupportedOperationException("ListaNumeros solo se usa como parámetro");
+    }
+
+    @Override
+    public void nullSafeSet(PreparedStatement st, ListaNumeros value, int index,
+            SharedSessionContractImplementor session) throws SQLException {
+        if (value == null) {
+            st.setNull(index, Types.ARRAY, TIPO_ORACLE);
+            return;
+        }
+        OracleConnection conexion = st.getConnection().unwrap(OracleConnection.class);
+        st.setArray(index, conexion.createOracleArray(TIPO_ORACLE, value.valores()));
+    }
+
+    @Override
+    public ListaNumeros deepCopy(ListaNumeros value) {
+        return value; // inmutable
+    }
+
+    @Override
+    public boolean isMutable() {
+        return false;
+    }
+
+    @Override
+    public Serializable disassemble(ListaNumeros value) {
+        return value == null ? null : value.valores();
+    }
+
+    @Override
+    public ListaNumeros assemble(Serializable cached, Object owner) {
+        return cached == null ? null : new ListaNumeros((long[]) cached);
+    }
+
+    @Override
+    public ListaNumeros replace(ListaNumeros detached, ListaNumeros managed, Object owner) {
+        return detached;
+    }
+}
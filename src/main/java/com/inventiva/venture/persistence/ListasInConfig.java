@@ -0,0 +1,22 @@
+package com.inventiva.venture.persistence;
+
+import com.inventiva.venture.utils.ListasIn;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Forma de construir las listas IN ({@code venture.persistencia.listas-in}):
+ * por encima del umbral, un arreglo enlazado en un solo parámetro
+ * ({@link ArregloListaIn}); si no, grupos de 1000.
+ */
+@Configuration(proxyBeanMethods = false)
+public class ListasInConfig {
+
+    @Bean
+    public ListasIn listasIn(PersistenciaProperties propiedades) {
+        PersistenciaProperties.ListasIn config = propiedades.getListasIn();
+        return config.isArreglo()
+                ? new ListasIn(new ArregloListaIn(), config.getUmbralArreglo())
+                : ListasIn.PARTICIONADAS;
+    }
+}
@@ -0,0 +1,70 @@
+package com.inventiva.venture.persistence;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Ajustes transversales de persistencia ({@code venture.persistencia.*}).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "venture.persistencia")
+public class PersistenciaProperties {
+
+    private ListasIn listasIn = new ListasIn();
+
+    private LimiteConexiones limiteConexiones = new LimiteConexiones();
+
+    private Lectura lectura = new Lectura();
+
+    private Fetch fetch = new Fetch();
+
+    @Getter
+    @Setter
+    public static class ListasIn {
+        /** Enlazar las listas numéricas grandes como un arreglo SYS.ODCINUMBERLIST ({@link ArregloListaIn}). */
+        private boolean arreglo = true;
+        /** Cantidad de valores a partir de la cual se usa el arreglo en lugar de grupos de 1000. */
+        private int umbralArreglo = 1000;
+    }
+
+    @Getter
+    @Setter
+    public static class LimiteConexiones {
+        /** Semáforo delante del pool (pensado para hilos virtuales). */
+        private boolean habilitado = false;
+        /**
+         * Hilos que pueden tener o pedir una conexión a la vez; el tamaño del pool
+         * (de escritura). El pool de lectura usa su {@code maximum-pool-size}.
+         */
+        private int permisos = 10;
+        /** Espera máxima por un permiso antes de fallar, como el connection-timeout del pool. */
+        private Duration espera = Duration.ofSeconds(30);
+    }
+
+    @Getter
+    @Setter
+    public static class Lectura {
+        /** Pool aparte para las transacciones de solo lectura ({@link DataSourceLecturaConfig}). */
+        private boolean habilitado = false;
+        /** URL JDBC de la standby o réplica; vacía para usar la de {@code spring.datasource}. */
+        private String url;
+        private String username;
+        private String password;
+    }
+
+    @Getter
+    @Setter
+    public static class Fetch {
+        /**
+         * Filas por round trip del cursor de exportación. Las páginas del grid
+         * piden las filas de la página y el resto de las consultas usa el
+         * {@code defaultRowPrefetch} del driver.
+         */
+        private int exportacion = 1000;
+        /** Filas por round trip al recorrer tablas completas (índice de búsqueda tras importar). */
+        private int recorridos = 1000;
+    }
+}
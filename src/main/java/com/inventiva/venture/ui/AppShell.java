@@ -0,0 +1,11 @@
+package com.inventiva.venture.ui;
+
+import com.vaadin.flow.component.page.AppShellConfigurator;
+
+/**
+ * Configuración de la página. Sin {@code @Push}: las vistas que actualizan la
+ * UI desde otros hilos con {@code UI.access} activan el push al adjuntarse
+ * ({@code UI.getPushConfiguration()}), así las demás sesiones no abren el canal.
+ */
+public class AppShell implements AppShellConfigurator {
+}
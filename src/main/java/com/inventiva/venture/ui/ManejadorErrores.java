@@ -0,0 +1,39 @@
+package com.inventiva.venture.ui;
+
+import com.inventiva.venture.capacidad.SistemaOcupadoException;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.notification.Notification;
+import com.vaadin.flow.component.notification.NotificationVariant;
+import com.vaadin.flow.server.DefaultErrorHandler;
+import com.vaadin.flow.server.ErrorEvent;
+import com.vaadin.flow.server.ErrorHandler;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Manejador de errores de las sesiones Vaadin: los rechazos por falta de
+ * capacidad ({@link SistemaOcupadoException#esCausa}) se muestran como un
+ * aviso breve de "sistema ocupado"; el resto sigue el manejo por defecto.
+ */
+@Slf4j
+public class ManejadorErrores implements ErrorHandler {
+
+    private static final String MENSAJE = "El sistema está ocupado, intente nuevamente en unos segundos";
+
+    private final DefaultErrorHandler porDefecto = new DefaultErrorHandler();
+
+    @Override
+    public void error(ErrorEvent evento) {
+        if (SistemaOcupadoException.esCausa(evento.getThrowable()) && UI.getCurrent() != null) {
+            log.warn("Pedido rechazado por falta de capacidad: {}", evento.getThrowable().getMessage());
+            avisarOcupado();
+            return;
+        }
+        porDefecto.error(evento);
+    }
+
+    /** Muestra el aviso de sistema ocupado; requiere el lock de la sesión. */
+    public static void avisarOcupado() {
+        Notification aviso = Notification.show(MENSAJE, 4000, Notification.Position.MIDDLE);
+        aviso.addThemeVariants(NotificationVariant.LUMO_CONTRAST);
+    }
+}
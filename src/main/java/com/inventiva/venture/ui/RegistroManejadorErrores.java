@@ -0,0 +1,15 @@
+package com.inventiva.venture.ui;
+
+import com.vaadin.flow.server.ServiceInitEvent;
+import com.vaadin.flow.server.VaadinServiceInitListener;
+import org.springframework.stereotype.Component;
+
+/** Instala {@link ManejadorErrores} en cada sesión Vaadin nueva. */
+@Component
+public class RegistroManejadorErrores implements VaadinServiceInitListener {
+
+    @Override
+    public void serviceInit(ServiceInitEvent evento) {
+        evento.getSource().addSessionInitListener(inicio -> inicio.getSession().setErrorHandler(new ManejadorErrores()));
+    }
+}
@@ -0,0 +1,66 @@
+package com.inventiva.venture.utils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Conversores de valores de filtro al tipo real del atributo, elegidos una sola
+ * vez por tipo destino al compilar el plan en lugar de recorrer la cadena de
+ * {@code if} en cada valor.
+ */
+final class ConvertidorValor {
+
+    private static final Map<Class<?>, Function<String, Object>> DESDE_TEXTO = new HashMap<>();
+
+    static {
+        DESDE_TEXTO.put(Integer.class, Integer::valueOf);
+        DESDE_TEXTO.put(int.class, Integer::valueOf);
+        DESDE_TEXTO.put(Long.class, Long::valueOf);
+        DESDE_TEXTO.put(long.class, Long::valueOf);
+        DESDE_TEXTO.put(Double.class, Double::valueOf);
+        DESDE_TEXTO.put(double.class, Double::valueOf);
+        DESDE_TEXTO.put(Float.class, Float::valueOf);
+        DESDE_TEXTO.put(float.class, Float::valueOf);
+        DESDE_TEXTO.put(BigDecimal.class, BigDecimal::new);
+        // Ajustar formato si tus fechas no vienen en ISO (yyyy-MM-dd)
+        DESDE_TEXTO.put(LocalDate.class, LocalDate::parse);
+        // Ajustar formato si tus datetimes no vienen en ISO
+        DESDE_TEXTO.put(LocalDateTime.class, LocalDateTime::parse);
+        DESDE_TEXTO.put(Boolean.class, Boolean::valueOf);
+        DESDE_TEXTO.put(boolean.class, Boolean::valueOf);
+    }
+
+    private ConvertidorValor() {
+    }
+
+    /**
+     * Devuelve el conversor para el tipo destino. El conversor:
+     * <ul>
+     * <li>devuelve el valor tal cual si ya es del tipo correcto;</li>
+     * <li>convierte desde String (típico en APIs REST) los tipos soportados;</li>
+     * <li>como último recurso devuelve el valor original y deja que falle más
+     * adelante si no es compatible.</li>
+     * </ul>
+     */
+    static Function<Object, Object> para(Class<?> tipoDestino) {
+        Function<String, Object> desdeTexto = tipoDestino.equals(String.class)
+                ? s -> s
+                : DESDE_TEXTO.get(tipoDestino);
+        if (desdeTexto == null) {
+            return valor -> valor;
+        }
+        return valor -> {
+            if (valor == null || tipoDestino.isInstance(valor)) {
+                return valor;
+            }
+            if (valor instanceof String s) {
+                return desdeTexto.apply(s.trim());
+            }
+            return valor;
+        };
+    }
+}
@@ -0,0 +1,24 @@
+package com.inventiva.venture.utils;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import java.util.List;
+
+/**
+ * Forma alternativa de filtrar por listas muy grandes (por ejemplo enlazando
+ * los valores como un arreglo en un solo parámetro) en lugar de generar miles
+ * de bind variables.
+ */
+@FunctionalInterface
+public interface EstrategiaListaIn {
+
+    /**
+     * @param valores valores ya convertidos al tipo del atributo, sin duplicados
+     *                ni nulos
+     * @return el predicado, o {@code null} si la estrategia no aplica (por tipo
+     *         de atributo) y se debe particionar
+     */
+    Predicate crear(CriteriaQuery<?> query, CriteriaBuilder cb, Path<?> ruta, List<Object> valores);
+}
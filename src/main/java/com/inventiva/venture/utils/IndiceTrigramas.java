@@ -0,0 +1,253 @@
+package com.inventiva.venture.utils;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * Índice invertido de trigramas en memoria para búsquedas "contiene" sobre el
+ * texto normalizado: por defecto sin distinguir mayúsculas ni acentos
+ * ({@link TextoBusqueda#normalizar}), o con la normalización indicada para
+ * coincidir con la de otra búsqueda.
+ *
+ * Cada trigrama (tres caracteres empaquetados en un {@code long}) apunta a una
+ * lista ordenada de ids {@code int}. Una búsqueda intersecta las listas de los
+ * trigramas del texto y confirma cada candidato contra el texto guardado, por
+ * lo que no hay falsos positivos. Los campos de un documento se indexan por
+ * separado: ningún trigrama cruza de un campo al siguiente.
+ *
+ * Es seguro para uso concurrente (varias lecturas, una escritura a la vez).
+ */
+public final class IndiceTrigramas {
+
+    /** Largo mínimo del texto buscado; con menos no hay trigramas. */
+    public static final int LARGO_MINIMO = 3;
+
+    private static final char SEPARADOR = '\u0000';
+    private static final int[] VACIO = new int[0];
+
+    private final UnaryOperator<String> normalizador;
+    private final Map<Long, ListaIds> listas = new HashMap<>();
+    private final Map<Integer, String> textos = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public IndiceTrigramas() {
+        this(TextoBusqueda::normalizar);
+    }
+
+    /** @param normalizador se aplica a los campos indexados y al texto buscado */
+    public IndiceTrigramas(UnaryOperator<String> normalizador) {
+        this.normalizador = normalizador;
+    }
+
+    /**
+     * Indexa (o reindexa) el documento {@code id} con los campos dados; los
+     * nulos se ignoran.
+     */
+    public void indexar(int id, String... campos) {
+        String texto = componer(campos);
+        lock.writeLock().lock();
+        try {
+            String anterior = textos.put(id, texto);
+            if (anterior != null) {
+                for (long trigrama : trigramas(anterior)) {
+                    quitar(trigrama, id);
+                }
+            }
+            for (long trigrama : trigramas(texto)) {
+                listas.computeIfAbsent(trigrama, t -> new ListaIds()).agregar(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void eliminar(int id) {
+        lock.writeLock().lock();
+        try {
+            String anterior = textos.remove(id);
+            if (anterior != null) {
+                for (long trigrama : trigramas(anterior)) {
+                    quitar(trigrama, id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids (ascendentes) cuyos campos contienen el texto, o {@code null} si el
+     * texto normalizado tiene menos de {@link #LARGO_MINIMO} caracteres y el
+     * índice no puede responder.
+     */
+    public int[] buscar(String texto) {
+        String buscado = texto == null ? "" : normalizador.apply(texto).trim();
+        if (buscado.length() < LARGO_MINIMO) {
+            return null;
+        }
+        long[] trigramas = trigramas(buscado);
+        lock.readLock().lock();
+        try {
+            ListaIds[] candidatas = new ListaIds[trigramas.length];
+            for (int i = 0; i < trigramas.length; i++) {
+                candidatas[i] = listas.get(trigramas[i]);
+                if (candidatas[i] == null) {
+                    return VACIO;
+                }
+            }
+            // De la lista más corta a la más larga: la intersección se achica rápido
+            Arrays.sort(candidatas, (a, b) -> Integer.compare(a.tamano, b.tamano));
+            int[] ids = Arrays.copyOf(candidatas[0].ids, candidatas[0].tamano);
+            int cantidad = ids.length;
+            for (int i = 1; i < candidatas.length && cantidad > 0; i++) {
+                cantidad = intersectar(ids, cantidad, candidatas[i]);
+            }
+
+            int confirmados = 0;
+            for (int i = 0; i < cantidad; i++) {
+                if (textos.get(ids[i]).contains(buscado)) {
+                    ids[confirmados++] = ids[i];
+                }
+            }
+            return Arrays.copyOf(ids, confirmados);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int cantidadDocumentos() {
+        lock.readLock().lock();
+        try {
+            return textos.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Estimación gruesa en bytes: arreglos de ids, textos y entradas de los
+     * mapas (cabeceras y boxing incluidos).
+     */
+    public long memoriaEstimada() {
+        lock.readLock().lock();
+        try {
+            long bytes = 0;
+            for (ListaIds lista : listas.values()) {
+                bytes += 64 + 16 + 4L * lista.ids.length;
+            }
+            for (String texto : textos.values()) {
+                bytes += 64 + 40 + texto.length();
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void quitar(long trigrama, int id) {
+        ListaIds lista = listas.get(trigrama);
+        if (lista != null && lista.quitar(id) && lista.tamano == 0) {
+            listas.remove(trigrama);
+        }
+    }
+
+    /** Deja en {@code ids[0..n)} los que también están en {@code otra}. */
+    private static int intersectar(int[] ids, int cantidad, ListaIds otra) {
+        int resultado = 0;
+        int j = 0;
+        for (int i = 0; i < cantidad && j < otra.tamano; i++) {
+            while (j < otra.tamano && otra.ids[j] < ids[i]) {
+                j++;
+            }
+            if (j < otra.tamano && otra.ids[j] == ids[i]) {
+                ids[resultado++] = ids[i];
+            }
+        }
+        return resultado;
+    }
+
+    private String componer(String... campos) {
+        StringBuilder texto = new StringBuilder();
+        for (String campo : campos) {
+            if (campo == null || campo.isBlank()) {
+                continue;
+            }
+            if (!texto.isEmpty()) {
+                texto.append(SEPARADOR);
+            }
+            texto.append(normalizador.apply(campo.trim()));
+        }
+        return texto.toString();
+    }
+
+    /** Trigramas distintos y ordenados del texto (sin cruzar separadores). */
+    static long[] trigramas(String texto) {
+        if (texto.length() < LARGO_MINIMO) {
+            return new long[0];
+        }
+        long[] trigramas = new long[texto.length() - 2];
+        int cantidad = 0;
+        for (int i = 0; i + 2 < texto.length(); i++) {
+            char a = texto.charAt(i);
+            char b = texto.charAt(i + 1);
+            char c = texto.charAt(i + 2);
+            if (a == SEPARADOR || b == SEPARADOR || c == SEPARADOR) {
+                continue;
+            }
+            trigramas[cantidad++] = ((long) a << 32) | ((long) b << 16) | c;
+        }
+        Arrays.sort(trigramas, 0, cantidad);
+        int distintos = 0;
+        for (int i = 0; i < cantidad; i++) {
+            if (distintos == 0 || trigramas[distintos - 1] != trigramas[i]) {
+                trigramas[distintos++] = trigramas[i];
+            }
+        }
+        return Arrays.copyOf(trigramas, distintos);
+    }
+
+    /** Lista ordenada de ids sin repetidos, sobre un {@code int[]} que crece. */
+    private static final class ListaIds {
+
+        private int[] ids = new int[4];
+        private int tamano;
+
+        void agregar(int id) {
+            // Caso habitual (ids de secuencia): se agrega al final
+            if (tamano == 0 || ids[tamano - 1] < id) {
+                asegurarCapacidad();
+                ids[tamano++] = id;
+                return;
+            }
+            int posicion = Arrays.binarySearch(ids, 0, tamano, id);
+            if (posicion >= 0) {
+                return;
+            }
+            int insercion = -posicion - 1;
+            asegurarCapacidad();
+            System.arraycopy(ids, insercion, ids, insercion + 1, tamano - insercion);
+            ids[insercion] = id;
+            tamano++;
+        }
+
+        boolean quitar(int id) {
+            int posicion = Arrays.binarySearch(ids, 0, tamano, id);
+            if (posicion < 0) {
+                return false;
+            }
+            System.arraycopy(ids, posicion + 1, ids, posicion, tamano - posicion - 1);
+            tamano--;
+            return true;
+        }
+
+        private void asegurarCapacidad() {
+            if (tamano == ids.length) {
+                ids = Arrays.copyOf(ids, ids.length + (ids.length >> 1) + 1);
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.inventiva.venture.utils;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Traduce los pedidos offset/limit de un grid a consultas keyset (seek) sobre
+ * {@code (clave de orden, id)}.
+ *
+ * Recuerda la posición keyset alcanzada al final de cada página servida, de
+ * modo que el scroll secuencial siempre busca desde la última clave conocida y
+ * el costo de la consulta no crece con la profundidad. Los saltos lejanos (por
+ * ejemplo arrastrar la barra al final) se resuelven con la consulta por offset
+ * y a partir de ahí se vuelve a buscar por clave.
+ *
+ * El orden recibido debe terminar en una propiedad única (normalmente
+ * {@code id}) y todas sus propiedades deben ser no nulas.
+ *
+ * Las consultas corren con el lock tomado; es un {@link ReentrantLock} y no
+ * {@code synchronized} para no fijar el hilo virtual a su portador mientras
+ * se espera a la base de datos.
+ */
+public class KeysetPaginator<T> {
+
+    /** Cantidad máxima de posiciones recordadas por instancia. */
+    private static final int MAX_POSICIONES = 1024;
+
+    @FunctionalInterface
+    public interface ConsultaKeyset<T> {
+        List<T> consultar(KeysetScrollPosition posicion, int limite);
+    }
+
+    @FunctionalInterface
+    public interface ConsultaOffset<T> {
+        List<T> consultar(int offset, int limite);
+    }
+
+    @FunctionalInterface
+    public interface ExtractorClave<T> {
+        Object valor(T item, String propiedad);
+    }
+
+    private final ExtractorClave<T> extractor;
+    private final int maxFilasAvance;
+    private final NavigableMap<Integer, KeysetScrollPosition> posiciones = new TreeMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private Sort ordenActual = Sort.unsorted();
+
+    /**
+     * @param extractor      obtiene el valor de cada propiedad de orden de un item
+     * @param maxFilasAvance distancia máxima (en filas) que se recorre desde la
+     *                       última posición conocida antes de usar offset
+     */
+    public KeysetPaginator(ExtractorClave<T> extractor, int maxFilasAvance) {
+        this.extractor = extractor;
+        this.maxFilasAvance = maxFilasAvance;
+        reiniciar();
+    }
+
+    public List<T> paginar(int offset,
+            int limite,
+            Sort orden,
+            ConsultaKeyset<T> porClave,
+            ConsultaOffset<T> porOffset) {
+        lock.lock();
+        try {
+            if (!orden.equals(ordenActual)) {
+                reiniciar();
+                ordenActual = orden;
+            }
+
+            Map.Entry<Integer, KeysetScrollPosition> base = posiciones.floorEntry(offset);
+            int salto = offset - base.getKey();
+
+            List<T> pagina;
+            if (salto <= maxFilasAvance) {
+                List<T> filas = porClave.consultar(base.getValue(), salto + limite);
+                pagina = filas.size() <= salto
+                        ? List.of()
+                        : filas.subList(salto, Math.min(filas.size(), salto + limite));
+            } else {
+                pagina = porOffset.consultar(offset, limite);
+            }
+
+            if (!pagina.isEmpty()) {
+                recordar(offset + pagina.size(), posicionDe(pagina.get(pagina.size() - 1), orden));
+            }
+            return pagina;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Olvida las posiciones conocidas. Debe llamarse cuando cambia el filtro o
+     * los datos subyacentes.
+     */
+    public void reiniciar() {
+        lock.lock();
+        try {
+            posiciones.clear();
+            posiciones.put(0, ScrollPosition.keyset());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void recordar(int offset, KeysetScrollPosition posicion) {
+        posiciones.put(offset, posicion);
+        if (posiciones.size() > MAX_POSICIONES) {
+            // Conservamos siempre el inicio (offset 0)
+            posiciones.remove(posiciones.higherKey(0));
+        }
+    }
+
+    private KeysetScrollPosition posicionDe(T item, Sort orden) {
+        Map<String, Object> claves = new LinkedHashMap<>();
+        for (Sort.Order order : orden) {
+            claves.put(order.getProperty(), extractor.valor(item, order.getProperty()));
+        }
+        return ScrollPosition.forward(claves);
+    }
+}
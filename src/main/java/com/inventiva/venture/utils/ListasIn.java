@@ -0,0 +1,104 @@
+package com.inventiva.venture.utils;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Construcción de predicados {@code IN} adaptada a Oracle.
+ * <ul>
+ * <li>La lista se rellena (repitiendo el último valor) hasta el siguiente
+ * tamaño potencia de dos, para que listas de distinto largo compartan el mismo
+ * texto SQL y no provoquen hard parses en el shared pool.</li>
+ * <li>Pasado el límite de 1000 expresiones de Oracle (ORA-01795) se parte en
+ * grupos {@code IN (...) OR IN (...)} de 1000.</li>
+ * <li>Por encima del umbral se delega en una {@link EstrategiaListaIn}
+ * (en Oracle, un arreglo enlazado en un solo parámetro).</li>
+ * </ul>
+ * Las instancias son inmutables; la de la aplicación se construye en
+ * {@code ListasInConfig} a partir de {@code venture.persistencia.listas-in}.
+ */
+public final class ListasIn {
+
+    /** Máximo de expresiones por lista IN en Oracle. */
+    public static final int MAX_EXPRESIONES = 1000;
+
+    /** Solo grupos de 1000, sin estrategia para listas grandes. */
+    public static final ListasIn PARTICIONADAS = new ListasIn(null, Integer.MAX_VALUE);
+
+    private final EstrategiaListaIn estrategiaListasGrandes;
+    private final int umbralListasGrandes;
+
+    /**
+     * @param estrategia para listas con más de {@code umbral} valores; null para
+     *                   partir siempre en grupos de 1000
+     */
+    public ListasIn(EstrategiaListaIn estrategia, int umbral) {
+        this.estrategiaListasGrandes = estrategia;
+        this.umbralListasGrandes = estrategia == null ? Integer.MAX_VALUE : umbral;
+    }
+
+    Predicate crear(CriteriaQuery<?> query,
+            CriteriaBuilder cb,
+            Path<?> ruta,
+            Collection<?> brutos,
+            Function<Object, Object> convertidor) {
+        Set<Object> distintos = new LinkedHashSet<>(brutos.size() * 2);
+        for (Object bruto : brutos) {
+            Object valor = convertidor.apply(bruto);
+            if (valor != null) { // IN (NULL) nunca coincide
+                distintos.add(valor);
+            }
+        }
+        if (distintos.isEmpty()) {
+            return cb.disjunction();
+        }
+        List<Object> valores = new ArrayList<>(distintos);
+
+        EstrategiaListaIn estrategia = estrategiaListasGrandes;
+        if (estrategia != null && valores.size() > umbralListasGrandes) {
+            Predicate predicado = estrategia.crear(query, cb, ruta, valores);
+            if (predicado != null) {
+                return predicado;
+            }
+        }
+        return particionar(cb, ruta, valores);
+    }
+
+    static Predicate particionar(CriteriaBuilder cb, Path<?> ruta, List<Object> valores) {
+        int grupos = (valores.size() + MAX_EXPRESIONES - 1) / MAX_EXPRESIONES;
+        Predicate[] ins = new Predicate[grupos];
+        for (int g = 0; g < grupos; g++) {
+            int desde = g * MAX_EXPRESIONES;
+            int hasta = Math.min(valores.size(), desde + MAX_EXPRESIONES);
+            CriteriaBuilder.In<Object> in = cb.in(ruta);
+            for (int i = desde; i < hasta; i++) {
+                in.value(valores.get(i));
+            }
+            Object relleno = valores.get(hasta - 1);
+            for (int i = hasta - desde; i < tamanoBucket(hasta - desde); i++) {
+                in.value(relleno);
+            }
+            ins[g] = in;
+        }
+        return grupos == 1 ? ins[0] : cb.or(ins);
+    }
+
+    /**
+     * Siguiente potencia de dos (1, 2, 4, ... 512) o 1000 a partir de 513.
+     */
+    static int tamanoBucket(int cantidad) {
+        if (cantidad <= 1) {
+            return 1;
+        }
+        int potencia = Integer.highestOneBit(cantidad - 1) << 1;
+        return Math.min(potencia, MAX_EXPRESIONES);
+    }
+}
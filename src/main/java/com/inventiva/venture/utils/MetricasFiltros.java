@@ -0,0 +1,59 @@
+package com.inventiva.venture.utils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Locale;
+import java.util.Map;
+import org.springframework.stereotype.Component;
+
+/**
+ * Contadores de los filtros construidos, en el registro de la aplicación:
+ * <ul>
+ * <li>{@code venture.filtros.operadores{operador}}: cuántas veces se usa cada
+ * operador de {@link MapSpecificationBuilder} con un valor activo (solo los
+ * builders creados con estas métricas).</li>
+ * <li>{@code venture.filtros.busquedas{entidad,modo}}: búsquedas de texto por
+ * la forma en que se resolvieron (modo del planificador, o {@code indice}).</li>
+ * </ul>
+ */
+@Component
+public class MetricasFiltros {
+
+    private final MeterRegistry registry;
+
+    public MetricasFiltros(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /** Cuenta los operadores de las claves con valor (nulos y blancos se ignoran). */
+    public void registrarOperadores(Map<String, Object> filtros) {
+        for (Map.Entry<String, Object> filtro : filtros.entrySet()) {
+            Object valor = filtro.getValue();
+            if (valor == null || valor instanceof String s && s.isBlank()) {
+                continue;
+            }
+            String clave = filtro.getKey();
+            int separador = clave.indexOf(':');
+            OperadorFiltro operador = separador >= 0
+                    ? OperadorFiltro.desde(clave.substring(0, separador))
+                    : OperadorFiltro.LIKEIC;
+            if (operador != null) {
+                Counter.builder("venture.filtros.operadores")
+                        .description("Filtros construidos por operador")
+                        .tag("operador", operador.codigo())
+                        .register(registry)
+                        .increment();
+            }
+        }
+    }
+
+    /** Cuenta una búsqueda de texto de la entidad resuelta de la forma indicada. */
+    public void registrarBusqueda(String entidad, String modo) {
+        Counter.builder("venture.filtros.busquedas")
+                .description("Búsquedas de texto por forma de resolverlas")
+                .tag("entidad", entidad)
+                .tag("modo", modo.toLowerCase(Locale.ROOT))
+                .register(registry)
+                .increment();
+    }
+}
@@ -0,0 +1,289 @@
+package com.inventiva.venture.utils;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Operadores soportados por {@link MapSpecificationBuilder} en la convención
+ * {@code "operador:propiedad"}. Cada operador sabe construir su predicado a
+ * partir de las rutas ya resueltas y del conversor precalculado del atributo.
+ */
+enum OperadorFiltro {
+
+    EQ("eq") { // igualdad
+        @Override
+        Predicate crear(CriteriaQuery<?> query, CriteriaBuilder cb, Path<?>[] rutas, Object valor,
+                Function<Object, Object> convertidor) {
+            return cb.equal(rutas[0], convertidor.apply(valor));
+        }
+    },
+    NE("ne") { // distinto
+        @Override
+        Predicate crear(CriteriaQuery<?> query, CriteriaBuilder cb, Path<?>[] rutas, Object valor,
+                Function<Object, Object> convertidor) {
+            return cb.notEqual(rutas[0], convertidor.apply(valor));
+        }
+    },
+    LIKE("like") { // like normal
+        @Override
+        Predicate crear(CriteriaQuery<?> query, CriteriaBuilder cb, Path<?>[] rutas, Object valor,
+                Function<Object, Object> convertidor) {
+            return cb.like(texto(rutas[0]), "%" + valor + "%");
+        }
+    },
+    LIKEIC("likeic") { // like ignore case
+        @Override
+        Predicate crear(CriteriaQuery<?> query, CriteriaBuilder cb, Path<?>[] rutas, Object valor,
+                Function<Object, Object> convertidor) {
+            return cb.like(cb.upper(texto(rutas[0])), patronMayusculas(valor));
+        }
+    },
+    STARTSIC("startsic") { // empieza con, ignore case (usa índices sobre UPPER(col))
+        @Override
+        Predicate crear(CriteriaQuery<?> query, CriteriaBuilder cb, Path<?>[] rutas, Object valor,
+                Function<Object, Object> convertidor) {
+            return cb.like(cb.upper(texto(rutas[0])), patronPrefijo(valor), ESCAPE);
+        }
+    },
+    ISNULL("isnull") { // es nulo
+        @Override
+        Predicate crear(CriteriaQuery<?> query, CriteriaBuilder cb, Path<?>[] rutas, Object valor,
+                Function<Object, Object> convertidor) {
+            return cb.isNull(rutas[0]);
+        }
+    },
+    NOTNULL("notnull") { // no es nulo
+        @Override
+        Predicate crear(CriteriaQuery<?> query, CriteriaBuilder cb, Path<?>[] rutas, Object valor,
+                Function<Object, Object> convertidor) {
+            return cb.isNotNull(rutas[0]);
+        }
+    },
+    GE("ge") { // >=
+        @Override
+        @SuppressWarnings({ "rawtypes", "unchecked" })
+        Predicate crear(CriteriaQuery<?> query, CriteriaBuilder cb, Path<?>[] rutas, Object valor,
+                Function<Object, Object> convertidor) {
+            return cb.greaterThanOrEqualTo((Expression) rutas[0], comparable(valor, convertidor, codigo()));
+        }
+    },
+    LE("le") { // <=
+        @Override
+        @SuppressWarnings({ "rawtypes", "unchecked" })
+        Predicate crear(CriteriaQuery<?> query, CriteriaBuilder cb, Path<?>[] rutas, Object valor,
+                Function<Object, Object> convertidor) {
+            return cb.lessThanOrEqualTo((Expression) rutas[0], comparable(valor, convertidor, codigo()));
+        }
+    },
+    GT("gt") { // >
+        @Override
+        @SuppressWarnings({ "rawtypes", "unchecked" })
+        Predicate crear(CriteriaQuery<?> query, CriteriaBuilder cb, Path<?>[] rutas, Object valor,
+                Function<Object, Object> convertidor) {
+            return cb.greaterThan((Expression) rutas[0], comparable(valor, convertidor, codigo()));
+        }
+    },
+    LT("lt") { // <
+        @Override
+        @SuppressWarnings({ "rawtypes", "unchecked" })
+        Predicate crear(CriteriaQuery<?> query, CriteriaBuilder cb, Path<?>[] rutas, Object valor,
+                Function<Object, Object> convertidor) {
+            return cb.lessThan((Expression) rutas[0], comparable(valor, convertidor, codigo()));
+        }
+    },
+    BETWEEN("between") { // entre (incluye extremos)
+        /**
+         * Convención del valor:
+         * - Collection con al menos 2 elementos: [desde, hasta]
+         * - Array con al menos 2 elementos: [desde, hasta]
+         */
+        @Override
+        @SuppressWarnings({ "rawtypes", "unchecked" })
+        Predicate crear(CriteriaQuery<?> query, CriteriaBuilder cb, Path<?>[] rutas, Object valor,
+                Function<Object, Object> convertidor) {
+            List<Object> valores = new ArrayList<>();
+            if (valor instanceof Collection<?> coleccion) {
+                valores.addAll(coleccion);
+            } else if (valor.getClass().isArray()) {
+                valores.addAll(Arrays.asList((Object[]) valor));
+            } else {
+                throw new IllegalArgumentException(
+                        "El valor para 'between' debe ser una Collection o un array con al menos 2 elementos.");
+            }
+            if (valores.size() < 2) {
+                throw new IllegalArgumentException(
+                        "El valor para 'between' debe contener al menos 2 elementos (desde, hasta).");
+            }
+            Object desde = convertidor.apply(valores.get(0));
+            Object hasta = convertidor.apply(valores.get(1));
+            if (!(desde instanceof Comparable desdeComparable)
+                    || !(hasta instanceof Comparable hastaComparable)) {
+                throw new IllegalArgumentException(
+                        "Los valores para 'between' no son comparables tras la conversión.");
+            }
+            return cb.between((Expression) rutas[0], desdeComparable, hastaComparable);
+        }
+    },
+    IN("in") { // IN lista (ver ListasIn: buckets, particiones de 1000 y arreglo para listas grandes)
+        @Override
+        Predicate crear(CriteriaQuery<?> query, CriteriaBuilder cb, Path<?>[] rutas, Object valor,
+                Function<Object, Object> convertidor) {
+            return crear(ListasIn.PARTICIONADAS, query, cb, rutas, valor, convertidor);
+        }
+
+        @Override
+        Predicate crear(ListasIn listas, CriteriaQuery<?> query, CriteriaBuilder cb, Path<?>[] rutas,
+                Object valor, Function<Object, Object> convertidor) {
+            return listas.crear(query, cb, rutas[0], normalizarColeccion(valor), convertidor);
+        }
+    },
+    ORLIKEIC("orlikeic", true) { // propiedad = "campo1,campo2,..."
+        @Override
+        Predicate crear(CriteriaQuery<?> query, CriteriaBuilder cb, Path<?>[] rutas, Object valor,
+                Function<Object, Object> convertidor) {
+            String patron = patronMayusculas(valor);
+            Predicate[] ors = new Predicate[rutas.length];
+            for (int i = 0; i < rutas.length; i++) {
+                ors[i] = cb.like(cb.upper(texto(rutas[i])), patron);
+            }
+            return cb.or(ors);
+        }
+    },
+    ORSTARTSIC("orstartsic", true) { // propiedad = "campo1,campo2,..."
+        @Override
+        Predicate crear(CriteriaQuery<?> query, CriteriaBuilder cb, Path<?>[] rutas, Object valor,
+                Function<Object, Object> convertidor) {
+            String patron = patronPrefijo(valor);
+            Predicate[] ors = new Predicate[rutas.length];
+            for (int i = 0; i < rutas.length; i++) {
+                ors[i] = cb.like(cb.upper(texto(rutas[i])), patron, ESCAPE);
+            }
+            return cb.or(ors);
+        }
+    },
+    CONCATLIKEIC("concatlikeic", true) { // propiedad = "campo1,campo2,..."
+        @Override
+        Predicate crear(CriteriaQuery<?> query, CriteriaBuilder cb, Path<?>[] rutas, Object valor,
+                Function<Object, Object> convertidor) {
+            Expression<String> concatenado = cb.upper(texto(rutas[0]));
+            for (int i = 1; i < rutas.length; i++) {
+                concatenado = cb.concat(cb.concat(concatenado, " "), cb.upper(texto(rutas[i])));
+            }
+            return cb.like(concatenado, patronMayusculas(valor));
+        }
+    };
+
+    private static final char ESCAPE = '\\';
+
+    private static final Map<String, OperadorFiltro> POR_CODIGO = new HashMap<>();
+
+    static {
+        for (OperadorFiltro operador : values()) {
+            POR_CODIGO.put(operador.codigo, operador);
+        }
+    }
+
+    private final String codigo;
+    private final boolean multiplesCampos;
+
+    OperadorFiltro(String codigo) {
+        this(codigo, false);
+    }
+
+    OperadorFiltro(String codigo, boolean multiplesCampos) {
+        this.codigo = codigo;
+        this.multiplesCampos = multiplesCampos;
+    }
+
+    abstract Predicate crear(CriteriaQuery<?> query, CriteriaBuilder cb, Path<?>[] rutas, Object valor,
+            Function<Object, Object> convertidor);
+
+    /** Igual que {@link #crear(CriteriaQuery, CriteriaBuilder, Path[], Object, Function)}; solo IN usa {@code listas}. */
+    Predicate crear(ListasIn listas, CriteriaQuery<?> query, CriteriaBuilder cb, Path<?>[] rutas, Object valor,
+            Function<Object, Object> convertidor) {
+        return crear(query, cb, rutas, valor, convertidor);
+    }
+
+    /** Operador por código (sin distinguir mayúsculas) o {@code null} si no existe. */
+    static OperadorFiltro desde(String codigo) {
+        return POR_CODIGO.get(codigo.toLowerCase(Locale.ROOT));
+    }
+
+    String codigo() {
+        return codigo;
+    }
+
+    /** La propiedad es una lista de campos separados por coma. */
+    boolean multiplesCampos() {
+        return multiplesCampos;
+    }
+
+    /**
+     * El predicado es falso/desconocido cuando el atributo es NULL, por lo que
+     * una relación que solo se usa en él puede unirse con INNER JOIN. No aplica
+     * a {@code isnull} ni a {@code concatlikeic} (en Oracle {@code 'a' || NULL = 'a'}).
+     */
+    boolean rechazaNulos() {
+        return this != ISNULL && this != CONCATLIKEIC;
+    }
+
+    /** Operadores que requieren que el atributo implemente Comparable. */
+    boolean requiereComparable() {
+        return this == GE || this == LE || this == GT || this == LT || this == BETWEEN;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Expression<String> texto(Path<?> ruta) {
+        return (Expression<String>) ruta;
+    }
+
+    private static String patronMayusculas(Object valor) {
+        return "%" + valor.toString().toUpperCase() + "%";
+    }
+
+    /**
+     * {@code 'X%'}: a diferencia de {@code '%X%'} lo resuelve un índice sobre
+     * {@code UPPER(col)}. Los comodines del valor se escapan.
+     */
+    private static String patronPrefijo(Object valor) {
+        return TextoBusqueda.escaparLike(valor.toString().toUpperCase()) + "%";
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static Comparable comparable(Object valorBruto, Function<Object, Object> convertidor, String operador) {
+        // Convertimos el valor del filtro al tipo real del atributo
+        Object convertido = convertidor.apply(valorBruto);
+        if (!(convertido instanceof Comparable comparableValor)) {
+            throw new IllegalArgumentException(
+                    "El valor para '" + operador + "' no es comparable tras la conversión: " + convertido);
+        }
+        return comparableValor;
+    }
+
+    static Collection<?> normalizarColeccion(Object valor) {
+        if (valor instanceof Collection<?> coleccion) {
+            return coleccion;
+        }
+        if (valor != null && valor.getClass().isArray()) {
+            int length = java.lang.reflect.Array.getLength(valor);
+            List<Object> resultado = new ArrayList<>(length);
+            for (int i = 0; i < length; i++) {
+                resultado.add(java.lang.reflect.Array.get(valor, i));
+            }
+            return resultado;
+        }
+        return Collections.singletonList(valor);
+    }
+}
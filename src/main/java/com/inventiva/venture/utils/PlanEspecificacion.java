@@ -0,0 +1,318 @@
+package com.inventiva.venture.utils;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.PluralAttribute;
+import jakarta.persistence.metamodel.SingularAttribute;
+import jakarta.persistence.metamodel.Type;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Plan inmutable para un conjunto de claves de filtro sobre una entidad.
+ *
+ * Al compilar se parsea cada clave {@code "operador:propiedad"}, se separan las
+ * rutas anidadas, se resuelve el tipo Java del atributo contra el metamodelo y
+ * se elige el conversor de valores. Los planes se cachean por entidad y
+ * conjunto de claves, de modo que en cada consulta solo se enlazan los valores.
+ * La caché está acotada a {@link #MAX_PLANES} formas de filtro y descarta las
+ * menos usadas.
+ *
+ * Al enlazar, los joins se resuelven con un {@link RegistroJoins} por consulta:
+ * un solo JOIN por ruta, INNER cuando un filtro activo rechaza nulos en ella y
+ * ningún join para comparar el id de una relación ({@code eq:bswPaises.id} usa
+ * directamente la FK).
+ */
+final class PlanEspecificacion {
+
+    /** Cantidad máxima de planes en caché (formas de filtro distintas). */
+    static final int MAX_PLANES = 512;
+
+    // Mantenimiento en el hilo que consulta: el tamaño es exacto tras cada escritura
+    private static final Cache<ClavePlan, PlanEspecificacion> PLANES = Caffeine.newBuilder()
+            .maximumSize(MAX_PLANES)
+            .executor(Runnable::run)
+            .build();
+
+    private record ClavePlan(Class<?> entidad, Set<String> claves) {
+    }
+
+    /**
+     * Ruta compilada: segmentos, clave de cada join ({@code "a"}, {@code "a.b"}),
+     * cantidad de segmentos que requieren join y si alguno es una colección.
+     */
+    record RutaCompilada(String[] partes, String[] prefijos, int joins, boolean coleccion) {
+
+        Path<?> resolver(RegistroJoins registro) {
+            Path<?> ruta = registro.unir(partes, prefijos, joins);
+            for (int i = joins; i < partes.length; i++) {
+                ruta = ruta.get(partes[i]);
+            }
+            return ruta;
+        }
+    }
+
+    /**
+     * Filtro compilado: operador, rutas, tipo del (primer) atributo, conversor de
+     * valores y rutas de join en las que el filtro rechaza nulos. Si la clave no
+     * es válida (atributo inexistente o que no admite el operador), {@code error}
+     * describe el problema y se informa recién al recibir un valor no vacío,
+     * igual que antes de compilar.
+     */
+    record FiltroCompilado(String clave,
+            OperadorFiltro operador,
+            RutaCompilada[] rutas,
+            Class<?> tipo,
+            Function<Object, Object> convertidor,
+            Set<String> joinsInternos,
+            String error) {
+
+        Predicate aplicar(RegistroJoins registro, ListasIn listas, CriteriaQuery<?> query, CriteriaBuilder cb,
+                Object valor) {
+            if (error != null) {
+                throw new IllegalArgumentException(error);
+            }
+            Path<?>[] paths = new Path<?>[rutas.length];
+            for (int i = 0; i < rutas.length; i++) {
+                paths[i] = rutas[i].resolver(registro);
+            }
+            return operador.crear(listas, query, cb, paths, valor, convertidor);
+        }
+
+        boolean atraviesaColeccion() {
+            for (RutaCompilada ruta : rutas) {
+                if (ruta.coleccion()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private final List<FiltroCompilado> filtros;
+
+    private PlanEspecificacion(List<FiltroCompilado> filtros) {
+        this.filtros = filtros;
+    }
+
+    /**
+     * Devuelve el plan cacheado para la entidad y el conjunto de claves,
+     * compilándolo la primera vez. La búsqueda no copia el conjunto de claves.
+     */
+    static PlanEspecificacion obtener(ManagedType<?> entidad, Set<String> claves) {
+        PlanEspecificacion plan = PLANES.getIfPresent(new ClavePlan(entidad.getJavaType(), claves));
+        if (plan != null) {
+            return plan;
+        }
+        return PLANES.get(new ClavePlan(entidad.getJavaType(), Set.copyOf(claves)),
+                clave -> compilar(entidad, clave.claves()));
+    }
+
+    static PlanEspecificacion compilar(ManagedType<?> entidad, Set<String> claves) {
+        // Orden estable: mismo texto SQL para la misma forma de filtro
+        List<FiltroCompilado> filtros = new ArrayList<>(claves.size());
+        claves.stream()
+                .sorted()
+                .map(clave -> compilarClave(entidad, clave))
+                .filter(filtro -> filtro != null)
+                .forEach(filtros::add);
+        return new PlanEspecificacion(List.copyOf(filtros));
+    }
+
+    static long cantidadEnCache() {
+        PLANES.cleanUp();
+        return PLANES.estimatedSize();
+    }
+
+    List<FiltroCompilado> filtros() {
+        return filtros;
+    }
+
+    Predicate aplicar(From<?, ?> root, CriteriaQuery<?> query, CriteriaBuilder cb, Map<String, Object> valores) {
+        return aplicar(root, query, cb, valores, ListasIn.PARTICIONADAS);
+    }
+
+    /**
+     * Enlaza los valores del mapa al plan. Se ignoran los valores nulos o en
+     * blanco. El tipo de cada join se decide con los filtros que quedan activos.
+     * Las listas de {@code in:} se arman con {@code listas}.
+     */
+    Predicate aplicar(From<?, ?> root, CriteriaQuery<?> query, CriteriaBuilder cb, Map<String, Object> valores,
+            ListasIn listas) {
+        List<FiltroCompilado> activos = new ArrayList<>(filtros.size());
+        Set<String> joinsInternos = Set.of();
+        boolean distinct = false;
+        for (FiltroCompilado filtro : filtros) {
+            Object valor = valores.get(filtro.clave());
+            if (valor == null) {
+                continue;
+            }
+            if (valor instanceof String s && s.isBlank()) {
+                continue;
+            }
+            activos.add(filtro);
+            if (!filtro.joinsInternos().isEmpty()) {
+                if (joinsInternos.isEmpty()) {
+                    joinsInternos = new HashSet<>();
+                }
+                joinsInternos.addAll(filtro.joinsInternos());
+            }
+            distinct |= filtro.atraviesaColeccion();
+        }
+        if (activos.isEmpty()) {
+            return cb.conjunction();
+        }
+        if (distinct && query != null) {
+            // Un join a colección multiplica filas (y el COUNT pasa a COUNT DISTINCT)
+            query.distinct(true);
+        }
+
+        RegistroJoins registro = new RegistroJoins(root, joinsInternos);
+        Predicate[] predicados = new Predicate[activos.size()];
+        for (int i = 0; i < predicados.length; i++) {
+            FiltroCompilado filtro = activos.get(i);
+            predicados[i] = filtro.aplicar(registro, listas, query, cb, valores.get(filtro.clave()));
+        }
+        return cb.and(predicados);
+    }
+
+    private static FiltroCompilado compilarClave(ManagedType<?> entidad, String clave) {
+        // Convención: "operador:propiedad" o solo "propiedad" (default LIKEIC)
+        int separador = clave.indexOf(':');
+        OperadorFiltro operador = separador >= 0
+                ? OperadorFiltro.desde(clave.substring(0, separador))
+                : OperadorFiltro.LIKEIC;
+        if (operador == null) {
+            return null; // operador desconocido: se ignora como antes
+        }
+        String propiedad = separador >= 0 ? clave.substring(separador + 1) : clave;
+
+        String[] campos = operador.multiplesCampos()
+                ? propiedad.split(",")
+                : new String[] { propiedad };
+        RutaCompilada[] rutas = new RutaCompilada[campos.length];
+        Class<?> tipo;
+        try {
+            for (int i = 0; i < campos.length; i++) {
+                rutas[i] = compilarRuta(entidad, separarRuta(campos[i].trim()));
+            }
+            tipo = resolverTipo(entidad, rutas[0].partes());
+        } catch (IllegalArgumentException e) {
+            // Atributo inexistente: solo falla si el filtro llega con valor
+            return new FiltroCompilado(clave, operador, new RutaCompilada[0], Object.class,
+                    Function.identity(), Set.of(), e.getMessage());
+        }
+        String error = null;
+        if (operador.requiereComparable() && !Comparable.class.isAssignableFrom(tipo)) {
+            error = "El atributo '" + propiedad + "' de tipo " + tipo.getName()
+                    + " no implementa Comparable, no se puede usar con '" + operador.codigo() + "'.";
+        }
+        return new FiltroCompilado(clave, operador, rutas, tipo, ConvertidorValor.para(tipo),
+                joinsInternos(operador, rutas), error);
+    }
+
+    /**
+     * Rutas de join en las que el filtro rechaza nulos. En un OR de varios
+     * campos solo cuentan las rutas comunes a todos ellos.
+     */
+    private static Set<String> joinsInternos(OperadorFiltro operador, RutaCompilada[] rutas) {
+        if (!operador.rechazaNulos()) {
+            return Set.of();
+        }
+        Set<String> comunes = null;
+        for (RutaCompilada ruta : rutas) {
+            Set<String> propias = new HashSet<>(Arrays.asList(ruta.prefijos()).subList(0, ruta.joins()));
+            if (comunes == null) {
+                comunes = propias;
+            } else {
+                comunes.retainAll(propias);
+            }
+        }
+        return comunes == null ? Set.of() : Set.copyOf(comunes);
+    }
+
+    private static RutaCompilada compilarRuta(ManagedType<?> entidad, String[] partes) {
+        String[] prefijos = new String[partes.length];
+        StringBuilder prefijo = new StringBuilder();
+        for (int i = 0; i < partes.length; i++) {
+            if (i > 0) {
+                prefijo.append('.');
+            }
+            prefijos[i] = prefijo.append(partes[i]).toString();
+        }
+
+        int joins = partes.length - 1;
+        boolean coleccion = false;
+        ManagedType<?> actual = entidad;
+        for (int i = 0; i < partes.length - 1; i++) {
+            Attribute<?, ?> atributo = actual.getAttribute(partes[i]);
+            coleccion |= atributo.isCollection();
+            actual = destino(actual, atributo, partes[i]);
+        }
+        // "relacion.id" sobre una relación a uno se compara con la FK, sin join
+        if (partes.length > 1 && esIdDeRelacionAUno(entidad, partes)) {
+            joins = partes.length - 2;
+        }
+        return new RutaCompilada(partes, prefijos, joins, coleccion);
+    }
+
+    private static boolean esIdDeRelacionAUno(ManagedType<?> entidad, String[] partes) {
+        ManagedType<?> actual = entidad;
+        Attribute<?, ?> relacion = null;
+        for (int i = 0; i < partes.length - 1; i++) {
+            relacion = actual.getAttribute(partes[i]);
+            actual = destino(actual, relacion, partes[i]);
+        }
+        return relacion instanceof SingularAttribute<?, ?>
+                && actual.getAttribute(partes[partes.length - 1]) instanceof SingularAttribute<?, ?> ultimo
+                && ultimo.isId();
+    }
+
+    private static ManagedType<?> destino(ManagedType<?> actual, Attribute<?, ?> atributo, String nombre) {
+        Type<?> destino = atributo instanceof PluralAttribute<?, ?, ?> plural
+                ? plural.getElementType()
+                : ((SingularAttribute<?, ?>) atributo).getType();
+        if (!(destino instanceof ManagedType<?> gestionado)) {
+            throw new IllegalArgumentException(
+                    "La propiedad '" + nombre + "' no es una relación navegable en "
+                            + actual.getJavaType().getSimpleName());
+        }
+        return gestionado;
+    }
+
+    /**
+     * Soporta paths anidados: "bswPaises.descripcion", "bswPaises.region.nombre",
+     * etc. Equivalente a {@code split("\\.")} sin expresiones regulares.
+     */
+    static String[] separarRuta(String rutaPropiedad) {
+        List<String> partes = new ArrayList<>(2);
+        int inicio = 0;
+        int punto;
+        while ((punto = rutaPropiedad.indexOf('.', inicio)) >= 0) {
+            partes.add(rutaPropiedad.substring(inicio, punto));
+            inicio = punto + 1;
+        }
+        partes.add(rutaPropiedad.substring(inicio));
+        return partes.toArray(new String[0]);
+    }
+
+    private static Class<?> resolverTipo(ManagedType<?> entidad, String[] partes) {
+        ManagedType<?> actual = entidad;
+        for (int i = 0; i < partes.length - 1; i++) {
+            actual = destino(actual, actual.getAttribute(partes[i]), partes[i]);
+        }
+        return actual.getAttribute(partes[partes.length - 1]).getJavaType();
+    }
+}
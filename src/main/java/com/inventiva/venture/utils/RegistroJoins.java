@@ -0,0 +1,67 @@
+package com.inventiva.venture.utils;
+
+import jakarta.persistence.criteria.Fetch;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Joins de una consulta indexados por ruta ({@code "bswPaises"},
+ * {@code "bswPaises.region"}), para que varios filtros sobre la misma relación
+ * compartan un único JOIN.
+ *
+ * Antes de crear un join se reutiliza el que ya tenga la consulta para ese
+ * atributo, incluidos los fetch joins (por ejemplo de un EntityGraph u otra
+ * Specification compuesta). Los joins nuevos son INNER cuando algún filtro
+ * activo ya rechaza nulos en esa ruta y LEFT en caso contrario.
+ */
+final class RegistroJoins {
+
+    private final From<?, ?> root;
+    private final Set<String> rutasInternas;
+    private final Map<String, From<?, ?>> joins = new HashMap<>(4);
+
+    RegistroJoins(From<?, ?> root, Set<String> rutasInternas) {
+        this.root = root;
+        this.rutasInternas = rutasInternas;
+    }
+
+    /**
+     * Devuelve el {@code From} alcanzado tras unir los primeros {@code cantidad}
+     * segmentos de la ruta.
+     */
+    From<?, ?> unir(String[] partes, String[] prefijos, int cantidad) {
+        From<?, ?> actual = root;
+        for (int i = 0; i < cantidad; i++) {
+            From<?, ?> join = joins.get(prefijos[i]);
+            if (join == null) {
+                join = existente(actual, partes[i]);
+                if (join == null) {
+                    join = actual.join(partes[i],
+                            rutasInternas.contains(prefijos[i]) ? JoinType.INNER : JoinType.LEFT);
+                }
+                joins.put(prefijos[i], join);
+            }
+            actual = join;
+        }
+        return actual;
+    }
+
+    private static From<?, ?> existente(From<?, ?> padre, String atributo) {
+        for (Join<?, ?> join : padre.getJoins()) {
+            if (join.getAttribute().getName().equals(atributo)) {
+                return join;
+            }
+        }
+        for (Fetch<?, ?> fetch : padre.getFetches()) {
+            // En Hibernate los fetch joins también son Join y se pueden filtrar
+            if (fetch.getAttribute().getName().equals(atributo) && fetch instanceof Join<?, ?> join) {
+                return join;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,60 @@
+package com.inventiva.venture.utils;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Normalización de textos de búsqueda: descomposición canónica (NFD) sin las
+ * marcas combinantes U+0300..U+036F y mayúsculas carácter por carácter
+ * ({@code "Peña Güemes" -> "PENA GUEMES"}). Las palabras se separan por todo
+ * lo que no sea letra o dígito.
+ *
+ * Es la misma regla que la función BSW_TOKENS_BUSQUEDA de la base (migración
+ * V4), que usa el trigger TRG_BSW_PERSONAS_TOKENS: DECOMPOSE, TRANSLATE de las
+ * mismas marcas, UPPER y {@code [^[:alnum:]]} como separador. Si cambia una,
+ * debe cambiar la otra ({@code BswPersonasTokensIT} compara ambas).
+ */
+public final class TextoBusqueda {
+
+    private static final Pattern MARCAS = Pattern.compile("[\\u0300-\\u036F]+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private TextoBusqueda() {
+    }
+
+    public static String normalizar(String texto) {
+        if (texto == null || texto.isEmpty()) {
+            return "";
+        }
+        String sinMarcas = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        // Como UPPER de Oracle: sin expansiones ("ß" sigue siendo "ß", no "SS")
+        StringBuilder mayusculas = new StringBuilder(sinMarcas.length());
+        sinMarcas.codePoints().map(Character::toUpperCase).forEach(mayusculas::appendCodePoint);
+        return mayusculas.toString();
+    }
+
+    /**
+     * Palabras normalizadas y sin repetir, en orden de aparición, separadas
+     * por cualquier carácter que no sea letra o dígito.
+     */
+    public static List<String> tokens(String texto) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : SEPARADORES.split(normalizar(texto))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return new ArrayList<>(tokens);
+    }
+
+    /**
+     * Escapa los comodines de LIKE ({@code %}, {@code _}) con {@code \}.
+     */
+    public static String escaparLike(String texto) {
+        return texto.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
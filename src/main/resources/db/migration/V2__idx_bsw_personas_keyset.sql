@@ -0,0 +1,2 @@
+-- Soporte para paginado keyset ordenado por nombre (COD_PERSONA ya tiene UK_BSW_PERSONAS_COD)
+CREATE INDEX IX_BSW_PERSONAS_NOMBRE ON BSW_PERSONAS (NOMBRE);
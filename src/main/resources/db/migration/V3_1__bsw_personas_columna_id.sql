@@ -0,0 +1,16 @@
+-- V1 creó la clave de BSW_PERSONAS como ID_PERSONA, pero la entidad BswPersonas
+-- y las sentencias nativas (MERGE de la importación, búsqueda por palabras de V4)
+-- usan ID. Se renombra antes de V4; los esquemas que ya tienen ID no cambian.
+DECLARE
+    V_CANTIDAD NUMBER;
+BEGIN
+    SELECT COUNT(*)
+      INTO V_CANTIDAD
+      FROM USER_TAB_COLUMNS
+     WHERE TABLE_NAME = 'BSW_PERSONAS'
+       AND COLUMN_NAME = 'ID_PERSONA';
+    IF V_CANTIDAD > 0 THEN
+        EXECUTE IMMEDIATE 'ALTER TABLE BSW_PERSONAS RENAME COLUMN ID_PERSONA TO ID';
+    END IF;
+END;
+/
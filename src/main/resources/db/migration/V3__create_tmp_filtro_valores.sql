@@ -0,0 +1,8 @@
+-- Tabla temporal para filtros IN con listas grandes (ver TablaTemporalListaIn).
+-- Las filas son privadas de cada sesión y se borran al terminar la transacción.
+CREATE GLOBAL TEMPORARY TABLE TMP_FILTRO_VALORES (
+    LOTE   NUMBER(19) NOT NULL,
+    VALOR  NUMBER(19) NOT NULL
+) ON COMMIT DELETE ROWS;
+
+CREATE INDEX IX_TMP_FILTRO_VALORES ON TMP_FILTRO_VALORES (LOTE, VALOR);
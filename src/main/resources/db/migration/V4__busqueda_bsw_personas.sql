@@ -0,0 +1,78 @@
+-- Búsqueda indexada de personas (ver BswPersonasBusqueda).
+
+-- "Empieza con" sin distinguir mayúsculas: UPPER(col) LIKE 'X%'
+CREATE INDEX IX_BSW_PERSONAS_UCOD ON BSW_PERSONAS (UPPER(COD_PERSONA));
+CREATE INDEX IX_BSW_PERSONAS_UNOMBRE ON BSW_PERSONAS (UPPER(NOMBRE));
+
+-- Palabras de NOMBRE y COD_PERSONA en mayúsculas y sin acentos, para buscar
+-- por cualquier palabra ("pena" encuentra "Juan Peña").
+CREATE TABLE BSW_PERSONAS_TOKENS (
+    TOKEN       VARCHAR2(150 CHAR) NOT NULL,
+    ID_PERSONA  NUMBER(19)         NOT NULL,
+    CONSTRAINT PK_BSW_PERSONAS_TOKENS PRIMARY KEY (TOKEN, ID_PERSONA),
+    -- Las bajas borran las palabras en la misma sentencia, sin trigger por fila
+    CONSTRAINT FK_BSW_PERSONAS_TOKENS_PER FOREIGN KEY (ID_PERSONA)
+        REFERENCES BSW_PERSONAS (ID) ON DELETE CASCADE
+) ORGANIZATION INDEX;
+
+CREATE INDEX IX_BSW_PERSONAS_TOKENS_PER ON BSW_PERSONAS_TOKENS (ID_PERSONA);
+
+-- Palabras de búsqueda de un texto, sin repetir y en orden de aparición. Es la
+-- regla de TextoBusqueda.tokens(): descomposición canónica, sin las marcas
+-- combinantes U+0300..U+036F, mayúsculas y separadas por todo lo que no sea
+-- letra o dígito.
+CREATE OR REPLACE FUNCTION BSW_TOKENS_BUSQUEDA(P_TEXTO IN VARCHAR2)
+RETURN SYS.ODCIVARCHAR2LIST DETERMINISTIC
+IS
+    TYPE T_VISTOS IS TABLE OF BOOLEAN INDEX BY VARCHAR2(4000);
+    V_MARCAS VARCHAR2(1000);
+    V_TEXTO  VARCHAR2(32767);
+    V_TOKEN  VARCHAR2(4000);
+    V_VISTOS T_VISTOS;
+    V_TOKENS SYS.ODCIVARCHAR2LIST := SYS.ODCIVARCHAR2LIST();
+    V_NIVEL  PLS_INTEGER := 1;
+BEGIN
+    IF P_TEXTO IS NULL THEN
+        RETURN V_TOKENS;
+    END IF;
+    FOR V_CODIGO IN 768 .. 879 LOOP
+        V_MARCAS := V_MARCAS || UNISTR('\' || TO_CHAR(V_CODIGO, 'FM0XXX'));
+    END LOOP;
+    -- TRANSLATE borra los caracteres de la lista sin reemplazo (todas las marcas)
+    V_TEXTO := UPPER(TRANSLATE(DECOMPOSE(P_TEXTO, 'CANONICAL'), '#' || V_MARCAS, '#'));
+    V_TEXTO := REGEXP_REPLACE(V_TEXTO, '[^[:alnum:]]+', ' ');
+    LOOP
+        V_TOKEN := REGEXP_SUBSTR(V_TEXTO, '[^ ]+', 1, V_NIVEL);
+        EXIT WHEN V_TOKEN IS NULL;
+        IF NOT V_VISTOS.EXISTS(V_TOKEN) THEN
+            V_VISTOS(V_TOKEN) := TRUE;
+            V_TOKENS.EXTEND;
+            V_TOKENS(V_TOKENS.COUNT) := V_TOKEN;
+        END IF;
+        V_NIVEL := V_NIVEL + 1;
+    END LOOP;
+    RETURN V_TOKENS;
+END;
+/
+
+-- Solo cuando cambia el texto de una persona existente. Las altas no disparan
+-- nada por fila (lotes JDBC, MERGE de la importación): quien inserta genera
+-- las palabras con una sola sentencia al final (BswPersonasRepository.generarTokens,
+-- BswPersonasMergeJdbc.generarTokensFaltantes).
+CREATE OR REPLACE TRIGGER TRG_BSW_PERSONAS_TOKENS
+AFTER UPDATE OF COD_PERSONA, NOMBRE ON BSW_PERSONAS
+FOR EACH ROW
+WHEN (NEW.NOMBRE <> OLD.NOMBRE OR NEW.COD_PERSONA <> OLD.COD_PERSONA)
+BEGIN
+    DELETE FROM BSW_PERSONAS_TOKENS WHERE ID_PERSONA = :OLD.ID;
+    INSERT INTO BSW_PERSONAS_TOKENS (TOKEN, ID_PERSONA)
+    SELECT DISTINCT SUBSTR(T.COLUMN_VALUE, 1, 150), :NEW.ID
+      FROM TABLE(BSW_TOKENS_BUSQUEDA(:NEW.NOMBRE || ' ' || :NEW.COD_PERSONA)) T;
+END;
+/
+
+-- Carga inicial para las filas existentes
+INSERT INTO BSW_PERSONAS_TOKENS (TOKEN, ID_PERSONA)
+SELECT DISTINCT SUBSTR(T.COLUMN_VALUE, 1, 150), P.ID
+  FROM BSW_PERSONAS P,
+       TABLE(BSW_TOKENS_BUSQUEDA(P.NOMBRE || ' ' || P.COD_PERSONA)) T;
@@ -0,0 +1,15 @@
+-- Las entidades reservan ids de a 50 (allocationSize = 50, optimizador
+-- pooled-lo): cada NEXTVAL entrega el inicio de un bloque de 50 ids.
+-- Los NEXTVAL hechos por fuera de Hibernate siguen sin solaparse.
+ALTER SEQUENCE bsw_personas_id_seq INCREMENT BY 50;
+
+-- BSW_PAISES no se crea con Flyway; se ajusta si la secuencia existe
+BEGIN
+    EXECUTE IMMEDIATE 'ALTER SEQUENCE BSW_PAISES_ID_SEQ INCREMENT BY 50';
+EXCEPTION
+    WHEN OTHERS THEN
+        IF SQLCODE != -2289 THEN -- ORA-02289: la secuencia no existe
+            RAISE;
+        END IF;
+END;
+/
@@ -0,0 +1,8 @@
+-- ES_FISICA se mapea con IndicadorSiNo (S/N). Datos heredados guardaban A/I
+-- (el mapeo anterior leía 'A' como verdadero): se normalizan antes de que el
+-- próximo guardado los convierta en 'N'.
+UPDATE BSW_PERSONAS
+   SET ES_FISICA = CASE WHEN UPPER(ES_FISICA) IN ('S', 'A') THEN 'S' ELSE 'N' END
+ WHERE ES_FISICA NOT IN ('S', 'N');
+
+ALTER TABLE BSW_PERSONAS ADD CONSTRAINT CK_BSW_PERSONAS_ES_FISICA CHECK (ES_FISICA IN ('S', 'N'));
@@ -0,0 +1,3 @@
+-- Las listas IN grandes se enlazan como un arreglo (ArregloListaIn), que también
+-- sirve en transacciones de solo lectura; la tabla temporal de V3 ya no se usa.
+DROP TABLE TMP_FILTRO_VALORES;
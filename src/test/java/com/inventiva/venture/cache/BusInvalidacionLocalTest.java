@@ -0,0 +1,67 @@
+package com.inventiva.venture.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class BusInvalidacionLocalTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final BusInvalidacionLocal.Canal canal = new BusInvalidacionLocal.Canal();
+    private final BusInvalidacionLocal nodoA = new BusInvalidacionLocal(canal, Duration.ofMillis(50), registry);
+    private final BusInvalidacionLocal nodoB = new BusInvalidacionLocal(canal, Duration.ofMillis(50), registry);
+
+    @AfterEach
+    void cerrar() {
+        nodoA.close();
+        nodoB.close();
+    }
+
+    @Test
+    void debeAvisarALosDemasNodosYNoAlQuePublica() throws InterruptedException {
+        CountDownLatch recibidoEnB = new CountDownLatch(1);
+        AtomicInteger recibidosEnA = new AtomicInteger();
+        nodoA.suscribir("bsw-personas", recibidosEnA::incrementAndGet);
+        nodoB.suscribir("bsw-personas", recibidoEnB::countDown);
+
+        nodoA.publicar("bsw-personas");
+
+        assertThat(recibidoEnB.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(recibidosEnA).hasValue(0);
+    }
+
+    @Test
+    void unaRafagaDebeEnviarseComoUnSoloMensaje() throws InterruptedException {
+        CountDownLatch paises = new CountDownLatch(1);
+        AtomicInteger personas = new AtomicInteger();
+        nodoB.suscribir("bsw-personas", personas::incrementAndGet);
+        nodoB.suscribir("bsw-paises", paises::countDown);
+
+        for (int i = 0; i < 1000; i++) {
+            nodoA.publicar("bsw-personas");
+        }
+        nodoA.publicar("bsw-paises");
+
+        assertThat(paises.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(personas).hasValue(1);
+        assertThat(registry.get("venture.cache.invalidacion.mensajes").tag("sentido", "enviado")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void mensajeDebeLeerseComoSeEscribe() {
+        MensajeInvalidacion mensaje = new MensajeInvalidacion("nodo-1", Set.of("bsw-personas", "bsw-paises"));
+
+        assertThat(MensajeInvalidacion.leer(mensaje.texto())).isEqualTo(mensaje);
+        assertThatThrownBy(() -> MensajeInvalidacion.leer("sin-separador"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,76 @@
+package com.inventiva.venture.capacidad;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+class CompartimentosTest {
+
+    private SimpleMeterRegistry registry;
+    private Compartimentos compartimentos;
+
+    @BeforeEach
+    void setUp() {
+        CapacidadProperties.Compartimentos config = new CapacidadProperties.Compartimentos();
+        config.setPermisos(2);
+        config.setModulos(Map.of("bs", 1));
+        config.setEspera(Duration.ofMillis(50));
+        config.setMaxEnCola(5);
+        registry = new SimpleMeterRegistry();
+        compartimentos = new Compartimentos(config, registry);
+    }
+
+    @Test
+    void debeRechazarCuandoElModuloNoTieneCupoDentroDeLaEspera() {
+        assertThat(compartimentos.entrar("bs")).isTrue();
+
+        assertThatThrownBy(() -> CompletableFuture.runAsync(() -> compartimentos.entrar("bs")).join())
+                .hasCauseInstanceOf(SistemaOcupadoException.class);
+        assertThat(registry.get("venture.compartimentos.rechazos")
+                .tag("modulo", "bs").tag("motivo", "espera").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void unModuloOcupadoNoDebeAfectarAOtro() {
+        compartimentos.entrar("bs");
+
+        assertThat(CompletableFuture.supplyAsync(() -> compartimentos.entrar("vt")).join()).isTrue();
+        assertThat(registry.get("venture.compartimentos.en.uso").tag("modulo", "vt").gauge().value())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void lasLlamadasAnidadasDelMismoModuloNoDebenTomarOtroCupo() {
+        assertThat(compartimentos.entrar("bs")).isTrue();
+        assertThat(compartimentos.entrar("bs")).isFalse();
+
+        compartimentos.salir("bs");
+
+        assertThat(CompletableFuture.supplyAsync(() -> compartimentos.entrar("bs")).join()).isTrue();
+    }
+
+    @Test
+    void debeReconocerLaFaltaDeCapacidadEnLaCadenaDeCausas() {
+        assertThat(SistemaOcupadoException.esCausa(new IllegalStateException(
+                new SistemaOcupadoException("bs", "sin cupo")))).isTrue();
+        assertThat(SistemaOcupadoException.esCausa(new CannotCreateTransactionException("sin conexión",
+                new SQLTransientConnectionException("timeout")))).isTrue();
+        assertThat(SistemaOcupadoException.esCausa(new IllegalStateException("otro"))).isFalse();
+    }
+
+    @Test
+    void elRecomendadorDebeAplicarLaLeyDeLittleConLaUtilizacionObjetivo() {
+        // 50 préstamos/s de 100 ms: 5 conexiones ocupadas en promedio, 8 al 70 %
+        assertThat(RecomendadorPool.recomendar(50, 0.1, 0.7, 2, 50)).isEqualTo(8);
+        assertThat(RecomendadorPool.recomendar(1, 0.01, 0.7, 2, 50)).isEqualTo(2);
+        assertThat(RecomendadorPool.recomendar(1000, 1, 0.7, 2, 50)).isEqualTo(50);
+    }
+}
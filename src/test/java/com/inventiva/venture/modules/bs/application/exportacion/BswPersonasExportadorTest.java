@@ -0,0 +1,74 @@
+package com.inventiva.venture.modules.bs.application.exportacion;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.inventiva.venture.modules.bs.application.service.BswPersonasService;
+import com.inventiva.venture.modules.bs.infrastructure.repository.BswPersonasFilaExportacion;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+class BswPersonasExportadorTest {
+
+    private static final Sort ORDEN = Sort.by(Sort.Direction.DESC, "id");
+
+    private final List<BswPersonasFilaExportacion> filas = List.of(
+            new BswPersonasFilaExportacion(1L, "001", "Peña, José", "123-4", null, null,
+                    LocalDate.of(1990, 1, 15), true),
+            new BswPersonasFilaExportacion(2L, "002", "Ana \"Anita\" Gomez", null, "Asunción", "021", null, false));
+
+    private BswPersonasExportador exportador;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        BswPersonasService service = mock(BswPersonasService.class);
+        when(service.recorrer(eq("pe"), eq(ORDEN), any())).thenAnswer(invocacion -> {
+            Consumer<BswPersonasFilaExportacion> consumidor = invocacion.getArgument(2);
+            filas.forEach(consumidor);
+            return (long) filas.size();
+        });
+        exportador = new BswPersonasExportador(service);
+    }
+
+    @Test
+    void csvDebeEscaparCamposYUsarLasColumnasDeImportacion() throws Exception {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+
+        long exportadas = exportador.exportar("pe", ORDEN, FormatoExportacion.CSV, salida);
+
+        assertThat(exportadas).isEqualTo(2);
+        assertThat(salida.toString(StandardCharsets.UTF_8)).isEqualTo("\uFEFF"
+                + "cod_persona,nombre,ruc,direccion,telefono,fec_nacimiento,es_fisica\r\n"
+                + "001,\"Peña, José\",123-4,,,1990-01-15,S\r\n"
+                + "002,\"Ana \"\"Anita\"\" Gomez\",,Asunción,021,,N\r\n");
+    }
+
+    @Test
+    void xlsxDebeTenerEncabezadoYUnaFilaPorPersona() throws Exception {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+
+        exportador.exportar("pe", ORDEN, FormatoExportacion.XLSX, salida);
+
+        try (XSSFWorkbook libro = new XSSFWorkbook(new ByteArrayInputStream(salida.toByteArray()))) {
+            Sheet hoja = libro.getSheet("Personas");
+            assertThat(hoja.getLastRowNum()).isEqualTo(2);
+            assertThat(hoja.getRow(0).getCell(0).getStringCellValue()).isEqualTo("cod_persona");
+            assertThat(hoja.getRow(1).getCell(1).getStringCellValue()).isEqualTo("Peña, José");
+            assertThat(hoja.getRow(1).getCell(5).getLocalDateTimeCellValue().toLocalDate())
+                    .isEqualTo(LocalDate.of(1990, 1, 15));
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.inventiva.venture.modules.bs.application.importacion;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import com.inventiva.venture.modules.bs.application.config.BswPersonasProperties;
+import com.inventiva.venture.modules.bs.application.service.BswPersonasCache;
+import com.inventiva.venture.modules.bs.domain.model.BswPersonas;
+import com.inventiva.venture.modules.bs.infrastructure.repository.BswPersonasMergeJdbc;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class BswPersonasImportadorTest {
+
+    private final List<BswPersonas> escritas = Collections.synchronizedList(new ArrayList<>());
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private BswPersonasImportador importador;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        BswPersonasMergeJdbc mergeJdbc = mock(BswPersonasMergeJdbc.class);
+        doAnswer(invocacion -> escritas.addAll(invocacion.getArgument(0)))
+                .when(mergeJdbc).merge(anyList(), any());
+
+        BswPersonasProperties properties = new BswPersonasProperties();
+        properties.getImportacion().setTamanoLote(2);
+        properties.getImportacion().setLotesEnCola(1);
+        properties.getImportacion().setHilosValidacion(2);
+        properties.getImportacion().setSeparadorCsv(';');
+
+        importador = new BswPersonasImportador(mergeJdbc, mock(PlatformTransactionManager.class),
+                properties, mock(ObjectProvider.class), mock(BswPersonasCache.class), registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        importador.destroy();
+    }
+
+    @Test
+    void validarDebeAplicarLasReglasDelFormulario() {
+        FilaImportacion fila = new FilaImportacion(7, Map.of(
+                "codpersona", " ",
+                "nombre", "x".repeat(151),
+                "fecnacimiento", "31/02/1990x"));
+
+        BswPersonasImportador.FilaValidada validada = BswPersonasImportador.validar(fila);
+
+        assertThat(validada.errores()).containsExactlyInAnyOrder(
+                "fecNacimiento: fecha inválida '31/02/1990x' (AAAA-MM-DD o DD/MM/AAAA)",
+                "esFisica: El indicador es obligatorio (S/N)",
+                "codPersona: El código es obligatorio",
+                "nombre: Máximo 150 caracteres");
+    }
+
+    @Test
+    void validarDebeConvertirFechasEIndicador() {
+        FilaImportacion fila = new FilaImportacion(1, Map.of(
+                "codpersona", "001",
+                "nombre", "Juan Perez",
+                "fecnacimiento", "15/08/1990",
+                "esfisica", "no"));
+
+        BswPersonasImportador.FilaValidada validada = BswPersonasImportador.validar(fila);
+
+        assertThat(validada.errores()).isEmpty();
+        assertThat(validada.persona().getFecNacimiento()).isEqualTo(LocalDate.of(1990, 8, 15));
+        assertThat(validada.persona().isEsFisica()).isFalse();
+    }
+
+    @Test
+    void importarCsvDebeEscribirValidasYRechazarInvalidas() throws Exception {
+        String csv = """
+                COD_PERSONA;NOMBRE;RUC;FEC_NACIMIENTO;ES_FISICA
+                001;Juan Perez;123-4;1990-01-01;S
+                002;;;;S
+                003;Ana Gomez;;;N
+                004;Pedro Ruiz;;2001-13-01;S
+                005;José Peña;;;S
+                """;
+        StringWriter rechazos = new StringWriter();
+
+        ResultadoImportacion resultado = importador.importar(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), FormatoImportacion.CSV, rechazos);
+
+        assertThat(resultado.leidas()).isEqualTo(5);
+        assertThat(resultado.guardadas()).isEqualTo(3);
+        assertThat(resultado.rechazadas()).isEqualTo(2);
+        assertThat(escritas).extracting(BswPersonas::getCodPersona)
+                .containsExactlyInAnyOrder("001", "003", "005");
+        assertThat(rechazos.toString())
+                .startsWith("fila,codPersona,errores\n")
+                .contains("2,\"002\",\"nombre: El nombre es obligatorio\"")
+                .contains("4,\"004\"");
+        assertThat(registry.get("venture.bs.personas.importacion.filas")
+                .tag("resultado", "guardada").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    void importarJsonDebeLeerUnArregloDeObjetos() throws Exception {
+        String json = """
+                [{"codPersona": "010", "nombre": "Luis", "esFisica": true},
+                 {"codPersona": "011", "nombre": "Marta", "esFisica": "N"}]
+                """;
+
+        ResultadoImportacion resultado = importador.importar(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), FormatoImportacion.JSON,
+                new StringWriter());
+
+        assertThat(resultado.guardadas()).isEqualTo(2);
+        assertThat(escritas).extracting(BswPersonas::getCodPersona, BswPersonas::isEsFisica)
+                .containsExactlyInAnyOrder(tuple("010", true), tuple("011", false));
+    }
+
+    @Test
+    void importarDebeRechazarFilasSinIndicadorDePersonaFisica() throws Exception {
+        String csv = """
+                COD_PERSONA;NOMBRE;ES_FISICA
+                020;Luis;S
+                021;Marta;
+                """;
+        StringWriter rechazos = new StringWriter();
+
+        ResultadoImportacion resultado = importador.importar(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), FormatoImportacion.CSV, rechazos);
+        // Los hilos son del bean: una segunda importación los reutiliza
+        ResultadoImportacion segunda = importador.importar(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), FormatoImportacion.CSV,
+                new StringWriter());
+
+        assertThat(resultado.guardadas()).isEqualTo(1);
+        assertThat(resultado.rechazadas()).isEqualTo(1);
+        assertThat(segunda.guardadas()).isEqualTo(1);
+        assertThat(rechazos.toString())
+                .contains("2,\"021\",\"esFisica: El indicador es obligatorio (S/N)\"");
+    }
+}
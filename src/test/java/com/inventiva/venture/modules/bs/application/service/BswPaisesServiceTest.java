@@ -0,0 +1,110 @@
+package com.inventiva.venture.modules.bs.application.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.inventiva.venture.cache.BusInvalidacion;
+import com.inventiva.venture.modules.bs.domain.model.BswPaises;
+import com.inventiva.venture.modules.bs.infrastructure.repository.BswPaisesRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+class BswPaisesServiceTest {
+
+    @Mock
+    private BswPaisesRepository repository;
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private BusInvalidacion bus;
+
+    private SimpleMeterRegistry registry;
+    private BswPaisesService service;
+    private final AtomicLong reloj = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        registry = new SimpleMeterRegistry();
+        service = new BswPaisesService(repository, entityManagerFactory, bus, registry, reloj::get);
+        when(repository.findAllByOrderByDescripcionAsc()).thenReturn(List.of(
+                BswPaises.builder().id(1L).codPais("AR").descripcion("Argentina").build(),
+                BswPaises.builder().id(2L).codPais("PY").descripcion("Paraguay").build()));
+    }
+
+    @Test
+    void buscarPorCodigoDebeCargarElCatalogoUnaSolaVez() {
+        assertThat(service.buscarPorCodigo("PY")).map(BswPaisesResumen::id).contains(2L);
+        assertThat(service.buscarPorCodigo(" AR ")).map(BswPaisesResumen::id).contains(1L);
+        assertThat(service.buscarPorCodigo("BR")).isEmpty();
+        assertThat(service.buscarPorCodigo(null)).isEmpty();
+
+        verify(repository, times(1)).findAllByOrderByDescripcionAsc();
+        assertThat(registry.get("cache.gets").tag("result", "miss").counter().count()).isEqualTo(1);
+        assertThat(registry.get("cache.gets").tag("result", "hit").counter().count()).isEqualTo(2);
+        assertThat(registry.get("cache.size").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void invalidarDebeRecargarYLimpiarLaCacheDeSegundoNivel() {
+        SessionFactory sessionFactory = mock(SessionFactory.class, Answers.RETURNS_DEEP_STUBS);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+
+        service.listar();
+        service.invalidar();
+        service.listar();
+
+        verify(repository, times(2)).findAllByOrderByDescripcionAsc();
+        verify(entityManagerFactory.getCache()).evict(BswPaises.class);
+        verify(sessionFactory.getCache()).evictQueryRegion(BswPaises.REGION_CONSULTAS);
+    }
+
+    @Test
+    void guardarFueraDeTransaccionDebeDescartarElCatalogo() {
+        BswPaises pais = BswPaises.builder().codPais("BR").descripcion("Brasil").build();
+        when(repository.save(pais)).thenReturn(pais);
+
+        service.listar();
+        service.guardar(pais);
+        service.listar();
+
+        verify(repository, times(2)).findAllByOrderByDescripcionAsc();
+        verify(bus).publicar(BswPaises.REGION_CACHE);
+    }
+
+    @Test
+    void listarDebeSerInmutable() {
+        List<BswPaisesResumen> paises = service.listar();
+
+        assertThat(paises).extracting(BswPaisesResumen::codPais).containsExactly("AR", "PY");
+        assertThatThrownBy(() -> paises.add(paises.get(0)))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void elCatalogoDebeRecargarseAlVencerLaVigencia() {
+        service.listar();
+        reloj.addAndGet(BswPaisesService.VIGENCIA.toNanos() - 1);
+        service.listar();
+        verify(repository, times(1)).findAllByOrderByDescripcionAsc();
+
+        reloj.incrementAndGet();
+        service.listar();
+
+        verify(repository, times(2)).findAllByOrderByDescripcionAsc();
+    }
+}
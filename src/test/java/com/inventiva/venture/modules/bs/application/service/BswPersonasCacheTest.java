@@ -0,0 +1,167 @@
+package com.inventiva.venture.modules.bs.application.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.inventiva.venture.cache.BusInvalidacion;
+import com.inventiva.venture.modules.bs.application.config.BswPersonasProperties;
+import com.inventiva.venture.persistence.Cancelacion;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Sort;
+
+class BswPersonasCacheTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final BusInvalidacion bus = mock(BusInvalidacion.class);
+    private final BswPersonasCache cache = new BswPersonasCache(new BswPersonasProperties(), bus, registry);
+    private final AtomicInteger cargas = new AtomicInteger();
+
+    @Test
+    void debeReutilizarResultadosConElMismoFiltroNormalizado() {
+        Sort sort = Sort.by("id");
+
+        cache.obtener("resumenes", "peña", 0L, 50, sort, cargas::incrementAndGet);
+        int resultado = cache.obtener("resumenes", "  PEÑA ", 0L, 50, sort, cargas::incrementAndGet);
+
+        assertThat(resultado).isEqualTo(1);
+        assertThat(cargas).hasValue(1);
+        assertThat(registry.get("cache.gets").tag("cache", BswPersonasCache.NOMBRE)
+                .tag("result", "hit").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void debeDistinguirPaginaOrdenYOperacion() {
+        cache.obtener("resumenes", "", 0L, 50, Sort.by("id"), cargas::incrementAndGet);
+        cache.obtener("resumenes", "", 50L, 50, Sort.by("id"), cargas::incrementAndGet);
+        cache.obtener("resumenes", "", 0L, 50, Sort.by("nombre"), cargas::incrementAndGet);
+        cache.obtener("contar", "", null, 0, Sort.unsorted(), cargas::incrementAndGet);
+
+        assertThat(cargas).hasValue(4);
+    }
+
+    @Test
+    void invalidarDebeOcultarLosResultadosAnteriores() {
+        cache.obtener("contar", "", null, 0, Sort.unsorted(), cargas::incrementAndGet);
+        cache.invalidarTrasCommit();
+
+        int resultado = cache.obtener("contar", "", null, 0, Sort.unsorted(), cargas::incrementAndGet);
+
+        assertThat(resultado).isEqualTo(2);
+        verify(bus).publicar(BswPersonasCache.REGION);
+    }
+
+    @Test
+    void unAvisoDeOtroNodoDebeOcultarLosResultadosSinReenviarlo() {
+        ArgumentCaptor<Runnable> suscripcion = ArgumentCaptor.forClass(Runnable.class);
+        verify(bus).suscribir(eq(BswPersonasCache.REGION), suscripcion.capture());
+        cache.obtener("contar", "", null, 0, Sort.unsorted(), cargas::incrementAndGet);
+
+        suscripcion.getValue().run();
+
+        assertThat((int) cache.obtener("contar", "", null, 0, Sort.unsorted(), cargas::incrementAndGet))
+                .isEqualTo(2);
+        verify(bus, never()).publicar(BswPersonasCache.REGION);
+    }
+
+    @Test
+    void unaCargaFallidaNoDebeQuedarEnCache() {
+        assertThatThrownBy(() -> cache.obtener("contar", "", null, 0, Sort.unsorted(), () -> {
+            throw new IllegalStateException("Oracle no disponible");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat((int) cache.obtener("contar", "", null, 0, Sort.unsorted(), cargas::incrementAndGet))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void pedidosSimultaneosDebenEjecutarUnaSolaConsulta() throws Exception {
+        CountDownLatch enCurso = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        ExecutorService hilos = Executors.newFixedThreadPool(2);
+        try {
+            Future<Integer> primero = hilos.submit(() -> cache.obtener("contar", "", null, 0, Sort.unsorted(), () -> {
+                enCurso.countDown();
+                esperar(liberar);
+                return cargas.incrementAndGet();
+            }));
+            assertThat(enCurso.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<Integer> segundo = hilos.submit(
+                    () -> cache.obtener("contar", "", null, 0, Sort.unsorted(), cargas::incrementAndGet));
+            liberar.countDown();
+
+            assertThat(primero.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+            assertThat(segundo.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+            assertThat(cargas).hasValue(1);
+        } finally {
+            hilos.shutdownNow();
+        }
+    }
+
+    @Test
+    void cancelarUnaCargaNoDebeFallarAOtraSesionQueEsperaElMismoResultado() throws Exception {
+        Cancelacion cancelacion = new Cancelacion();
+        CountDownLatch enCurso = new CountDownLatch(1);
+        CountDownLatch cancelada = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        ExecutorService hilos = Executors.newFixedThreadPool(2);
+        try {
+            // Sesión A: carga asíncrona del grid, la cancela al seguir escribiendo
+            Future<Integer> primero = hilos.submit(() -> cancelacion.ejecutar(
+                    () -> cache.obtener("contar", "", null, 0, Sort.unsorted(), () -> {
+                        enCurso.countDown();
+                        esperar(cancelada);
+                        throw new IllegalStateException("ORA-01013: cancelada por el usuario");
+                    })));
+            assertThat(enCurso.await(5, TimeUnit.SECONDS)).isTrue();
+            // Sesión B pide lo mismo mientras tanto
+            Future<Integer> segundo = hilos.submit(
+                    () -> cache.obtener("contar", "", null, 0, Sort.unsorted(), () -> {
+                        esperar(liberar);
+                        return cargas.incrementAndGet();
+                    }));
+            cancelacion.cancelar();
+            cancelada.countDown();
+
+            assertThatThrownBy(() -> primero.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(IllegalStateException.class);
+            liberar.countDown();
+            assertThat(segundo.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+            assertThat((int) cache.obtener("contar", "", null, 0, Sort.unsorted(), cargas::incrementAndGet))
+                    .isEqualTo(1);
+        } finally {
+            hilos.shutdownNow();
+        }
+    }
+
+    @Test
+    void deshabilitadaDebeConsultarSiempre() {
+        BswPersonasProperties properties = new BswPersonasProperties();
+        properties.getCache().setHabilitado(false);
+        BswPersonasCache sinCache = new BswPersonasCache(properties, bus, registry);
+
+        sinCache.obtener("contar", "", null, 0, Sort.unsorted(), cargas::incrementAndGet);
+        sinCache.obtener("contar", "", null, 0, Sort.unsorted(), cargas::incrementAndGet);
+
+        assertThat(cargas).hasValue(2);
+    }
+
+    private static void esperar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
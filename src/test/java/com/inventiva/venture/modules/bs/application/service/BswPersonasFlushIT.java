@@ -0,0 +1,164 @@
+package com.inventiva.venture.modules.bs.application.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.inventiva.venture.modules.bs.domain.model.BswPersonas;
+import com.inventiva.venture.modules.bs.infrastructure.repository.BswPersonasRepository;
+import com.inventiva.venture.persistence.ListasInConfig;
+import com.inventiva.venture.persistence.PersistenciaProperties;
+import com.inventiva.venture.utils.MetricasFiltros;
+import jakarta.persistence.EntityManager;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.testcontainers.containers.OracleContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Costo del flush con la mejora de bytecode (hibernate-enhance-maven-plugin):
+ * cada entidad registra qué atributos cambiaron, de modo que el flush no
+ * compara el estado de las entidades sin cambios con su snapshot.
+ */
+@Slf4j
+@Testcontainers
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ BswPersonasService.class, ListasInConfig.class })
+@EnableConfigurationProperties(PersistenciaProperties.class)
+class BswPersonasFlushIT {
+
+    @Container
+    private static final OracleContainer ORACLE = new OracleContainer("gvenzl/oracle-xe:21-slim")
+            .withDatabaseName("INV")
+            .withUsername("INV")
+            .withPassword("INV");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", ORACLE::getJdbcUrl);
+        registry.add("spring.datasource.username", ORACLE::getUsername);
+        registry.add("spring.datasource.password", ORACLE::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "oracle.jdbc.OracleDriver");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+        registry.add("spring.flyway.locations", () -> "classpath:db/migration");
+    }
+
+    @MockitoBean
+    private BswPersonasCache cache;
+
+    @MockitoBean
+    private MetricasFiltros metricas;
+
+    @Autowired
+    private BswPersonasService service;
+
+    @Autowired
+    private BswPersonasRepository repository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private Flyway flyway;
+
+    private Statistics estadisticas;
+
+    @BeforeEach
+    void setUp() {
+        flyway.clean();
+        flyway.migrate();
+        estadisticas = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        estadisticas.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void lasEntidadesDebenEstarMejoradas() {
+        BswPersonas persona = new BswPersonas();
+        SelfDirtinessTracker seguimiento = (SelfDirtinessTracker) persona;
+        seguimiento.$$_hibernate_clearDirtyAttributes();
+
+        persona.setNombre("Ana");
+
+        assertThat(seguimiento.$$_hibernate_getDirtyAttributes()).containsExactly("nombre");
+    }
+
+    @Test
+    void elFlushSoloDebeConsiderarLasEntidadesModificadas() {
+        long chico = flushConUnCambio(500);
+        long grande = flushConUnCambio(5_000);
+        log.info("Flush con 500 entidades: {} µs; con 5000: {} µs", chico / 1_000, grande / 1_000);
+    }
+
+    @Test
+    void buscarPorIdDebeCargarLosAtributosLazy() {
+        service.guardarTodos(personas(0, 1));
+        Long id = repository.findAll().get(0).getId();
+        entityManager.clear();
+
+        BswPersonas listada = repository.findAll().get(0);
+        assertThat(Hibernate.isPropertyInitialized(listada, "direccion")).isFalse();
+        entityManager.clear();
+
+        BswPersonas editada = service.buscarPorId(id).orElseThrow();
+        assertThat(Hibernate.isPropertyInitialized(editada, "direccion")).isTrue();
+        assertThat(editada.getDireccion()).isEqualTo("Calle 0");
+    }
+
+    /**
+     * Guarda {@code cantidad} personas con la operación masiva del servicio,
+     * las carga todas en el contexto de persistencia, modifica una y hace
+     * flush. Solo esa debe tener atributos sucios y generar UPDATE.
+     *
+     * @return duración del flush en nanosegundos
+     */
+    private long flushConUnCambio(int cantidad) {
+        int desde = (int) repository.count();
+        service.guardarTodos(personas(desde, cantidad));
+        List<BswPersonas> cargadas = repository.findAll();
+        cargadas.get(cargadas.size() / 2).setNombre("Modificada");
+
+        assertThat(cargadas)
+                .filteredOn(p -> ((SelfDirtinessTracker) p).$$_hibernate_hasDirtyAttributes())
+                .hasSize(1);
+
+        estadisticas.clear();
+        long inicio = System.nanoTime();
+        entityManager.flush();
+        long duracion = System.nanoTime() - inicio;
+        assertThat(estadisticas.getEntityUpdateCount()).isEqualTo(1);
+        entityManager.clear();
+        return duracion;
+    }
+
+    private static List<BswPersonas> personas(int desde, int cantidad) {
+        List<BswPersonas> personas = new ArrayList<>(cantidad);
+        for (int i = desde; i < desde + cantidad; i++) {
+            personas.add(BswPersonas.builder()
+                    .codPersona(String.format("P%06d", i))
+                    .nombre("Persona " + i)
+                    .direccion("Calle " + i)
+                    .fecNacimiento(LocalDate.of(1980, 1, 1).plusDays(i))
+                    .esFisica(true)
+                    .build());
+        }
+        return personas;
+    }
+}
@@ -0,0 +1,138 @@
+package com.inventiva.venture.modules.bs.application.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.inventiva.venture.cache.BusInvalidacion;
+import com.inventiva.venture.modules.bs.application.config.BswPersonasProperties;
+import com.inventiva.venture.modules.bs.domain.model.BswPersonas;
+import com.inventiva.venture.modules.bs.infrastructure.repository.BswPersonasRepository;
+import com.inventiva.venture.modules.bs.infrastructure.repository.BswPersonasTexto;
+import com.inventiva.venture.persistence.PersistenciaProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+class BswPersonasIndiceTest {
+
+    private final BswPersonasRepository repository = mock(BswPersonasRepository.class);
+    private final BusInvalidacion bus = mock(BusInvalidacion.class);
+    private final BswPersonasProperties properties = new BswPersonasProperties();
+    private BswPersonasIndice indice;
+
+    @BeforeEach
+    void crear() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        when(repository.leerTextos(anyInt())).thenAnswer(invocacion -> Stream.of(
+                new BswPersonasTexto(1L, "001", "José Peña"),
+                new BswPersonasTexto(2L, "P-002", "Ana Penayo")));
+        properties.getIndice().setEsperaReconstruccion(Duration.ofMillis(100));
+        indice = new BswPersonasIndice(repository, transactionManager, properties,
+                new PersistenciaProperties(), bus, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void cerrar() {
+        indice.destroy();
+    }
+
+    @Test
+    void soloDebeResponderLaBusquedaContieneConLaSemanticaDeLaConsulta() {
+        indice.reconstruir();
+
+        assertThat(ids("*PENA")).containsExactly(2L); // UPPER(col) LIKE: distingue acentos
+        assertThat(ids("*peña")).containsExactly(1L);
+        assertThat(ids("*-002")).containsExactly(2L);
+        assertThat(indice.buscar("pena", Sort.unsorted())).isNull(); // palabras: base de datos
+        assertThat(indice.buscar("P-002", Sort.unsorted())).isNull(); // prefijo de código: base de datos
+    }
+
+    @Test
+    void losAvisosSeguidosDeOtroNodoDebenProvocarUnaSolaReconstruccion() throws InterruptedException {
+        ArgumentCaptor<Runnable> aviso = ArgumentCaptor.forClass(Runnable.class);
+        verify(bus).suscribir(eq(BswPersonasCache.REGION), aviso.capture());
+
+        for (int i = 0; i < 10; i++) {
+            aviso.getValue().run();
+            Thread.sleep(10);
+        }
+
+        verify(repository, timeout(2_000)).leerTextos(anyInt());
+        Thread.sleep(300);
+        verify(repository, times(1)).leerTextos(anyInt());
+    }
+
+    @Test
+    void unIdQueNoCabeEnUnIntDebeDescartarElIndiceSinFallar() {
+        indice.reconstruir();
+
+        indice.registrarGuardado(BswPersonas.builder()
+                .id(Integer.MAX_VALUE + 1L).codPersona("X1").nombre("Peña Grande").build());
+
+        assertThat(indice.buscar("*peña", Sort.unsorted())).isNull();
+    }
+
+    @Test
+    void debeOrdenarYPaginarLasCoincidenciasConElTotal() {
+        when(repository.leerTextos(anyInt())).thenAnswer(invocacion -> Stream.of(
+                new BswPersonasTexto(1L, "C-3", "Ana Gómez"),
+                new BswPersonasTexto(2L, "C-1", "Ana Gómez"),
+                new BswPersonasTexto(3L, "C-2", "Bruno Gómez"),
+                new BswPersonasTexto(4L, "C-4", "Carla Pérez")));
+        indice.reconstruir();
+
+        BswPersonasIndice.Coincidencias coincidencias = indice.buscar("*gómez",
+                Sort.by(Sort.Direction.DESC, "nombre").and(Sort.by(Sort.Direction.DESC, "id")));
+
+        assertThat(coincidencias.total()).isEqualTo(3);
+        assertThat(coincidencias.todas()).containsExactly(3L, 2L, 1L);
+        assertThat(coincidencias.pagina(1, 5)).containsExactly(2L, 1L);
+        assertThat(coincidencias.pagina(3, 5)).isEmpty();
+        assertThat(indice.buscar("*gómez", Sort.by("codPersona")).todas()).containsExactly(2L, 3L, 1L);
+    }
+
+    @Test
+    void debeContinuarDespuesDeLaClaveDeUnaPosicionKeyset() {
+        when(repository.leerTextos(anyInt())).thenAnswer(invocacion -> Stream.of(
+                new BswPersonasTexto(1L, "C-3", "Ana Gómez"),
+                new BswPersonasTexto(2L, "C-1", "Ana Gómez"),
+                new BswPersonasTexto(3L, "C-2", "Bruno Gómez")));
+        indice.reconstruir();
+        Sort sort = Sort.by("nombre").and(Sort.by("id"));
+
+        BswPersonasIndice.Coincidencias coincidencias = indice.buscar("*gómez", sort);
+
+        assertThat(coincidencias.desde(ScrollPosition.keyset(), 2)).containsExactly(1L, 2L);
+        assertThat(coincidencias.desde(ScrollPosition.forward(Map.of("nombre", "Ana Gómez", "id", 1L)), 2))
+                .containsExactly(2L, 3L);
+    }
+
+    @Test
+    void unOrdenPorOtraPropiedadDebeIrALaBaseDeDatos() {
+        indice.reconstruir();
+
+        assertThat(indice.buscar("*peña", Sort.by("ruc"))).isNull();
+    }
+
+    private List<Long> ids(String filtro) {
+        return indice.buscar(filtro, Sort.unsorted()).todas();
+    }
+}
@@ -3,26 +3,66 @@ package com.inventiva.venture.modules.bs.application.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.inventiva.venture.cache.BusInvalidacion;
+import com.inventiva.venture.modules.bs.application.config.BswPersonasProperties;
 import com.inventiva.venture.modules.bs.domain.model.BswPersonas;
 import com.inventiva.venture.modules.bs.infrastructure.repository.BswPersonasRepository;
+import com.inventiva.venture.modules.bs.infrastructure.repository.BswPersonasResumen;
+import com.inventiva.venture.persistence.PersistenciaProperties;
+import com.inventiva.venture.utils.MetricasFiltros;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
 class BswPersonasServiceTest {
 
     @Mock
     private BswPersonasRepository repository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ObjectProvider<BswPersonasIndice> indice;
+
+    @Spy
+    private BswPersonasCache cache = new BswPersonasCache(new BswPersonasProperties(),
+            mock(BusInvalidacion.class), new SimpleMeterRegistry());
+
+    @Spy
+    private PersistenciaProperties persistencia = new PersistenciaProperties();
+
+    private final SimpleMeterRegistry registro = new SimpleMeterRegistry();
+
+    @Spy
+    private MetricasFiltros metricas = new MetricasFiltros(registro);
+
     @InjectMocks
     private BswPersonasService service;
 
@@ -32,27 +72,191 @@ class BswPersonasServiceTest {
     }
 
     @Test
+    @SuppressWarnings("unchecked")
     void listarDebeDelegarEnRepositorio() {
         BswPersonas persona = BswPersonas.builder().id(1L).codPersona("001").nombre("Juan Perez").build();
         Page<BswPersonas> page = new PageImpl<>(List.of(persona));
-        when(repository.findByCodPersonaContainingIgnoreCaseOrNombreContainingIgnoreCase(eq("Juan"), eq("Juan"), any()))
-                .thenReturn(page);
+        PageRequest pageable = PageRequest.of(0, 10);
+        when(repository.findAll(any(Specification.class), eq(pageable))).thenReturn(page);
 
-        Page<BswPersonas> result = service.listar("Juan", PageRequest.of(0, 10));
+        Page<BswPersonas> result = service.listar("Juan", pageable);
 
         assertThat(result.getContent()).hasSize(1);
-        verify(repository).findByCodPersonaContainingIgnoreCaseOrNombreContainingIgnoreCase(eq("Juan"), eq("Juan"), any());
+        verify(repository).findAll(any(Specification.class), eq(pageable));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void listarDebeContarLaBusquedaPorModo() {
+        PageRequest pageable = PageRequest.of(0, 10);
+        when(repository.findAll(any(Specification.class), eq(pageable))).thenReturn(Page.empty());
+
+        service.listar("Juan Perez", pageable);
+        service.listar("*perez", pageable);
+
+        assertThat(registro.get("venture.filtros.busquedas")
+                .tags("entidad", "personas", "modo", "tokens").counter().count()).isEqualTo(1.0);
+        assertThat(registro.get("venture.filtros.busquedas")
+                .tags("entidad", "personas", "modo", "contiene").counter().count()).isEqualTo(1.0);
+        assertThat(registro.find("venture.filtros.operadores").counters()).isEmpty();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void listarResumenesNoDebeCargarEntidades() {
+        PageRequest pageable = PageRequest.of(0, 10);
+        BswPersonasResumen resumen = new BswPersonasResumen(1L, "001", "Juan Perez", null, null, null, null);
+        when(repository.buscarResumenes(any(Specification.class), eq(pageable)))
+                .thenReturn(new SliceImpl<>(List.of(resumen), pageable, false));
+
+        assertThat(service.listarResumenes("Juan", pageable).getContent()).containsExactly(resumen);
+        verify(repository, never()).findAll(any(Specification.class), any(PageRequest.class));
+        verify(repository, never()).count(any(Specification.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void conElIndiceDebeTraerSoloLaPaginaYContarEnMemoria() {
+        PageRequest pageable = PageRequest.of(1, 2, Sort.by("nombre"));
+        BswPersonasIndice.Coincidencias coincidencias = mock(BswPersonasIndice.Coincidencias.class);
+        when(coincidencias.total()).thenReturn(5);
+        when(coincidencias.pagina(2, 2)).thenReturn(List.of(7L, 3L));
+        BswPersonasIndice disponible = mock(BswPersonasIndice.class);
+        when(disponible.buscar(eq("*perez"), any(Sort.class))).thenReturn(coincidencias);
+        when(indice.getIfAvailable()).thenReturn(disponible);
+        BswPersonasResumen resumen = new BswPersonasResumen(7L, "007", "Ana Perez", null, null, null, null);
+        when(repository.buscarResumenes(any(Specification.class), eq(Pageable.unpaged(pageable.getSort()))))
+                .thenReturn(new SliceImpl<>(List.of(resumen)));
+
+        Slice<BswPersonasResumen> pagina = service.listarResumenes("*perez", pageable);
+
+        assertThat(pagina.getContent()).containsExactly(resumen);
+        assertThat(pagina.hasNext()).isTrue(); // 2 + 2 < 5
+        assertThat(service.contar("*perez")).isEqualTo(5L);
+        verify(repository, never()).count(any(Specification.class));
+        assertThat(registro.get("venture.filtros.busquedas")
+                .tags("entidad", "personas", "modo", "indice").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void listarResumenesKeysetDebeBuscarDesdeLaPosicion() {
+        Sort sort = Sort.by(Sort.Direction.DESC, "id");
+        var posicion = ScrollPosition.forward(Map.of("id", 10L));
+        when(repository.buscarResumenesDesde(any(Specification.class), eq(posicion), eq(50), eq(sort)))
+                .thenReturn(List.of());
+
+        assertThat(service.listarResumenesKeyset("", posicion, 50, sort)).isEmpty();
+        verify(repository).buscarResumenesDesde(any(Specification.class), eq(posicion), eq(50), eq(sort));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void estimarTotalSinFiltroDebeUsarEstadisticasSinContar() {
+        when(repository.estimarTotal()).thenReturn(1_500_000L);
+
+        Long total = service.estimarTotal("  ").join();
+
+        assertThat(total).isEqualTo(1_500_000L);
+        verify(repository, never()).count(any(Specification.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void contarRepetidoDebeResponderDesdeLaCacheHastaUnaEscritura() {
+        when(repository.count(any(Specification.class))).thenReturn(7L);
+        when(repository.save(any(BswPersonas.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertThat(service.contar("")).isEqualTo(7L);
+        assertThat(service.contar("  ")).isEqualTo(7L);
+        verify(repository, times(1)).count(any(Specification.class));
+
+        service.guardar(BswPersonas.builder().id(9L).codPersona("009").nombre("Nueva").build());
+        service.contar("");
+
+        verify(repository, times(2)).count(any(Specification.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void estimarTotalConFiltroNoDebeContar() {
+        assertThat(service.estimarTotal("Juan").join()).isNull();
+        verify(repository, never()).count(any(Specification.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void estimarTotalSinEstadisticasNoDebeContar() {
+        assertThat(service.estimarTotal("").join()).isNull();
+        verify(repository, never()).count(any(Specification.class));
     }
 
     @Test
     void guardarDebePersistirEntidad() {
         BswPersonas persona = BswPersonas.builder().codPersona("001").nombre("Juan Perez").build();
-        when(repository.save(persona)).thenReturn(persona);
+        when(repository.save(persona)).thenAnswer(invocacion -> {
+            persona.setId(1L);
+            return persona;
+        });
 
         BswPersonas resultado = service.guardar(persona);
 
         assertThat(resultado).isEqualTo(persona);
         verify(repository).save(persona);
+        verify(repository).generarTokens(List.of(1L));
+    }
+
+    @Test
+    void modificarNoDebeGenerarPalabrasDeBusqueda() {
+        BswPersonas persona = BswPersonas.builder().id(7L).codPersona("007").nombre("Juan Perez").build();
+        when(repository.save(persona)).thenReturn(persona);
+
+        service.guardar(persona);
+
+        verify(repository, never()).generarTokens(any());
+    }
+
+    @Test
+    void guardarTodosDebeVaciarElContextoCadaLote() {
+        List<BswPersonas> personas = nuevas(5);
+
+        int guardadas = service.guardarTodos(personas, 2);
+
+        assertThat(guardadas).isEqualTo(5);
+        verify(repository, times(5)).save(any(BswPersonas.class));
+        // Lotes de 2, 2 y el resto (1), cada uno con una sentencia de palabras
+        verify(entityManager, times(3)).flush();
+        verify(entityManager, times(3)).clear();
+        verify(repository).generarTokens(List.of(100L, 101L));
+        verify(repository).generarTokens(List.of(102L, 103L));
+        verify(repository).generarTokens(List.of(104L));
+    }
+
+    @Test
+    void guardarTodosDebeReconstruirElIndiceUnaSolaVez() {
+        BswPersonasIndice disponible = mock(BswPersonasIndice.class);
+        doAnswer(invocacion -> {
+            invocacion.<Consumer<BswPersonasIndice>>getArgument(0).accept(disponible);
+            return null;
+        }).when(indice).ifAvailable(any());
+        List<BswPersonas> personas = nuevas(5);
+
+        service.guardarTodos(personas, 2);
+
+        verify(disponible, never()).registrarGuardado(any());
+        verify(disponible).reconstruirTrasCommit();
+    }
+
+    /** Personas sin id; al guardarlas el repositorio les asigna 100, 101, ... como el persist. */
+    private List<BswPersonas> nuevas(int cantidad) {
+        List<BswPersonas> personas = IntStream.range(0, cantidad)
+                .mapToObj(i -> BswPersonas.builder().codPersona("00" + i).nombre("Persona " + i).build())
+                .toList();
+        personas.forEach(persona -> when(repository.save(persona)).thenAnswer(invocacion -> {
+            persona.setId(100L + personas.indexOf(persona));
+            return persona;
+        }));
+        return personas;
     }
 
     @Test
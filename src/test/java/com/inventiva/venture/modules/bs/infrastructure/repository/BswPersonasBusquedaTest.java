@@ -0,0 +1,60 @@
+package com.inventiva.venture.modules.bs.infrastructure.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.inventiva.venture.modules.bs.infrastructure.repository.BswPersonasBusqueda.Modo;
+import com.inventiva.venture.modules.bs.infrastructure.repository.BswPersonasBusqueda.Plan;
+import com.inventiva.venture.utils.TextoBusqueda;
+import org.junit.jupiter.api.Test;
+
+class BswPersonasBusquedaTest {
+
+    @Test
+    void sinTextoNoDebeFiltrar() {
+        assertThat(BswPersonasBusqueda.planificar(null).modo()).isEqualTo(Modo.TODOS);
+        assertThat(BswPersonasBusqueda.planificar("   ").modo()).isEqualTo(Modo.TODOS);
+        assertThat(BswPersonasBusqueda.planificar(" * ").modo()).isEqualTo(Modo.TODOS);
+    }
+
+    @Test
+    void codigoDebeBuscarsePorPrefijo() {
+        Plan plan = BswPersonasBusqueda.planificar(" a-001 ");
+
+        assertThat(plan.modo()).isEqualTo(Modo.PREFIJO);
+        assertThat(plan.texto()).isEqualTo("A-001");
+    }
+
+    @Test
+    void palabrasDebenNormalizarseSinAcentos() {
+        Plan plan = BswPersonasBusqueda.planificar("Peña  Güemes, peña");
+
+        assertThat(plan.modo()).isEqualTo(Modo.TOKENS);
+        assertThat(plan.tokens()).containsExactly("PENA", "GUEMES");
+    }
+
+    @Test
+    void cualquierSignoQueNoSeaLetraNiDigitoDebeSepararPalabras() {
+        assertThat(TextoBusqueda.tokens("«João»—O'Brien ¿Ørsted? Straße"))
+                .containsExactly("JOAO", "O", "BRIEN", "ØRSTED", "STRAßE");
+    }
+
+    @Test
+    void debeLimitarLaCantidadDePalabras() {
+        Plan plan = BswPersonasBusqueda.planificar("a b c d e f g");
+
+        assertThat(plan.tokens()).hasSize(BswPersonasBusqueda.MAX_TOKENS);
+    }
+
+    @Test
+    void asteriscoDebePedirBusquedaContiene() {
+        Plan plan = BswPersonasBusqueda.planificar("*perez");
+
+        assertThat(plan.modo()).isEqualTo(Modo.CONTIENE);
+        assertThat(plan.texto()).isEqualTo("PEREZ");
+    }
+
+    @Test
+    void debeEscaparComodinesDeLike() {
+        assertThat(TextoBusqueda.escaparLike("10%_a\\b")).isEqualTo("10\\%\\_a\\\\b");
+    }
+}
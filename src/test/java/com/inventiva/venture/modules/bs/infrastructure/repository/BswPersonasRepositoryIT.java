@@ -10,6 +10,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.testcontainers.containers.OracleContainer;
@@ -17,6 +18,8 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 @Testcontainers
 @DataJpaTest
@@ -45,6 +48,9 @@ class BswPersonasRepositoryTest {
     @Autowired
     private Flyway flyway;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @BeforeEach
     void setUp() {
         flyway.clean();
@@ -60,7 +66,7 @@ class BswPersonasRepositoryTest {
                 .direccion("Asunción")
                 .telefono("021123456")
                 .fecNacimiento(LocalDate.of(1990, 5, 10))
-                .esFisicaAux(true)                
+                .esFisica(true)
                 .build();
 
         repository.save(persona);
@@ -70,7 +76,25 @@ class BswPersonasRepositoryTest {
 
         assertThat(result.getTotalElements()).isEqualTo(1);
         BswPersonas recuperada = result.getContent().get(0);
-        assertThat(recuperada.isEsFisicaAux()).isTrue();
+        assertThat(recuperada.isEsFisica()).isTrue();
         assertThat(recuperada.getCodPersona()).isEqualTo("001");
     }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void laMigracionDebeNormalizarEsFisicaHeredadaAS() {
+        flyway.clean();
+        // Esquema anterior a V6; la clave ya es ID (V3.1), la columna que mapea la entidad
+        Flyway.configure().configuration(flyway.getConfiguration()).target("5").load().migrate();
+        String insert = "INSERT INTO BSW_PERSONAS (ID, COD_PERSONA, NOMBRE, ES_FISICA) VALUES (?, ?, ?, ?)";
+        jdbcTemplate.update(insert, 1, "A01", "Heredada activa", "A");
+        jdbcTemplate.update(insert, 2, "I01", "Heredada inactiva", "I");
+        jdbcTemplate.update(insert, 3, "S01", "Actual", "S");
+
+        flyway.migrate();
+
+        assertThat(jdbcTemplate.queryForList("SELECT ES_FISICA FROM BSW_PERSONAS ORDER BY ID", String.class))
+                .containsExactly("S", "N", "S");
+        assertThat(repository.findById(1L)).get().extracting(BswPersonas::isEsFisica).isEqualTo(true);
+    }
 }
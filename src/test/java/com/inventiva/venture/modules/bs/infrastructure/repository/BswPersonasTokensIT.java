@@ -0,0 +1,79 @@
+package com.inventiva.venture.modules.bs.infrastructure.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.inventiva.venture.utils.TextoBusqueda;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.OracleContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Las palabras que guarda la base (BSW_TOKENS_BUSQUEDA, usada por el trigger
+ * y la carga de BSW_PERSONAS_TOKENS) deben ser las mismas que busca el
+ * planificador ({@link TextoBusqueda#tokens}); si difieren, las filas que
+ * coinciden no se encuentran.
+ */
+@Testcontainers
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class BswPersonasTokensIT {
+
+    private static final List<String> TEXTOS = List.of(
+            "Peña Güemes",
+            "João Conceição",
+            "ÃO ÕES Åsa Ørsted",
+            "Straße 12",
+            "«Ramírez»—López",
+            "¿Qué? ¡Sí!",
+            "O'Brien-Smith, jr.",
+            "Dvořák Škoda Łódź",
+            "  varios   espacios\ty\ttabs ",
+            "A-001/2024",
+            "peña PEÑA Pena");
+
+    @Container
+    private static final OracleContainer ORACLE = new OracleContainer("gvenzl/oracle-xe:21-slim")
+            .withDatabaseName("INV")
+            .withUsername("INV")
+            .withPassword("INV");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", ORACLE::getJdbcUrl);
+        registry.add("spring.datasource.username", ORACLE::getUsername);
+        registry.add("spring.datasource.password", ORACLE::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "oracle.jdbc.OracleDriver");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+        registry.add("spring.flyway.locations", () -> "classpath:db/migration");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void laBaseDebeSepararLasMismasPalabrasQueTextoBusqueda() {
+        for (String texto : TEXTOS) {
+            assertThat(tokensDeLaBase(texto))
+                    .as("palabras de '%s'", texto)
+                    .containsExactlyElementsOf(TextoBusqueda.tokens(texto));
+        }
+    }
+
+    @Test
+    void textoNuloNoDebeTenerPalabras() {
+        assertThat(tokensDeLaBase(null)).isEmpty();
+    }
+
+    private List<String> tokensDeLaBase(String texto) {
+        return jdbcTemplate.queryForList(
+                "SELECT COLUMN_VALUE FROM TABLE(BSW_TOKENS_BUSQUEDA(?))", String.class, texto);
+    }
+}
@@ -0,0 +1,369 @@
+package com.inventiva.venture.modules.bs.presentation.views;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.inventiva.venture.modules.bs.domain.model.BswPersonas;
+import com.inventiva.venture.modules.bs.infrastructure.repository.BswPersonasMergeJdbc;
+import com.inventiva.venture.modules.bs.infrastructure.repository.BswPersonasResumen;
+import com.inventiva.venture.modules.bs.presentation.components.FormBswPersonas;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.data.provider.DataProvider;
+import com.vaadin.flow.data.provider.Query;
+import com.vaadin.flow.data.provider.QuerySortOrder;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.OracleContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Prueba de carga de la vista de personas: {@code mvn -Pcarga verify}.
+ *
+ * Carga BSW_PERSONAS con datos sintéticos y simula sesiones concurrentes, cada
+ * una con su {@link UI} y su {@link BswPersonasView}, que escriben en el
+ * filtro, se desplazan por el grid, abren el formulario y guardan. El informe
+ * (percentiles por acción, throughput, heap por sesión y sentencias SQL) se
+ * escribe en {@code target/carga/}.
+ *
+ * Parámetros (propiedades del sistema, ver el perfil {@code carga} del pom):
+ * {@code carga.personas}, {@code carga.sesiones}, {@code carga.iteraciones},
+ * {@code carga.pausaMs}.
+ */
+@Slf4j
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class BswPersonasViewCargaIT {
+
+    private static final int PERSONAS = Integer.getInteger("carga.personas", 1_000_000);
+    private static final int SESIONES = Integer.getInteger("carga.sesiones", 50);
+    private static final int ITERACIONES = Integer.getInteger("carga.iteraciones", 20);
+    private static final int PAUSA_MS = Integer.getInteger("carga.pausaMs", 200);
+
+    private static final int LOTE_CARGA = 5_000;
+    private static final int FILAS_PAGINA = 50;
+    private static final int PAGINAS_DESPLAZAMIENTO = 5;
+
+    private static final String[] NOMBRES = { "Ana", "Juan", "María", "José", "Carlos", "Lucía", "Pedro",
+            "Sofía", "Miguel", "Laura", "Diego", "Elena", "Jorge", "Rosa", "Andrés", "Carmen" };
+    private static final String[] APELLIDOS = { "Gómez", "Peña", "Benítez", "González", "Martínez",
+            "Rodríguez", "López", "Giménez", "Fernández", "Ramírez", "Acosta", "Villalba", "Duarte",
+            "Ortiz", "Cáceres", "Sánchez" };
+
+    @Container
+    private static final OracleContainer ORACLE = new OracleContainer("gvenzl/oracle-xe:21-slim")
+            .withDatabaseName("INV")
+            .withUsername("INV")
+            .withPassword("INV");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", ORACLE::getJdbcUrl);
+        registry.add("spring.datasource.username", ORACLE::getUsername);
+        registry.add("spring.datasource.password", ORACLE::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "oracle.jdbc.OracleDriver");
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> Math.min(SESIONES, 20));
+        // Se mide la vista sin descartar carga; con -Dcarga.compartimentos=true los rechazos cuentan como errores
+        registry.add("venture.capacidad.compartimentos.habilitado",
+                () -> System.getProperty("carga.compartimentos", "false"));
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+        registry.add("spring.flyway.locations", () -> "classpath:db/migration");
+    }
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private BswPersonasMergeJdbc mergeJdbc;
+
+    @Autowired
+    private TransactionTemplate transaccion;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final SimpleMeterRegistry registro = new SimpleMeterRegistry();
+    private final AtomicInteger errores = new AtomicInteger();
+
+    @BeforeAll
+    static void antesDeTodo() {
+        log.info("Carga: {} personas, {} sesiones, {} iteraciones, pausa {} ms",
+                PERSONAS, SESIONES, ITERACIONES, PAUSA_MS);
+    }
+
+    @Test
+    void sesionesConcurrentesSobreLaVistaDePersonas() throws Exception {
+        cargarPersonas();
+        Statistics estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estadisticas.clear();
+
+        long heapInicial = heapUsado();
+        List<Sesion> sesiones = new ArrayList<>(SESIONES);
+        for (int i = 0; i < SESIONES; i++) {
+            sesiones.add(new Sesion(i));
+        }
+
+        ExecutorService hilos = Executors.newFixedThreadPool(SESIONES);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> resultados = new ArrayList<>();
+        for (Sesion sesion : sesiones) {
+            resultados.add(hilos.submit(() -> {
+                largada.await();
+                sesion.ejecutar();
+                return null;
+            }));
+        }
+        long inicio = System.nanoTime();
+        largada.countDown();
+        for (Future<?> resultado : resultados) {
+            resultado.get();
+        }
+        double segundos = (System.nanoTime() - inicio) / 1_000_000_000.0;
+        hilos.shutdown();
+
+        // Las vistas siguen referenciadas: el heap medido incluye su estado
+        long heapPorSesion = (heapUsado() - heapInicial) / SESIONES;
+        String informe = informe(segundos, heapPorSesion, estadisticas);
+        log.info("\n{}", informe);
+        escribir(informe);
+        assertThat(sesiones).allMatch(Sesion::completa);
+        assertThat(errores).hasValue(0);
+    }
+
+    /**
+     * Una sesión de usuario: su UI, su vista y el ciclo filtrar, desplazar,
+     * abrir y (a veces) guardar.
+     */
+    private final class Sesion {
+
+        private final UI ui = new UI();
+        private final BswPersonasView vista;
+        private final Grid<BswPersonasResumen> grid;
+        private final TextField filtro;
+        private final FormBswPersonas form;
+        private final Random azar;
+        private int iteraciones;
+
+        @SuppressWarnings("unchecked")
+        Sesion(int numero) {
+            UI.setCurrent(ui);
+            try {
+                vista = context.getAutowireCapableBeanFactory().createBean(BswPersonasView.class);
+                ui.add(vista);
+            } finally {
+                UI.setCurrent(null);
+            }
+            grid = buscar(vista, Grid.class, g -> true);
+            filtro = buscar(vista, TextField.class, t -> "Filtrar por código o nombre".equals(t.getLabel()));
+            form = buscar(vista, FormBswPersonas.class, f -> true);
+            azar = new Random(numero);
+        }
+
+        void ejecutar() throws InterruptedException {
+            UI.setCurrent(ui);
+            try {
+                for (int i = 0; i < ITERACIONES; i++) {
+                    try {
+                        ciclo();
+                    } catch (RuntimeException e) {
+                        errores.incrementAndGet();
+                        log.warn("Error en la sesión de carga", e);
+                    }
+                    iteraciones++;
+                }
+            } finally {
+                UI.setCurrent(null);
+            }
+        }
+
+        boolean completa() {
+            return iteraciones == ITERACIONES;
+        }
+
+        private void ciclo() throws InterruptedException {
+            // Escribir en el filtro: el modo LAZY envía el texto a medio escribir y el final
+            String apellido = APELLIDOS[azar.nextInt(APELLIDOS.length)];
+            List<QuerySortOrder> orden = azar.nextBoolean() ? List.of() : QuerySortOrder.asc("nombre").build();
+            medir("filtrar", () -> {
+                filtro.setValue(apellido.substring(0, 3));
+                pagina(0, orden);
+            });
+            pausa();
+            List<BswPersonasResumen> primera = medirConResultado("filtrar", () -> {
+                filtro.setValue(apellido);
+                return pagina(0, orden);
+            });
+            pausa();
+
+            for (int p = 1; p <= PAGINAS_DESPLAZAMIENTO; p++) {
+                int offset = p * FILAS_PAGINA;
+                medirConResultado("desplazar", () -> pagina(offset, orden));
+                pausa();
+            }
+
+            if (primera.isEmpty()) {
+                return;
+            }
+            BswPersonasResumen elegida = primera.get(azar.nextInt(primera.size()));
+            medir("abrir", () -> grid.asSingleSelect().setValue(elegida));
+            pausa();
+
+            if (form.isVisible() && azar.nextInt(4) == 0) {
+                TextField nombre = form.getNombreField();
+                String actual = nombre.getValue();
+                medir("guardar", () -> {
+                    nombre.setValue(actual.endsWith(".") ? actual.substring(0, actual.length() - 1) : actual + ".");
+                    form.submit();
+                });
+                pausa();
+            } else {
+                form.getCancel().click();
+            }
+        }
+
+        /** Lo que hace el grid al pedir filas: llama al fetch de la vista. */
+        @SuppressWarnings("unchecked")
+        private List<BswPersonasResumen> pagina(int offset, List<QuerySortOrder> orden) {
+            DataProvider<BswPersonasResumen, Void> proveedor =
+                    (DataProvider<BswPersonasResumen, Void>) grid.getDataProvider();
+            return proveedor.fetch(new Query<>(offset, FILAS_PAGINA, orden, null, null)).toList();
+        }
+
+        private void pausa() throws InterruptedException {
+            if (PAUSA_MS > 0) {
+                Thread.sleep(PAUSA_MS / 2 + azar.nextInt(PAUSA_MS));
+            }
+        }
+    }
+
+    private void medir(String accion, Runnable tarea) {
+        temporizador(accion).record(tarea);
+    }
+
+    private <T> T medirConResultado(String accion, Supplier<T> tarea) {
+        return temporizador(accion).record(tarea);
+    }
+
+    private Timer temporizador(String accion) {
+        return Timer.builder("carga.accion")
+                .tag("accion", accion)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registro);
+    }
+
+    private void cargarPersonas() {
+        long inicio = System.nanoTime();
+        Random azar = new Random(42);
+        BswPersonasMergeJdbc.GeneradorIds ids = mergeJdbc.generadorIds();
+        for (int desde = 0; desde < PERSONAS; desde += LOTE_CARGA) {
+            List<BswPersonas> lote = new ArrayList<>(LOTE_CARGA);
+            for (int i = desde; i < Math.min(desde + LOTE_CARGA, PERSONAS); i++) {
+                lote.add(BswPersonas.builder()
+                        .codPersona(String.format("P%08d", i))
+                        .nombre(NOMBRES[azar.nextInt(NOMBRES.length)] + " "
+                                + APELLIDOS[azar.nextInt(APELLIDOS.length)] + " "
+                                + APELLIDOS[azar.nextInt(APELLIDOS.length)])
+                        .ruc(String.valueOf(1_000_000 + i))
+                        .direccion("Calle " + azar.nextInt(5_000))
+                        .telefono("021" + (100_000 + azar.nextInt(900_000)))
+                        .fecNacimiento(LocalDate.of(1940, 1, 1).plusDays(azar.nextInt(30_000)))
+                        .esFisica(azar.nextInt(10) > 0)
+                        .build());
+            }
+            transaccion.executeWithoutResult(estado -> mergeJdbc.merge(lote, ids));
+        }
+        transaccion.executeWithoutResult(estado -> mergeJdbc.generarTokensFaltantes());
+        log.info("Carga de {} personas en {} s", PERSONAS, (System.nanoTime() - inicio) / 1_000_000_000);
+    }
+
+    private String informe(double segundos, long heapPorSesion, Statistics estadisticas) {
+        StringBuilder texto = new StringBuilder();
+        long acciones = 0;
+        texto.append(String.format("Personas: %d, sesiones: %d, iteraciones: %d, pausa: %d ms%n",
+                PERSONAS, SESIONES, ITERACIONES, PAUSA_MS));
+        texto.append(String.format("%-10s %8s %10s %10s %10s %10s%n", "acción", "cantidad", "p50 ms", "p95 ms",
+                "p99 ms", "máx ms"));
+        for (String accion : List.of("filtrar", "desplazar", "abrir", "guardar")) {
+            Timer timer = registro.find("carga.accion").tag("accion", accion).timer();
+            if (timer == null) {
+                continue;
+            }
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+            ValueAtPercentile[] percentiles = snapshot.percentileValues();
+            texto.append(String.format("%-10s %8d %10.1f %10.1f %10.1f %10.1f%n", accion, snapshot.count(),
+                    percentiles[0].value(TimeUnit.MILLISECONDS), percentiles[1].value(TimeUnit.MILLISECONDS),
+                    percentiles[2].value(TimeUnit.MILLISECONDS), snapshot.max(TimeUnit.MILLISECONDS)));
+            acciones += snapshot.count();
+        }
+        long sentencias = estadisticas.getPrepareStatementCount();
+        texto.append(String.format("Duración: %.1f s, throughput: %.1f acciones/s%n", segundos, acciones / segundos));
+        texto.append(String.format("Heap por sesión (UI + vista): %d KB%n", heapPorSesion / 1024));
+        texto.append(String.format("Sentencias SQL: %d (%.1f por acción), consultas: %d, entidades cargadas: %d%n",
+                sentencias, acciones == 0 ? 0.0 : (double) sentencias / acciones,
+                estadisticas.getQueryExecutionCount(), estadisticas.getEntityLoadCount()));
+        texto.append(String.format("Errores: %d%n", errores.get()));
+        return texto.toString();
+    }
+
+    private static void escribir(String informe) throws IOException {
+        Path directorio = Path.of("target", "carga");
+        Files.createDirectories(directorio);
+        Files.writeString(directorio.resolve("informe-" + System.currentTimeMillis() + ".txt"), informe);
+    }
+
+    private static long heapUsado() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static <C extends Component> C buscar(Component raiz, Class<C> tipo,
+            Predicate<C> condicion) {
+        return descendientes(raiz)
+                .filter(tipo::isInstance)
+                .map(tipo::cast)
+                .filter(condicion)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No se encontró " + tipo.getSimpleName()));
+    }
+
+    private static Stream<Component> descendientes(Component componente) {
+        return Stream.concat(Stream.of(componente),
+                componente.getChildren().flatMap(BswPersonasViewCargaIT::descendientes));
+    }
+}
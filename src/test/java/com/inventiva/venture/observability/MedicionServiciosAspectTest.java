@@ -0,0 +1,89 @@
+package com.inventiva.venture.observability;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+class MedicionServiciosAspectTest {
+
+    @Medido(modulo = "bs", entidad = "prueba")
+    static class ServicioPrueba {
+
+        private final DataSource dataSource;
+
+        ServicioPrueba(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        public Slice<String> listar() throws SQLException {
+            dataSource.getConnection();
+            return new SliceImpl<>(List.of("a", "b", "c"), PageRequest.of(0, 10), false);
+        }
+
+        public void eliminar() {
+            throw new IllegalStateException("fallo");
+        }
+
+        public CompletableFuture<Long> estimar() {
+            return CompletableFuture.completedFuture(1L);
+        }
+    }
+
+    private SimpleMeterRegistry registry;
+    private ServicioPrueba servicio;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        AspectJProxyFactory fabrica = new AspectJProxyFactory(
+                new ServicioPrueba(new DataSourceMedido(mock(DataSource.class))));
+        fabrica.setProxyTargetClass(true);
+        fabrica.addAspect(new MedicionServiciosAspect(registry));
+        servicio = fabrica.getProxy();
+    }
+
+    @Test
+    void debeMedirDuracionFilasYEsperaDeConexion() throws SQLException {
+        servicio.listar();
+
+        Timer llamadas = registry.get("venture.servicio.llamadas")
+                .tags("modulo", "bs", "entidad", "prueba", "operacion", "listar", "excepcion", "none")
+                .timer();
+        assertThat(llamadas.count()).isEqualTo(1);
+        assertThat(registry.get("venture.servicio.filas").tag("operacion", "listar").summary().totalAmount())
+                .isEqualTo(3);
+        Timer espera = registry.get("venture.servicio.conexion.espera").tag("operacion", "listar").timer();
+        assertThat(espera.count()).isEqualTo(1);
+        assertThat(espera.totalTime(TimeUnit.NANOSECONDS)).isPositive();
+    }
+
+    @Test
+    void debeEtiquetarLaExcepcion() {
+        assertThatThrownBy(servicio::eliminar).isInstanceOf(IllegalStateException.class);
+
+        assertThat(registry.get("venture.servicio.llamadas")
+                .tags("operacion", "eliminar", "excepcion", "IllegalStateException").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void noDebeMedirMetodosAsincronos() {
+        servicio.estimar().join();
+
+        assertThat(registry.find("venture.servicio.llamadas").tag("operacion", "estimar").timer()).isNull();
+    }
+}
@@ -0,0 +1,126 @@
+package com.inventiva.venture.observability;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+class MonitorSqlTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final MonitorSql monitor = new MonitorSql(new ObservabilidadProperties(), registry);
+
+    @AfterEach
+    void cerrar() {
+        EstadisticasSql.terminar();
+    }
+
+    @Test
+    void normalizarDebeQuitarLiteralesYListas() {
+        assertThat(MonitorSql.normalizar("select *  from T\n where A = 'x''y' and B in (?, ?, ?) and C = 10"))
+                .isEqualTo("select * from T where A = ? and B in (?...) and C = ?");
+    }
+
+    @Test
+    void debeContarSentenciasYFilasPorLaConexionMedida() throws SQLException {
+        DataSource destino = mock(DataSource.class);
+        Connection conexion = mock(Connection.class);
+        PreparedStatement sentencia = mock(PreparedStatement.class);
+        ResultSet filas = mock(ResultSet.class);
+        when(destino.getConnection()).thenReturn(conexion);
+        when(conexion.prepareStatement(anyString())).thenReturn(sentencia);
+        when(sentencia.executeQuery()).thenReturn(filas);
+        when(filas.next()).thenReturn(true, true, false);
+
+        EstadisticasSql estadisticas = EstadisticasSql.iniciar();
+        try (Connection medida = new DataSourceMedido(destino, true).getConnection()) {
+            PreparedStatement consulta = medida.prepareStatement("select ID from BSW_PERSONAS where ID = ?");
+            ResultSet resultado = consulta.executeQuery();
+            while (resultado.next()) {
+                // recorre
+            }
+        }
+
+        assertThat(estadisticas.getSentencias()).isEqualTo(1);
+        assertThat(estadisticas.getFilas()).isEqualTo(2);
+        assertThat(estadisticas.getPorSentencia()).containsKey("select ID from BSW_PERSONAS where ID = ?");
+    }
+
+    @Test
+    void debeEstimarLosViajesDeFetchConElFetchSizeDelCursor() throws SQLException {
+        DataSource destino = mock(DataSource.class);
+        Connection conexion = mock(Connection.class);
+        PreparedStatement sentencia = mock(PreparedStatement.class);
+        ResultSet filas = mock(ResultSet.class);
+        when(destino.getConnection()).thenReturn(conexion);
+        when(conexion.prepareStatement(anyString())).thenReturn(sentencia);
+        when(sentencia.executeQuery()).thenReturn(filas);
+        when(filas.getFetchSize()).thenReturn(10);
+        when(filas.next()).thenAnswer(new Answer<Boolean>() {
+            private int leidas;
+
+            @Override
+            public Boolean answer(InvocationOnMock invocacion) {
+                return leidas++ < 25;
+            }
+        });
+
+        EstadisticasSql estadisticas = EstadisticasSql.iniciar();
+        try (Connection medida = new DataSourceMedido(destino, true).getConnection()) {
+            ResultSet resultado = medida.prepareStatement("select ID from BSW_PERSONAS").executeQuery();
+            while (resultado.next()) {
+                // recorre
+            }
+        }
+        monitor.evaluar(estadisticas, "GET /");
+
+        // 10 filas con el execute, luego dos tandas más (10 y 5)
+        assertThat(estadisticas.getFilas()).isEqualTo(25);
+        assertThat(estadisticas.getViajes()).isEqualTo(2);
+        assertThat(registry.get("venture.sql.viajes.por.pedido").summary().totalAmount()).isEqualTo(2);
+    }
+
+    @Test
+    void debeMarcarNMasUnoConElOrigen() {
+        EstadisticasSql estadisticas = EstadisticasSql.iniciar();
+        EstadisticasSql.marcarOrigen("BswPersonasService.listar");
+        EstadisticasSql.marcarOrigen("BswPaisesService.listar");
+        for (int id = 1; id <= 20; id++) {
+            estadisticas.registrarEjecucion("select * from BSW_PAISES where ID = " + id, 1_000);
+        }
+
+        monitor.evaluar(estadisticas, "POST /");
+
+        assertThat(MonitorSql.agrupar(estadisticas)).singleElement()
+                .satisfies(s -> assertThat(s.veces()).isEqualTo(20));
+        assertThat(registry.get("venture.sql.n.mas.uno").tag("origen", "BswPersonasService.listar")
+                .counter().count()).isEqualTo(1);
+        assertThat(registry.find("venture.sql.pedidos.excedidos").counter()).isNull();
+        assertThat(registry.get("venture.sql.sentencias.por.pedido").summary().totalAmount()).isEqualTo(20);
+    }
+
+    @Test
+    void debeInformarPedidosConDemasiadasSentencias() {
+        EstadisticasSql estadisticas = EstadisticasSql.iniciar();
+        for (int i = 0; i < 60; i++) {
+            estadisticas.registrarEjecucion("update BSW_PERSONAS set NOMBRE = ? where ID = ?", 1_000);
+        }
+
+        monitor.evaluar(estadisticas, "POST /");
+
+        assertThat(registry.get("venture.sql.pedidos.excedidos").tag("origen", "desconocido")
+                .counter().count()).isEqualTo(1);
+        assertThat(registry.find("venture.sql.n.mas.uno").counter()).isNull();
+    }
+}
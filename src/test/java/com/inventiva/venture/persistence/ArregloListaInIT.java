@@ -0,0 +1,136 @@
+package com.inventiva.venture.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.inventiva.venture.modules.bs.domain.model.BswPersonas;
+import com.inventiva.venture.modules.bs.infrastructure.repository.BswPersonasRepository;
+import com.inventiva.venture.utils.ListasIn;
+import com.inventiva.venture.utils.MapSpecificationBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.OracleContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Listas IN por encima del umbral contra Oracle: se enlazan como un solo
+ * arreglo SYS.ODCINUMBERLIST tanto en transacciones de escritura como en las
+ * de solo lectura (SET TRANSACTION READ ONLY). Con 70.000 valores, partir en
+ * grupos de 1000 pasaría el límite de 65535 binds por sentencia.
+ */
+@Testcontainers
+@DataJpaTest(properties = "venture.persistencia.listas-in.umbral-arreglo=10")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(ListasInConfig.class)
+@EnableConfigurationProperties(PersistenciaProperties.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ArregloListaInIT {
+
+    @Container
+    private static final OracleContainer ORACLE = new OracleContainer("gvenzl/oracle-xe:21-slim")
+            .withDatabaseName("INV")
+            .withUsername("INV")
+            .withPassword("INV");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", ORACLE::getJdbcUrl);
+        registry.add("spring.datasource.username", ORACLE::getUsername);
+        registry.add("spring.datasource.password", ORACLE::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "oracle.jdbc.OracleDriver");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+        registry.add("spring.flyway.locations", () -> "classpath:db/migration");
+    }
+
+    @Autowired
+    private BswPersonasRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ListasIn listasIn;
+
+    private List<Long> ids;
+
+    @BeforeEach
+    void cargarPersonas() {
+        ids = transaccion(false).execute(estado -> IntStream.rangeClosed(1, 30)
+                .mapToObj(i -> repository.save(BswPersonas.builder()
+                        .codPersona("A%03d".formatted(i))
+                        .nombre("Arreglo " + i)
+                        .build()).getId())
+                .toList());
+    }
+
+    @AfterEach
+    void limpiar() {
+        transaccion(false).executeWithoutResult(estado -> repository.deleteAllInBatch());
+    }
+
+    @Test
+    void enUnaTransaccionDeEscrituraDebeFiltrarPorElArreglo() {
+        Specification<BswPersonas> especificacion = porIds(ids.subList(0, 20));
+
+        long[] resultado = transaccion(false).execute(estado -> {
+            Page<BswPersonas> pagina = repository.findAll(especificacion, PageRequest.of(0, 5));
+            return new long[] { pagina.getTotalElements(), pagina.getContent().size() };
+        });
+
+        assertThat(resultado).containsExactly(20, 5);
+    }
+
+    @Test
+    void enUnaTransaccionDeSoloLecturaDebeFiltrarPorElArreglo() {
+        Specification<BswPersonas> especificacion = porIds(ids.subList(0, 20));
+
+        long total = transaccion(true).execute(estado -> repository
+                .findAll(especificacion, PageRequest.of(0, 5)).getTotalElements());
+
+        assertThat(total).isEqualTo(20);
+    }
+
+    @Test
+    void debeAceptarMasValoresQueElLimiteDeBinds() {
+        List<Long> valores = new ArrayList<>(ids);
+        LongStream.rangeClosed(1, 70_000).map(i -> -i).forEach(valores::add);
+
+        List<Long> encontrados = transaccion(true).execute(estado -> repository
+                .findAll(porIds(valores), Sort.by("id")).stream()
+                .map(BswPersonas::getId)
+                .toList());
+
+        assertThat(encontrados).containsExactlyElementsOf(ids);
+    }
+
+    private Specification<BswPersonas> porIds(List<Long> valores) {
+        return new MapSpecificationBuilder<BswPersonas>(null, listasIn).build(Map.of("in:id", valores));
+    }
+
+    private TransactionTemplate transaccion(boolean soloLectura) {
+        TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+        transaccion.setReadOnly(soloLectura);
+        return transaccion;
+    }
+}
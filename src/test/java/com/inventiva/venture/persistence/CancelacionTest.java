@@ -0,0 +1,84 @@
+package com.inventiva.venture.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.CancellationException;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CancelacionTest {
+
+    private PreparedStatement sentencia;
+    private DataSourceCancelable dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        sentencia = mock(PreparedStatement.class);
+        Connection conexion = mock(Connection.class);
+        when(conexion.prepareStatement("select 1 from dual")).thenReturn(sentencia);
+        DataSource pool = mock(DataSource.class);
+        when(pool.getConnection()).thenReturn(conexion);
+        dataSource = new DataSourceCancelable(pool);
+    }
+
+    @Test
+    void debeCancelarLasSentenciasCreadasDuranteLaEjecucion() throws SQLException {
+        Cancelacion cancelacion = new Cancelacion();
+
+        cancelacion.ejecutar(() -> {
+            preparar();
+            cancelacion.cancelar();
+            return null;
+        });
+
+        verify(sentencia).cancel();
+        assertThat(cancelacion.isCancelada()).isTrue();
+    }
+
+    @Test
+    void noDebeRegistrarSentenciasFueraDeUnaEjecucion() throws SQLException {
+        Cancelacion cancelacion = new Cancelacion();
+        preparar();
+
+        cancelacion.cancelar();
+
+        verify(sentencia, never()).cancel();
+    }
+
+    @Test
+    void debeRechazarSentenciasNuevasDespuesDeCancelar() throws SQLException {
+        Cancelacion cancelacion = new Cancelacion();
+
+        assertThatThrownBy(() -> cancelacion.ejecutar(() -> {
+            cancelacion.cancelar();
+            return preparar();
+        })).hasCauseInstanceOf(SQLException.class);
+        verify(sentencia).close();
+    }
+
+    @Test
+    void noDebeEjecutarUnaTareaYaCancelada() {
+        Cancelacion cancelacion = new Cancelacion();
+        cancelacion.cancelar();
+
+        assertThatThrownBy(() -> cancelacion.ejecutar(() -> "no corre"))
+                .isInstanceOf(CancellationException.class);
+    }
+
+    private PreparedStatement preparar() {
+        try {
+            return dataSource.getConnection().prepareStatement("select 1 from dual");
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
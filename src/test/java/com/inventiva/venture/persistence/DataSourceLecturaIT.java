@@ -0,0 +1,134 @@
+package com.inventiva.venture.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.inventiva.venture.modules.bs.domain.model.BswPersonas;
+import com.inventiva.venture.modules.bs.infrastructure.repository.BswPersonasRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.OracleContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Pools de escritura y de lectura sobre el mismo Oracle (sin
+ * {@code venture.persistencia.lectura.url}, como en desarrollo local): cada
+ * transacción debe tomar la conexión del pool que le corresponde.
+ */
+@Testcontainers
+@DataJpaTest(properties = {
+        "venture.persistencia.lectura.habilitado=true",
+        "venture.persistencia.lectura.hikari.pool-name=venture-hikari-lectura",
+        "venture.persistencia.lectura.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.pool-name=venture-hikari"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(DataSourceLecturaConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DataSourceLecturaIT {
+
+    @Container
+    private static final OracleContainer ORACLE = new OracleContainer("gvenzl/oracle-xe:21-slim")
+            .withDatabaseName("INV")
+            .withUsername("INV")
+            .withPassword("INV");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", ORACLE::getJdbcUrl);
+        registry.add("spring.datasource.username", ORACLE::getUsername);
+        registry.add("spring.datasource.password", ORACLE::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "oracle.jdbc.OracleDriver");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+        registry.add("spring.flyway.locations", () -> "classpath:db/migration");
+    }
+
+    @Autowired
+    @Qualifier(DataSourceLecturaConfig.ESCRITURA)
+    private DataSource escritura;
+
+    @Autowired
+    @Qualifier(DataSourceLecturaConfig.LECTURA)
+    private DataSource lectura;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BswPersonasRepository repository;
+
+    @Test
+    void elDataSourcePrincipalDebeSerElEnrutador() {
+        assertThat(dataSource).isInstanceOf(DataSourceEnrutado.class);
+    }
+
+    @Test
+    void lasTransaccionesDeSoloLecturaDebenUsarElPoolDeLectura() {
+        String pool = transaccion(true).execute(estado -> {
+            jdbcTemplate.queryForObject("SELECT 1 FROM DUAL", Integer.class);
+            repository.count();
+            return poolActivo();
+        });
+
+        assertThat(pool).isEqualTo("venture-hikari-lectura");
+    }
+
+    @Test
+    void lasEscriturasDebenUsarElPoolDeEscritura() {
+        String pool = transaccion(false).execute(estado -> {
+            repository.saveAndFlush(BswPersonas.builder().codPersona("L01").nombre("Lectura").build());
+            return poolActivo();
+        });
+
+        assertThat(pool).isEqualTo("venture-hikari");
+        assertThat(transaccion(true).execute(estado -> repository.count())).isEqualTo(1);
+    }
+
+    private TransactionTemplate transaccion(boolean soloLectura) {
+        TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+        transaccion.setReadOnly(soloLectura);
+        return transaccion;
+    }
+
+    /** Nombre del único pool con una conexión prestada. */
+    private String poolActivo() {
+        int enEscritura = activas(escritura);
+        int enLectura = activas(lectura);
+        assertThat(enEscritura + enLectura).isEqualTo(1);
+        return enLectura == 1 ? hikari(lectura).getPoolName() : hikari(escritura).getPoolName();
+    }
+
+    private static int activas(DataSource dataSource) {
+        HikariPoolMXBean pool = hikari(dataSource).getHikariPoolMXBean();
+        return pool == null ? 0 : pool.getActiveConnections();
+    }
+
+    private static HikariDataSource hikari(DataSource dataSource) {
+        try {
+            return dataSource.unwrap(HikariDataSource.class);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
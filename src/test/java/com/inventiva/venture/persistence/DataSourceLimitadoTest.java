@@ -0,0 +1,71 @@
+package com.inventiva.venture.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DataSourceLimitadoTest {
+
+    private DataSource pool;
+    private SimpleMeterRegistry registry;
+    private DataSourceLimitado dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        pool = mock(DataSource.class);
+        when(pool.getConnection()).thenAnswer(invocacion -> mock(Connection.class));
+        registry = new SimpleMeterRegistry();
+        dataSource = new DataSourceLimitado(pool, "venture-hikari", 2, Duration.ofMillis(50), registry);
+    }
+
+    @Test
+    void debeRechazarCuandoNoHayPermisosDentroDeLaEspera() throws SQLException {
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        assertThat(registry.get("venture.conexiones.limite.rechazos").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void debeDevolverElPermisoUnaSolaVezAlCerrar() throws SQLException {
+        Connection primera = dataSource.getConnection();
+        dataSource.getConnection();
+
+        primera.close();
+        primera.close();
+
+        dataSource.getConnection();
+        assertThat(registry.get("venture.conexiones.limite.disponibles").gauge().value()).isZero();
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+    }
+
+    @Test
+    void debeDevolverElPermisoSiElPoolFalla() throws SQLException {
+        when(pool.getConnection()).thenThrow(new SQLException("pool agotado"));
+
+        assertThatThrownBy(dataSource::getConnection).hasMessage("pool agotado");
+        assertThat(registry.get("venture.conexiones.limite.disponibles").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void debeDelegarElCierreEnLaConexionDelPool() throws SQLException {
+        Connection destino = mock(Connection.class);
+        when(pool.getConnection()).thenReturn(destino);
+
+        dataSource.getConnection().close();
+
+        verify(destino).close();
+    }
+}
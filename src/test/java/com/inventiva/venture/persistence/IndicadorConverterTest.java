@@ -0,0 +1,37 @@
+package com.inventiva.venture.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class IndicadorConverterTest {
+
+    private final IndicadorSiNo siNo = new IndicadorSiNo();
+    private final IndicadorActivoInactivo activoInactivo = new IndicadorActivoInactivo();
+
+    @Test
+    void debeLeerElPrimerCaracterSinDistinguirMayusculas() {
+        assertThat(siNo.convertToEntityAttribute("S")).isTrue();
+        assertThat(siNo.convertToEntityAttribute("s")).isTrue();
+        assertThat(siNo.convertToEntityAttribute("N")).isFalse();
+        assertThat(activoInactivo.convertToEntityAttribute("a")).isTrue();
+        assertThat(activoInactivo.convertToEntityAttribute("I")).isFalse();
+    }
+
+    @Test
+    void debeLeerNuloVacioYDesconocidoComoFalso() {
+        assertThat(siNo.convertToEntityAttribute(null)).isFalse();
+        assertThat(siNo.convertToEntityAttribute("")).isFalse();
+        assertThat(siNo.convertToEntityAttribute("A")).isFalse();
+        assertThat(activoInactivo.convertToEntityAttribute("S")).isFalse();
+    }
+
+    @Test
+    void debeEscribirLasConstantesDeCadaIndicador() {
+        assertThat(siNo.convertToDatabaseColumn(true)).isSameAs(IndicadorSiNo.SI);
+        assertThat(siNo.convertToDatabaseColumn(false)).isSameAs(IndicadorSiNo.NO);
+        assertThat(siNo.convertToDatabaseColumn(null)).isEqualTo("N");
+        assertThat(activoInactivo.convertToDatabaseColumn(true)).isEqualTo("A");
+        assertThat(IndicadorActivoInactivo.columna(false)).isEqualTo("I");
+    }
+}
@@ -0,0 +1,66 @@
+package com.inventiva.venture.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Locale;
+import org.junit.jupiter.api.Test;
+
+class IndiceTrigramasTest {
+
+    @Test
+    void debeBuscarSubcadenasSinDistinguirMayusculasNiAcentos() {
+        IndiceTrigramas indice = new IndiceTrigramas();
+        indice.indexar(3, "003", "José Peña", "80012345-6");
+        indice.indexar(1, "001", "Juan Perez", null);
+        indice.indexar(2, "002", "Ana Penayo", "4455667");
+
+        assertThat(indice.buscar("pena")).containsExactly(2, 3);
+        assertThat(indice.buscar("JOSE")).containsExactly(3);
+        assertThat(indice.buscar("0123")).containsExactly(3);
+        assertThat(indice.buscar("xyz")).isEmpty();
+    }
+
+    @Test
+    void conOtraNormalizacionDebeDistinguirAcentos() {
+        IndiceTrigramas indice = new IndiceTrigramas(t -> t.toUpperCase(Locale.ROOT));
+        indice.indexar(3, "003", "José Peña");
+        indice.indexar(2, "002", "Ana Penayo");
+
+        assertThat(indice.buscar("pena")).containsExactly(2);
+        assertThat(indice.buscar("peña")).containsExactly(3);
+    }
+
+    @Test
+    void textoCortoNoDebeResolverseEnElIndice() {
+        IndiceTrigramas indice = new IndiceTrigramas();
+        indice.indexar(1, "001", "Juan Perez", null);
+
+        assertThat(indice.buscar(" ju ")).isNull();
+        assertThat(indice.buscar(null)).isNull();
+    }
+
+    @Test
+    void trigramasNoDebenCruzarCampos() {
+        IndiceTrigramas indice = new IndiceTrigramas();
+        indice.indexar(1, "AB", "CDE", null);
+
+        assertThat(indice.buscar("BCD")).isEmpty();
+        assertThat(indice.buscar("CDE")).containsExactly(1);
+    }
+
+    @Test
+    void reindexarYEliminarDebenActualizarLasListas() {
+        IndiceTrigramas indice = new IndiceTrigramas();
+        indice.indexar(1, "001", "Juan Perez", null);
+        indice.indexar(2, "002", "Juana Gomez", null);
+
+        indice.indexar(1, "001", "Pedro Perez", null);
+        assertThat(indice.buscar("juan")).containsExactly(2);
+
+        indice.eliminar(2);
+        assertThat(indice.buscar("juan")).isEmpty();
+        assertThat(indice.buscar("perez")).containsExactly(1);
+        assertThat(indice.cantidadDocumentos()).isEqualTo(1);
+        assertThat(indice.memoriaEstimada()).isPositive();
+    }
+}
@@ -0,0 +1,80 @@
+package com.inventiva.venture.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Sort;
+
+class KeysetPaginatorTest {
+
+    private static final Sort ID_DESC = Sort.by(Sort.Direction.DESC, "id");
+
+    private final List<Long> datos = IntStream.rangeClosed(1, 1000)
+            .mapToObj(i -> (long) (1001 - i))
+            .toList();
+
+    private final List<KeysetScrollPosition> consultasKeyset = new ArrayList<>();
+    private final List<Integer> consultasOffset = new ArrayList<>();
+
+    private KeysetPaginator<Long> paginador;
+
+    @BeforeEach
+    void setUp() {
+        paginador = new KeysetPaginator<>((item, propiedad) -> item, 100);
+    }
+
+    @Test
+    void scrollSecuencialDebeBuscarDesdeUltimaClave() {
+        List<Long> primera = paginar(0, 50);
+        List<Long> segunda = paginar(50, 50);
+
+        assertThat(primera).first().isEqualTo(1000L);
+        assertThat(segunda).first().isEqualTo(950L);
+        assertThat(consultasOffset).isEmpty();
+        assertThat(consultasKeyset.get(0).isInitial()).isTrue();
+        assertThat(consultasKeyset.get(1).getKeys()).containsEntry("id", 951L);
+    }
+
+    @Test
+    void saltoLejanoDebeUsarOffsetYLuegoVolverAKeyset() {
+        paginar(0, 50);
+
+        List<Long> profunda = paginar(800, 50);
+        List<Long> siguiente = paginar(850, 50);
+
+        assertThat(profunda).first().isEqualTo(200L);
+        assertThat(siguiente).first().isEqualTo(150L);
+        assertThat(consultasOffset).containsExactly(800);
+        assertThat(consultasKeyset.get(consultasKeyset.size() - 1).getKeys()).containsEntry("id", 151L);
+    }
+
+    @Test
+    void cambioDeOrdenDebeReiniciarPosiciones() {
+        paginar(0, 50);
+        paginar(50, 50);
+
+        paginador.paginar(50, 50, Sort.by(Sort.Direction.ASC, "id"), this::porClave, this::porOffset);
+
+        assertThat(consultasKeyset.get(consultasKeyset.size() - 1).isInitial()).isTrue();
+    }
+
+    private List<Long> paginar(int offset, int limite) {
+        return paginador.paginar(offset, limite, ID_DESC, this::porClave, this::porOffset);
+    }
+
+    private List<Long> porClave(KeysetScrollPosition posicion, int limite) {
+        consultasKeyset.add(posicion);
+        long desde = posicion.isInitial() ? Long.MAX_VALUE : (Long) posicion.getKeys().get("id");
+        return datos.stream().filter(id -> id < desde).limit(limite).toList();
+    }
+
+    private List<Long> porOffset(int offset, int limite) {
+        consultasOffset.add(offset);
+        return datos.subList(offset, Math.min(datos.size(), offset + limite));
+    }
+}
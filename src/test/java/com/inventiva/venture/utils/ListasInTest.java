@@ -0,0 +1,95 @@
+package com.inventiva.venture.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+
+class ListasInTest {
+
+    @Test
+    void tamanoBucketDebeSerPotenciaDeDosHastaMil() {
+        assertThat(ListasIn.tamanoBucket(1)).isEqualTo(1);
+        assertThat(ListasIn.tamanoBucket(3)).isEqualTo(4);
+        assertThat(ListasIn.tamanoBucket(64)).isEqualTo(64);
+        assertThat(ListasIn.tamanoBucket(65)).isEqualTo(128);
+        assertThat(ListasIn.tamanoBucket(600)).isEqualTo(1000);
+        assertThat(ListasIn.tamanoBucket(1000)).isEqualTo(1000);
+    }
+
+    @Test
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    void debeRellenarHastaElBucketRepitiendoElUltimoValor() {
+        CriteriaBuilder cb = mock(CriteriaBuilder.class);
+        CriteriaBuilder.In in = mock(CriteriaBuilder.In.class);
+        when(cb.in(any())).thenReturn(in);
+        List<Object> agregados = new ArrayList<>();
+        when(in.value(any())).thenAnswer(invocacion -> {
+            agregados.add(invocacion.getArgument(0));
+            return in;
+        });
+
+        ListasIn.PARTICIONADAS.crear(null, cb, mock(Path.class), List.of("1", "2", "2", "3"), valor -> Long.valueOf((String) valor));
+
+        assertThat(agregados).containsExactly(1L, 2L, 3L, 3L);
+    }
+
+    @Test
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    void debePartirEnGruposDeMilUnidosConOr() {
+        CriteriaBuilder cb = mock(CriteriaBuilder.class);
+        CriteriaBuilder.In in = mock(CriteriaBuilder.In.class);
+        when(cb.in(any())).thenReturn(in);
+        when(in.value(any())).thenReturn(in);
+        List<Long> valores = LongStream.rangeClosed(1, 2500).boxed().toList();
+
+        ListasIn.PARTICIONADAS.crear(null, cb, mock(Path.class), valores, Function.identity());
+
+        verify(cb, times(3)).in(any());
+        verify(cb).or(any(Predicate[].class));
+        // 1000 + 1000 + 500 rellenado a 512
+        verify(in, times(2512)).value(any());
+    }
+
+    @Test
+    @SuppressWarnings("rawtypes")
+    void sobreElUmbralDebeDelegarEnLaEstrategia() {
+        CriteriaBuilder cb = mock(CriteriaBuilder.class);
+        Predicate esperado = mock(Predicate.class);
+        ListasIn listas = new ListasIn((query, builder, ruta, valores) -> esperado, 10);
+
+        Predicate resultado = listas.crear(null, cb, mock(Path.class),
+                LongStream.rangeClosed(1, 11).boxed().toList(), Function.identity());
+
+        assertThat(resultado).isSameAs(esperado);
+        verify(cb, never()).in(any(Path.class));
+    }
+
+    @Test
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    void hastaElUmbralDebePartirSinUsarLaEstrategia() {
+        CriteriaBuilder cb = mock(CriteriaBuilder.class);
+        CriteriaBuilder.In in = mock(CriteriaBuilder.In.class);
+        when(cb.in(any())).thenReturn(in);
+        when(in.value(any())).thenReturn(in);
+        ListasIn listas = new ListasIn((query, builder, ruta, valores) -> {
+            throw new AssertionError("no debía usarse");
+        }, 10);
+
+        listas.crear(null, cb, mock(Path.class), LongStream.rangeClosed(1, 10).boxed().toList(), Function.identity());
+
+        verify(cb).in(any());
+    }
+}
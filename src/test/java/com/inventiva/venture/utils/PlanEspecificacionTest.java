@@ -0,0 +1,227 @@
+package com.inventiva.venture.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.SingularAttribute;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class PlanEspecificacionTest {
+
+    static class Persona {
+    }
+
+    static class Pais {
+    }
+
+    @Test
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    void debeCompilarUnaVezPorEntidadYConjuntoDeClaves() {
+        ManagedType entidad = mock(ManagedType.class);
+        when(entidad.getJavaType()).thenReturn(Persona.class);
+        Attribute nombre = mock(Attribute.class);
+        when(nombre.getJavaType()).thenReturn(String.class);
+        Attribute fecha = mock(Attribute.class);
+        when(fecha.getJavaType()).thenReturn(LocalDate.class);
+        when(entidad.getAttribute("nombre")).thenReturn(nombre);
+        when(entidad.getAttribute("fecNacimiento")).thenReturn(fecha);
+
+        Map<String, Object> primero = new HashMap<>();
+        primero.put("likeic:nombre", "ana");
+        primero.put("ge:fecNacimiento", "1990-01-01");
+        Map<String, Object> segundo = new LinkedHashMap<>();
+        segundo.put("ge:fecNacimiento", "2000-01-01");
+        segundo.put("likeic:nombre", "juan");
+
+        PlanEspecificacion plan = PlanEspecificacion.obtener(entidad, primero.keySet());
+
+        assertThat(PlanEspecificacion.obtener(entidad, segundo.keySet())).isSameAs(plan);
+        assertThat(plan.filtros())
+                .extracting(PlanEspecificacion.FiltroCompilado::clave)
+                .containsExactly("ge:fecNacimiento", "likeic:nombre");
+        assertThat(plan.filtros().get(0).tipo()).isEqualTo(LocalDate.class);
+        assertThat(plan.filtros().get(0).convertidor().apply("1990-01-01")).isEqualTo(LocalDate.of(1990, 1, 1));
+    }
+
+    @Test
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    void debeIgnorarOperadoresDesconocidosYUsarLikeicPorDefecto() {
+        ManagedType entidad = mock(ManagedType.class);
+        when(entidad.getJavaType()).thenReturn(Persona.class);
+        Attribute nombre = mock(Attribute.class);
+        when(nombre.getJavaType()).thenReturn(String.class);
+        when(entidad.getAttribute("nombre")).thenReturn(nombre);
+
+        PlanEspecificacion plan = PlanEspecificacion.compilar(entidad, Set.of("xx:nombre", "nombre"));
+
+        assertThat(plan.filtros()).hasSize(1);
+        assertThat(plan.filtros().get(0).operador()).isEqualTo(OperadorFiltro.LIKEIC);
+    }
+
+    @Test
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    void unAtributoInexistenteSoloDebeFallarSiRecibeUnValor() {
+        ManagedType entidad = mock(ManagedType.class);
+        when(entidad.getJavaType()).thenReturn(Persona.class);
+        Attribute nombre = mock(Attribute.class);
+        when(nombre.getJavaType()).thenReturn(String.class);
+        when(entidad.getAttribute("nombre")).thenReturn(nombre);
+        when(entidad.getAttribute("apodo")).thenThrow(new IllegalArgumentException("No existe 'apodo'"));
+        CriteriaBuilder cb = mock(CriteriaBuilder.class);
+        Root root = mock(Root.class);
+        when(root.get(anyString())).thenReturn(mock(Path.class));
+
+        PlanEspecificacion plan = PlanEspecificacion.compilar(entidad, Set.of("eq:apodo", "eq:nombre"));
+        Map<String, Object> vacios = new HashMap<>();
+        vacios.put("eq:apodo", " ");
+        vacios.put("eq:nombre", "ana");
+        plan.aplicar(root, mock(CriteriaQuery.class), cb, vacios);
+        Map<String, Object> nulo = new HashMap<>();
+        nulo.put("eq:apodo", null);
+        plan.aplicar(root, mock(CriteriaQuery.class), cb, nulo);
+
+        assertThatThrownBy(() -> plan.aplicar(root, mock(CriteriaQuery.class), cb, Map.of("eq:apodo", "x")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("No existe 'apodo'");
+    }
+
+    @Test
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    void laCacheDePlanesDebeQuedarAcotada() {
+        ManagedType entidad = mock(ManagedType.class);
+        when(entidad.getJavaType()).thenReturn(Persona.class);
+        Attribute nombre = mock(Attribute.class);
+        when(nombre.getJavaType()).thenReturn(String.class);
+        when(entidad.getAttribute("nombre")).thenReturn(nombre);
+
+        for (int i = 0; i < PlanEspecificacion.MAX_PLANES + 100; i++) {
+            PlanEspecificacion.obtener(entidad, Set.of("likeic:nombre", "xx" + i + ":nombre"));
+        }
+
+        assertThat(PlanEspecificacion.cantidadEnCache()).isLessThanOrEqualTo(PlanEspecificacion.MAX_PLANES);
+    }
+
+    @Test
+    void debeSepararRutasAnidadas() {
+        assertThat(PlanEspecificacion.separarRuta("bswPaises.region.nombre"))
+                .containsExactly("bswPaises", "region", "nombre");
+        assertThat(PlanEspecificacion.separarRuta("nombre")).containsExactly("nombre");
+    }
+
+    @Test
+    void convertirValorDebeMantenerReglasDeConversion() {
+        assertThat(MapSpecificationBuilder.convertirValor(" 42 ", Long.class)).isEqualTo(42L);
+        assertThat(MapSpecificationBuilder.convertirValor("10.50", BigDecimal.class)).isEqualTo(new BigDecimal("10.50"));
+        assertThat(MapSpecificationBuilder.convertirValor(" ana ", String.class)).isEqualTo(" ana ");
+        assertThat(MapSpecificationBuilder.convertirValor(7, Long.class)).isEqualTo(7);
+        assertThat(MapSpecificationBuilder.convertirValor(null, Long.class)).isNull();
+    }
+
+    @Test
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    void debeCompartirUnJoinInnerPorRutaYNoUnirParaElIdDeLaRelacion() {
+        ManagedType persona = personaConPais();
+        Root root = mock(Root.class);
+        Join join = mock(Join.class);
+        when(root.join(anyString(), any(JoinType.class))).thenReturn(join);
+        when(join.get(anyString())).thenReturn(mock(Path.class));
+        when(root.get(anyString())).thenReturn(mock(Path.class));
+
+        Map<String, Object> filtros = new HashMap<>();
+        filtros.put("likeic:bswPaises.descripcion", "para");
+        filtros.put("eq:bswPaises.codPais", "PY");
+        filtros.put("isnull:bswPaises.siglas", true);
+        PlanEspecificacion plan = PlanEspecificacion.compilar(persona, filtros.keySet());
+
+        plan.aplicar(root, mock(CriteriaQuery.class), mock(CriteriaBuilder.class), filtros);
+
+        verify(root, times(1)).join("bswPaises", JoinType.INNER);
+        verify(root, never()).join("bswPaises", JoinType.LEFT);
+    }
+
+    @Test
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    void debeUsarLeftJoinSiNingunFiltroActivoRechazaNulos() {
+        ManagedType persona = personaConPais();
+        Root root = mock(Root.class);
+        Join join = mock(Join.class);
+        when(root.join(anyString(), any(JoinType.class))).thenReturn(join);
+
+        Map<String, Object> filtros = new HashMap<>();
+        filtros.put("eq:bswPaises.codPais", "");
+        filtros.put("isnull:bswPaises.siglas", true);
+        PlanEspecificacion plan = PlanEspecificacion.compilar(persona, filtros.keySet());
+
+        plan.aplicar(root, mock(CriteriaQuery.class), mock(CriteriaBuilder.class), filtros);
+
+        verify(root).join("bswPaises", JoinType.LEFT);
+    }
+
+    @Test
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    void comparacionPorIdDeRelacionNoDebeUnir() {
+        ManagedType persona = personaConPais();
+        Root root = mock(Root.class);
+        Path relacion = mock(Path.class);
+        when(root.get("bswPaises")).thenReturn(relacion);
+
+        Map<String, Object> filtros = Map.of("eq:bswPaises.id", "5");
+        PlanEspecificacion plan = PlanEspecificacion.compilar(persona, filtros.keySet());
+
+        plan.aplicar(root, mock(CriteriaQuery.class), mock(CriteriaBuilder.class), filtros);
+
+        verify(root, never()).join(anyString(), any(JoinType.class));
+        verify(relacion).get("id");
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static ManagedType personaConPais() {
+        EntityType pais = mock(EntityType.class);
+        when(pais.getJavaType()).thenReturn(Pais.class);
+        SingularAttribute id = atributo(Long.class);
+        when(id.isId()).thenReturn(true);
+        when(pais.getAttribute("id")).thenReturn(id);
+        SingularAttribute codPais = atributo(String.class);
+        when(pais.getAttribute("codPais")).thenReturn(codPais);
+        SingularAttribute descripcion = atributo(String.class);
+        when(pais.getAttribute("descripcion")).thenReturn(descripcion);
+        SingularAttribute siglas = atributo(String.class);
+        when(pais.getAttribute("siglas")).thenReturn(siglas);
+
+        ManagedType persona = mock(ManagedType.class);
+        when(persona.getJavaType()).thenReturn(Persona.class);
+        SingularAttribute bswPaises = atributo(Pais.class);
+        when(bswPaises.getType()).thenReturn(pais);
+        when(persona.getAttribute("bswPaises")).thenReturn(bswPaises);
+        return persona;
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static SingularAttribute atributo(Class<?> tipo) {
+        SingularAttribute atributo = mock(SingularAttribute.class);
+        when(atributo.getJavaType()).thenReturn(tipo);
+        return atributo;
+    }
+}